@@ -0,0 +1,59 @@
+package com.example.bookingservice.availability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.bookingservice.availability.RoomAvailabilityCalendar.Stay;
+import com.example.bookingservice.event.BookingChangedEvent;
+import com.example.bookingservice.repository.BookingRepository;
+
+/**
+ * Loads the availability calendar at startup, rebuilds it on a schedule so
+ * the horizon rolls forward and bookings written by other instances are
+ * picked up, and refreshes single rooms after their bookings change.
+ */
+@Component
+public class AvailabilityCalendarLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityCalendarLoader.class);
+
+    private final BookingRepository bookingRepository;
+    private final RoomAvailabilityCalendar calendar;
+
+    public AvailabilityCalendarLoader(BookingRepository bookingRepository, RoomAvailabilityCalendar calendar) {
+        this.bookingRepository = bookingRepository;
+        this.calendar = calendar;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${booking.availability.rebuild-cron:0 */15 * * * *}")
+    public synchronized void rebuild() {
+        LocalDate today = LocalDate.now();
+        List<Stay> stays = toStays(bookingRepository.findActiveStays(today));
+        calendar.rebuild(today, stays);
+        logger.info("Availability calendar loaded with {} active stays", stays.size());
+    }
+
+    // Synchronized with rebuild so a room refresh is never overwritten by an older snapshot
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onBookingChanged(BookingChangedEvent event) {
+        List<Stay> stays = toStays(bookingRepository.findActiveStaysForRoom(
+                event.hotelId(), event.roomId(), LocalDate.now()));
+        calendar.reloadRoom(event.hotelId(), event.roomId(), stays);
+    }
+
+    private static List<Stay> toStays(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new Stay((Long) row[0], (Long) row[1], (LocalDate) row[2], (LocalDate) row[3]))
+                .toList();
+    }
+}
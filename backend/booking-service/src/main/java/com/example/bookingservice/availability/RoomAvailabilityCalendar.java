@@ -0,0 +1,141 @@
+package com.example.bookingservice.availability;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory occupancy per (hotelId, roomId): one bit per night, set when a
+ * non-cancelled booking covers that night. Nights are counted from the day
+ * the calendar was last rebuilt, so the horizon rolls forward with every
+ * rebuild and past stays are dropped.
+ *
+ * <p>The calendar only answers for nights within {@value #HORIZON_NIGHTS}
+ * nights of its start day and only once it has been loaded; callers fall
+ * back to the database otherwise. Stays reaching past the horizon are
+ * clipped, so a bad check-out date cannot blow up a room's bitset.
+ */
+@Component
+public class RoomAvailabilityCalendar {
+
+    static final int HORIZON_NIGHTS = 1024;
+
+    private volatile State state = new State(LocalDate.MIN.toEpochDay(), new ConcurrentHashMap<>(), false);
+
+    /** Replaces the whole calendar; stays must be the active bookings ending after {@code startDay} */
+    public void rebuild(LocalDate startDay, Collection<Stay> stays) {
+        long start = startDay.toEpochDay();
+        Map<Long, Map<Long, RoomNights>> hotels = new ConcurrentHashMap<>();
+        for (Stay stay : stays) {
+            roomNights(hotels, stay.hotelId(), stay.roomId(), start).occupy(stay.checkIn(), stay.checkOut());
+        }
+        state = new State(start, hotels, true);
+    }
+
+    /** Replaces the nights of one room with the given active stays */
+    public void reloadRoom(Long hotelId, Long roomId, Collection<Stay> stays) {
+        State current = state;
+        RoomNights fresh = new RoomNights(current.startDay());
+        for (Stay stay : stays) {
+            fresh.occupy(stay.checkIn(), stay.checkOut());
+        }
+        current.hotels().computeIfAbsent(hotelId, id -> new ConcurrentHashMap<>()).put(roomId, fresh);
+    }
+
+    /** Whether the calendar can answer for a stay from {@code checkIn} to {@code checkOut} */
+    public boolean covers(LocalDate checkIn, LocalDate checkOut) {
+        State current = state;
+        return current.loaded() && checkIn.toEpochDay() >= current.startDay()
+                && checkOut.toEpochDay() - current.startDay() <= HORIZON_NIGHTS;
+    }
+
+    public boolean isAvailable(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Map<Long, RoomNights> rooms = state.hotels().get(hotelId);
+        RoomNights nights = rooms != null ? rooms.get(roomId) : null;
+        return nights == null || nights.isFree(checkIn, checkOut);
+    }
+
+    /** Rooms of the hotel with at least one occupied night in [checkIn, checkOut) */
+    public Set<Long> findOccupiedRooms(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        Map<Long, RoomNights> rooms = state.hotels().get(hotelId);
+        if (rooms == null) {
+            return Set.of();
+        }
+        Set<Long> occupied = new HashSet<>();
+        rooms.forEach((roomId, nights) -> {
+            if (!nights.isFree(checkIn, checkOut)) {
+                occupied.add(roomId);
+            }
+        });
+        return occupied;
+    }
+
+    private static RoomNights roomNights(Map<Long, Map<Long, RoomNights>> hotels, Long hotelId, Long roomId,
+            long startDay) {
+        return hotels.computeIfAbsent(hotelId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(roomId, id -> new RoomNights(startDay));
+    }
+
+    /** A non-cancelled booking of one room, check-out night excluded */
+    public record Stay(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private record State(long startDay, Map<Long, Map<Long, RoomNights>> hotels, boolean loaded) {
+    }
+
+    /** Bitset of occupied nights, bit i standing for startDay + i */
+    static final class RoomNights {
+        private final long startDay;
+        private long[] words = new long[0];
+
+        RoomNights(long startDay) {
+            this.startDay = startDay;
+        }
+
+        synchronized void occupy(LocalDate checkIn, LocalDate checkOut) {
+            long from = Math.max(checkIn.toEpochDay() - startDay, 0);
+            long to = Math.min(checkOut.toEpochDay() - startDay, HORIZON_NIGHTS);
+            if (to <= from) {
+                return;
+            }
+            int lastWord = (int) ((to - 1) >>> 6);
+            if (lastWord >= words.length) {
+                words = Arrays.copyOf(words, Math.max(lastWord + 1, words.length * 2));
+            }
+            for (long night = from; night < to; ) {
+                int word = (int) (night >>> 6);
+                int fromBit = (int) (night & 63);
+                int toBit = (int) Math.min(64, to - ((long) word << 6));
+                words[word] |= mask(fromBit, toBit);
+                night = ((long) word + 1) << 6;
+            }
+        }
+
+        synchronized boolean isFree(LocalDate checkIn, LocalDate checkOut) {
+            long from = Math.max(checkIn.toEpochDay() - startDay, 0);
+            long to = Math.min(checkOut.toEpochDay() - startDay, (long) words.length << 6);
+            for (long night = from; night < to; ) {
+                int word = (int) (night >>> 6);
+                int fromBit = (int) (night & 63);
+                int toBit = (int) Math.min(64, to - ((long) word << 6));
+                if ((words[word] & mask(fromBit, toBit)) != 0) {
+                    return false;
+                }
+                night = ((long) word + 1) << 6;
+            }
+            return true;
+        }
+
+        /** Bits fromBit (inclusive) to toBit (exclusive) */
+        private static long mask(int fromBit, int toBit) {
+            long upper = toBit == 64 ? -1L : (1L << toBit) - 1;
+            return upper & (-1L << fromBit);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.bookingservice.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.bookingservice.client.RoomClient;
+import com.example.bookingservice.client.RoomKey;
+import com.example.bookingservice.exception.RoomCatalogUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Local copy of hotel-service's rooms (type, price, occupancy), kept per
+ * hotel. A hotel's rooms are always loaded together, and hotels missing
+ * from a lookup are fetched in one bulk call.
+ *
+ * <p>Entries are fresh for {@code ttl}. After that they are still served for
+ * up to {@code max-stale} while a background refresh reloads them, so
+ * lookups only wait on hotel-service for hotels never seen or long expired.
+ * hotel-service drops a hotel's entry when its rooms change. Lookups are
+ * published as {@code booking.cache.requests{cache=room-catalog, result=hit|stale|miss}},
+ * loads as {@code booking.cache.loads{cache=room-catalog, result}}.
+ */
+@Component
+public class RoomCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomCatalog.class);
+    private static final String CACHE_NAME = "room-catalog";
+    // Largest number of hotels hotel-service returns rooms for in one call
+    private static final int LOAD_BATCH_SIZE = 100;
+
+    private final RoomClient roomClient;
+    private final Executor refreshExecutor;
+    private final int maxHotels;
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+    private final LinkedHashMap<Long, HotelRooms> hotels;
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter loadSuccesses;
+    private final Counter loadFailures;
+    // Bumped by every invalidation, so a load that started before one is not cached
+    private long generation;
+
+    public RoomCatalog(RoomClient roomClient,
+            @Qualifier("roomCatalogRefreshExecutor") Executor refreshExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${booking.room-catalog.max-hotels:2000}") int maxHotels,
+            @Value("${booking.room-catalog.ttl:PT5M}") Duration ttl,
+            @Value("${booking.room-catalog.max-stale:PT1H}") Duration maxStale) {
+        if (maxHotels <= 0) {
+            throw new IllegalArgumentException("Room catalog size must be greater than zero");
+        }
+        this.roomClient = roomClient;
+        this.refreshExecutor = refreshExecutor;
+        this.maxHotels = maxHotels;
+        this.ttlMillis = ttl.toMillis();
+        this.maxStaleMillis = maxStale.toMillis();
+        this.hotels = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HotelRooms> eldest) {
+                return size() > RoomCatalog.this.maxHotels;
+            }
+        };
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.staleHits = requestCounter(meterRegistry, "stale");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.loadSuccesses = loadCounter(meterRegistry, "success");
+        this.loadFailures = loadCounter(meterRegistry, "failure");
+        Gauge.builder("booking.cache.size", this, RoomCatalog::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /** All rooms of the hotel; empty when it has none or hotel-service cannot be reached */
+    public List<Map<String, Object>> getHotelRooms(Long hotelId) {
+        HotelRooms rooms = getHotels(List.of(hotelId)).get(hotelId);
+        return rooms != null ? rooms.rooms() : List.of();
+    }
+
+    /** The given rooms, keyed as asked; unknown rooms are missing from the map */
+    public Map<RoomKey, Map<String, Object>> getRooms(Collection<RoomKey> keys) {
+        return getRooms(keys, false);
+    }
+
+    /**
+     * Like {@link #getRooms}, but throws {@link RoomCatalogUnavailableException}
+     * instead of leaving rooms out when their hotel is not cached and
+     * hotel-service could not be reached, so a missing room always means the
+     * room does not exist.
+     */
+    public Map<RoomKey, Map<String, Object>> requireRooms(Collection<RoomKey> keys) {
+        return getRooms(keys, true);
+    }
+
+    private Map<RoomKey, Map<String, Object>> getRooms(Collection<RoomKey> keys, boolean required) {
+        Set<Long> hotelIds = new LinkedHashSet<>();
+        keys.forEach(key -> hotelIds.add(key.hotelId()));
+        Map<Long, HotelRooms> byHotel = getHotels(hotelIds);
+        if (required && !byHotel.keySet().containsAll(hotelIds)) {
+            throw new RoomCatalogUnavailableException("Rooms cannot be loaded from hotel-service right now");
+        }
+
+        Map<RoomKey, Map<String, Object>> found = new HashMap<>();
+        for (RoomKey key : keys) {
+            HotelRooms rooms = byHotel.get(key.hotelId());
+            Map<String, Object> room = rooms != null ? rooms.byRoomId().get(key.roomId()) : null;
+            if (room != null) {
+                found.put(key, room);
+            }
+        }
+        return found;
+    }
+
+    public synchronized void invalidate(Long hotelId) {
+        generation++;
+        hotels.remove(hotelId);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        hotels.clear();
+    }
+
+    public synchronized int size() {
+        return hotels.size();
+    }
+
+    private Map<Long, HotelRooms> getHotels(Collection<Long> hotelIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, HotelRooms> found = new HashMap<>();
+        List<Long> stale = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        synchronized (this) {
+            for (Long hotelId : hotelIds) {
+                HotelRooms rooms = hotels.get(hotelId);
+                long age = rooms != null ? now - rooms.loadedAt() : Long.MAX_VALUE;
+                if (age > ttlMillis + maxStaleMillis) {
+                    missing.add(hotelId);
+                } else {
+                    found.put(hotelId, rooms);
+                    if (age > ttlMillis) {
+                        stale.add(hotelId);
+                    }
+                }
+            }
+        }
+        hits.increment(found.size() - stale.size());
+        staleHits.increment(stale.size());
+        misses.increment(missing.size());
+
+        if (!stale.isEmpty()) {
+            refreshInBackground(stale);
+        }
+        if (!missing.isEmpty()) {
+            found.putAll(load(missing));
+        }
+        return found;
+    }
+
+    private void refreshInBackground(List<Long> hotelIds) {
+        List<Long> claimed = hotelIds.stream().filter(refreshing::add).toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(claimed);
+                } finally {
+                    claimed.forEach(refreshing::remove);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The stale entries keep being served and the next lookup tries again
+            claimed.forEach(refreshing::remove);
+        }
+    }
+
+    /** Loads the hotels' rooms in bulk and caches them; hotels whose load failed are left out */
+    private Map<Long, HotelRooms> load(List<Long> hotelIds) {
+        Map<Long, HotelRooms> loaded = new HashMap<>();
+        for (int from = 0; from < hotelIds.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> chunk = hotelIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, hotelIds.size()));
+            long startGeneration;
+            synchronized (this) {
+                startGeneration = generation;
+            }
+            try {
+                long loadedAt = System.currentTimeMillis();
+                Map<Long, HotelRooms> rooms = new HashMap<>();
+                roomClient.getRoomsByHotelIds(chunk)
+                        .forEach((hotelId, hotelRooms) -> rooms.put(hotelId, HotelRooms.of(hotelRooms, loadedAt)));
+                synchronized (this) {
+                    if (generation == startGeneration) {
+                        hotels.putAll(rooms);
+                    }
+                }
+                loaded.putAll(rooms);
+                loadSuccesses.increment();
+            } catch (RuntimeException e) {
+                loadFailures.increment();
+                logger.warn("Failed to load rooms of {} hotels: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("booking.cache.requests")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter loadCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("booking.cache.loads")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** One hotel's rooms, as listed and by room ID */
+    private record HotelRooms(List<Map<String, Object>> rooms, Map<Long, Map<String, Object>> byRoomId,
+            long loadedAt) {
+
+        static HotelRooms of(List<Map<String, Object>> rooms, long loadedAt) {
+            Map<Long, Map<String, Object>> byRoomId = new HashMap<>();
+            for (Map<String, Object> room : rooms) {
+                if (room.get("roomId") instanceof Number roomId) {
+                    byRoomId.put(roomId.longValue(), room);
+                }
+            }
+            return new HotelRooms(List.copyOf(rooms), byRoomId, loadedAt);
+        }
+    }
+}
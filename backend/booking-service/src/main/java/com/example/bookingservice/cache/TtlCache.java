@@ -0,0 +1,87 @@
+package com.example.bookingservice.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Small LRU cache whose entries expire a fixed time after they were
+ * written. Hits, misses and size are published as
+ * {@code booking.cache.requests{cache, result}} and {@code booking.cache.size}.
+ */
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public TtlCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlCache.this.maxSize;
+            }
+        };
+        this.hits = Counter.builder("booking.cache.requests")
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("booking.cache.requests")
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("booking.cache.size", this, TtlCache::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /** Live entries for the given keys; keys that are missing or expired are left out */
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        long now = System.currentTimeMillis();
+        Map<K, V> found = new HashMap<>();
+        for (K key : keys) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                found.put(key, entry.value());
+            } else if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(keys.size() - found.size());
+        return found;
+    }
+
+    public synchronized void putAll(Map<K, V> values) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        values.forEach((key, value) -> entries.put(key, new Entry<>(value, expiresAt)));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bookingservice.client;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -17,24 +18,30 @@ public class NotificationClient {
 
     private final RestTemplate restTemplate;
     private final String notificationServiceName;
-    private final String notificationsPath;
+    private final String notificationsBatchPath;
 
     public NotificationClient(
             RestTemplate restTemplate,
             @Value("${notification.service.name:notification-service}") String notificationServiceName,
-            @Value("${notification.service.notifications-path:/notifications}") String notificationsPath) {
+            @Value("${notification.service.notifications-batch-path:/notifications/batch}") String notificationsBatchPath) {
         this.restTemplate = restTemplate;
         this.notificationServiceName = notificationServiceName;
-        this.notificationsPath = notificationsPath;
+        this.notificationsBatchPath = notificationsBatchPath;
     }
 
-    public void sendNotification(Long userId, String message) {
-        String url = ClientCallSupport.buildUrl(resolveBaseUrl(), notificationsPath);
-        Map<String, Object> body = Map.of(
-                "userId", userId,
-                "message", message,
-                "type", BOOKING_NOTIFICATION_TYPE);
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, buildJsonHeaders());
+    /**
+     * Delivers the notifications in one call, all or none.
+     * Throws if NotificationService cannot be reached or rejects the batch.
+     */
+    public void sendNotifications(List<NotificationMessage> messages) {
+        String url = ClientCallSupport.buildUrl(resolveBaseUrl(), notificationsBatchPath);
+        List<Map<String, Object>> body = messages.stream()
+                .map(message -> Map.<String, Object>of(
+                        "userId", message.userId(),
+                        "message", message.message(),
+                        "type", BOOKING_NOTIFICATION_TYPE))
+                .toList();
+        HttpEntity<List<Map<String, Object>>> request = new HttpEntity<>(body, buildJsonHeaders());
         restTemplate.exchange(url, HttpMethod.POST, request, Void.class);
     }
 
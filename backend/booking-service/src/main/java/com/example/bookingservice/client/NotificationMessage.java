@@ -0,0 +1,5 @@
+package com.example.bookingservice.client;
+
+/** A booking notification for one user */
+public record NotificationMessage(Long userId, String message) {
+}
@@ -1,7 +1,10 @@
 package com.example.bookingservice.client;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,20 +21,17 @@ public class RoomClient {
     private final RestTemplate restTemplate;
     private final String roomServiceName;
     private final String roomBookPath;
-    private final String roomByIdPath;
-    private final String roomsByHotelPath;
+    private final String roomsByHotelsBatchPath;
 
     public RoomClient(
             RestTemplate restTemplate,
             @Value("${room.service.name:hotel-service}") String roomServiceName,
             @Value("${room.service.book-path:/rooms/%d/%d/book?checkIn=%s&checkOut=%s}") String roomBookPath,
-            @Value("${room.service.room-by-id-path:/rooms/%d/%d}") String roomByIdPath,
-            @Value("${room.service.rooms-by-hotel-path:/rooms/hotel/%d}") String roomsByHotelPath) {
+            @Value("${room.service.rooms-by-hotels-batch-path:/rooms/hotels/batch}") String roomsByHotelsBatchPath) {
         this.restTemplate = restTemplate;
         this.roomServiceName = roomServiceName;
         this.roomBookPath = roomBookPath;
-        this.roomByIdPath = roomByIdPath;
-        this.roomsByHotelPath = roomsByHotelPath;
+        this.roomsByHotelsBatchPath = roomsByHotelsBatchPath;
     }
 
     /**
@@ -51,35 +51,32 @@ public class RoomClient {
     }
 
     /**
-     * Fetch room details by hotelId and roomId
-     * Handles the "message" + "data" wrapper returned by RoomService
+     * Fetch all rooms of many hotels in one call, keyed by hotel ID
+     * Every requested hotel is in the map, with an empty list when it has no rooms;
+     * throws if RoomService cannot be reached, so callers can tell "no rooms" from a failure
      */
     @SuppressWarnings("unchecked")
-    public Map<String, Object> getRoomById(Long hotelId, Long roomId) {
-        String url = ClientCallSupport.buildUrl(resolveBaseUrl(), roomByIdPath, hotelId, roomId);
-        return ClientCallSupport.exchangeForBody(
-                restTemplate,
+    public Map<Long, List<Map<String, Object>>> getRoomsByHotelIds(Collection<Long> hotelIds) {
+        Map<Long, List<Map<String, Object>>> byHotel = new HashMap<>();
+        hotelIds.forEach(hotelId -> byHotel.put(hotelId, new ArrayList<>()));
+        if (hotelIds.isEmpty()) {
+            return byHotel;
+        }
+        String url = ClientCallSupport.buildUrl(resolveBaseUrl(), roomsByHotelsBatchPath);
+        List<Map<String, Object>> rooms = restTemplate.exchange(
                 url,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                Map.class,
-                Collections.emptyMap());
-    }
+                HttpMethod.POST,
+                new HttpEntity<>(hotelIds),
+                List.class).getBody();
 
-    /**
-     * Fetch all rooms for a hotel
-     * Returns empty list if service fails
-     */
-    @SuppressWarnings("unchecked")
-    public List<Map<String, Object>> getRoomsByHotelId(Long hotelId) {
-        String url = ClientCallSupport.buildUrl(resolveBaseUrl(), roomsByHotelPath, hotelId);
-        return ClientCallSupport.exchangeForBody(
-                restTemplate,
-                url,
-                HttpMethod.GET,
-                HttpEntity.EMPTY,
-                List.class,
-                Collections.emptyList());
+        if (rooms != null) {
+            for (Map<String, Object> room : rooms) {
+                if (room.get("hotelId") instanceof Number hotelId && byHotel.containsKey(hotelId.longValue())) {
+                    byHotel.get(hotelId.longValue()).add(room);
+                }
+            }
+        }
+        return byHotel;
     }
 
     private String resolveBaseUrl() {
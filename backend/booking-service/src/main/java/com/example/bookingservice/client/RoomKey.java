@@ -0,0 +1,5 @@
+package com.example.bookingservice.client;
+
+/** Identifies a room in hotel-service, whose room IDs are only unique within a hotel */
+public record RoomKey(Long hotelId, Long roomId) {
+}
@@ -1,6 +1,9 @@
 package com.example.bookingservice.client;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -16,14 +19,17 @@ public class UserClient {
     private final RestTemplate restTemplate;
     private final String userServiceName;
     private final String userByIdPath;
+    private final String usersBatchPath;
 
     public UserClient(
             RestTemplate restTemplate,
             @Value("${user.service.name:user-service}") String userServiceName,
-            @Value("${user.service.user-by-id-path:/users/%d}") String userByIdPath) {
+            @Value("${user.service.user-by-id-path:/users/%d}") String userByIdPath,
+            @Value("${user.service.users-batch-path:/users/batch}") String usersBatchPath) {
         this.restTemplate = restTemplate;
         this.userServiceName = userServiceName;
         this.userByIdPath = userByIdPath;
+        this.usersBatchPath = usersBatchPath;
     }
 
     /**
@@ -49,6 +55,35 @@ public class UserClient {
         return Collections.emptyMap();
     }
 
+    /**
+     * Fetch many users in one call, keyed by user ID.
+     * Unknown users are missing from the map; returns an empty map if the service fails.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, Map<String, Object>> getUsersByIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        String url = ClientCallSupport.buildUrl(resolveBaseUrl(), usersBatchPath);
+        Map<String, Object> response = ClientCallSupport.exchangeForBody(
+                restTemplate,
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(userIds),
+                Map.class,
+                Collections.emptyMap());
+
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        if (response.get("data") instanceof List<?> users) {
+            for (Object user : users) {
+                if (user instanceof Map<?, ?> userMap && userMap.get("id") instanceof Number id) {
+                    byId.put(id.longValue(), (Map<String, Object>) userMap);
+                }
+            }
+        }
+        return byId;
+    }
+
     private String resolveBaseUrl() {
         return DISCOVERY_BASE_PREFIX + userServiceName;
     }
@@ -1,8 +1,12 @@
 package com.example.bookingservice.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -15,4 +19,43 @@ public class AppConfig {
         factory.setReadTimeout(5000);
         return new RestTemplate(factory);
     }
+
+    /**
+     * Runs MVC async work such as booking exports. Declaring the pools below
+     * switches off Boot's default executor, which would leave streaming
+     * responses on an unbounded thread-per-request executor; registering this
+     * one under Boot's name restores a bounded pool for them.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /** Pool for the user and room lookups behind booking lists; a full queue runs lookups on the caller */
+    @Bean
+    public ThreadPoolTaskExecutor bookingEnrichmentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("booking-enrichment-");
+        return executor;
+    }
+
+    /** Background refreshes of stale room catalog entries; a full queue skips the refresh */
+    @Bean
+    public ThreadPoolTaskExecutor roomCatalogRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("room-catalog-refresh-");
+        return executor;
+    }
 }
@@ -6,6 +6,7 @@ import java.util.Map;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,13 +17,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.bookingservice.dto.AvailabilityQueryDTO;
+import com.example.bookingservice.dto.AvailabilityResultDTO;
+import com.example.bookingservice.dto.BookingExportFormat;
+import com.example.bookingservice.dto.BookingPageDTO;
 import com.example.bookingservice.dto.BookingRequestDTO;
 import com.example.bookingservice.dto.BookingResponseDTO;
+import com.example.bookingservice.dto.HotelDailyStatsDTO;
 import com.example.bookingservice.dto.UserBookingResponseDTO;
 import com.example.bookingservice.entity.Booking;
 import com.example.bookingservice.entity.BookingStatus;
+import com.example.bookingservice.service.BookingListingService;
 import com.example.bookingservice.service.BookingService;
+import com.example.bookingservice.service.BookingStatsService;
 
 import jakarta.validation.Valid;
 
@@ -38,9 +47,15 @@ public class BookingController {
     private static final String AVAILABLE_KEY = "available";
 
     private final BookingService bookingService;
+    private final BookingListingService bookingListingService;
+    private final BookingStatsService bookingStatsService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+            BookingListingService bookingListingService,
+            BookingStatsService bookingStatsService) {
         this.bookingService = bookingService;
+        this.bookingListingService = bookingListingService;
+        this.bookingStatsService = bookingStatsService;
     }
 
     // ------------------- Booking CRUD -------------------
@@ -78,18 +93,35 @@ public class BookingController {
         return ok(DATA_KEY, bookings);
     }
 
+    @GetMapping("/hotel/{hotelId}/stats")
+    public ResponseEntity<Map<String, Object>> getHotelStats(
+            @PathVariable Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<HotelDailyStatsDTO> stats = bookingStatsService.getHotelStats(hotelId, from, to);
+        return ok(DATA_KEY, stats);
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<Map<String, Object>> getBookingsForUser(@PathVariable Long userId) {
         List<UserBookingResponseDTO> bookings = bookingService.getBookingsByUser(userId);
         return ok(DATA_KEY, bookings);
     }
 
+    @GetMapping("/user/{userId}/ids")
+    public ResponseEntity<Map<String, Object>> getBookingIdsForUser(@PathVariable Long userId) {
+        List<Long> bookingIds = bookingService.getBookingIdsByUser(userId);
+        return ok(DATA_KEY, bookingIds);
+    }
+
     @GetMapping("/search/date")
-    public ResponseEntity<Map<String, Object>> searchBookingsByDate(
+    public ResponseEntity<BookingPageDTO> searchBookingsByDate(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Booking> bookings = bookingService.getBookingsByDateRange(startDate, endDate);
-        return ok(DATA_KEY, bookings);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingListingService.DEFAULT_PAGE_SIZE) int limit) {
+        BookingPageDTO page = bookingListingService.getBookingPageByDateRange(startDate, endDate, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/availability")
@@ -102,10 +134,31 @@ public class BookingController {
         return ok(AVAILABLE_KEY, available);
     }
 
+    @PostMapping("/availability/batch")
+    public ResponseEntity<Map<String, Object>> checkAvailabilityBatch(@RequestBody List<AvailabilityQueryDTO> queries) {
+        List<AvailabilityResultDTO> results = bookingService.checkAvailability(queries);
+        return ok(DATA_KEY, results);
+    }
+
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllBookings() {
-        List<Booking> bookings = bookingService.getAllBookings();
-        return ok(DATA_KEY, bookings);
+    public ResponseEntity<BookingPageDTO> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingListingService.DEFAULT_PAGE_SIZE) int limit) {
+        BookingPageDTO page = bookingListingService.getBookingPage(cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        BookingExportFormat exportFormat = BookingExportFormat.fromParam(format);
+        bookingListingService.validateExportRange(startDate, endDate);
+        StreamingResponseBody body = out -> bookingListingService.exportBookings(startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .body(body);
     }
 
     private ResponseEntity<Map<String, Object>> ok(String key, Object value) {
@@ -0,0 +1,33 @@
+package com.example.bookingservice.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bookingservice.cache.RoomCatalog;
+
+/** Invalidation hook hotel-service calls when a hotel's rooms change */
+@RestController
+@RequestMapping("/room-catalog")
+public class RoomCatalogController {
+
+    private final RoomCatalog roomCatalog;
+
+    public RoomCatalogController(RoomCatalog roomCatalog) {
+        this.roomCatalog = roomCatalog;
+    }
+
+    @DeleteMapping("/hotels/{hotelId}")
+    public ResponseEntity<Void> invalidateHotel(@PathVariable Long hotelId) {
+        roomCatalog.invalidate(hotelId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/hotels")
+    public ResponseEntity<Void> invalidateAll() {
+        roomCatalog.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.bookingservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/** One entry of a batch availability request: rooms of a hotel for one stay */
+public record AvailabilityQueryDTO(
+        Long hotelId,
+        List<Long> roomIds,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate checkIn,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate checkOut) {
+}
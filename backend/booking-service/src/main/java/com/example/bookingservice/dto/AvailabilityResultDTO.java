@@ -0,0 +1,14 @@
+package com.example.bookingservice.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/** Availability of each requested room, in the order of the matching query */
+public record AvailabilityResultDTO(
+        Long hotelId,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate checkIn,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate checkOut,
+        Map<Long, Boolean> rooms) {
+}
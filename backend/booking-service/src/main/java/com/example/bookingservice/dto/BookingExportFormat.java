@@ -0,0 +1,34 @@
+package com.example.bookingservice.dto;
+
+import java.util.Locale;
+
+/**
+ * Formats the booking export can be streamed in.
+ */
+public enum BookingExportFormat {
+    /** One JSON booking per line */
+    NDJSON("application/x-ndjson"),
+    /** Comma-separated with a header row */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    BookingExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public static BookingExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
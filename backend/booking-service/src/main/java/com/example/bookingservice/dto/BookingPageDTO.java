@@ -0,0 +1,11 @@
+package com.example.bookingservice.dto;
+
+import java.util.List;
+
+import com.example.bookingservice.entity.Booking;
+
+/**
+ * One page of bookings in ID order. {@code nextCursor} is null on the last page.
+ */
+public record BookingPageDTO(List<Booking> data, String nextCursor) {
+}
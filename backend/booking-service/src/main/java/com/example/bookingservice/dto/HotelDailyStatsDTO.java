@@ -0,0 +1,15 @@
+package com.example.bookingservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/** One day of a hotel's rollup for one room type */
+public record HotelDailyStatsDTO(
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate date,
+        String roomType,
+        int nightsSold,
+        BigDecimal revenue,
+        int cancellations) {
+}
@@ -43,6 +43,10 @@ public class Booking {
     @Column(name = "booking_date")
     private LocalDate bookingDate;
 
+    // Room type at booking time, so stats changes hit the rows the booking was counted in
+    @Column(name = "room_type", length = 20)
+    private String roomType;
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -115,4 +119,12 @@ public class Booking {
     public void setBookingDate(LocalDate bookingDate) {
         this.bookingDate = bookingDate;
     }
-}
\ No newline at end of file
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bookingservice.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Rollup of one hotel's bookings for one day and room type: room nights
+ * sold and their revenue for non-cancelled bookings, and bookings
+ * cancelled with that day as check-in. Kept up to date by every booking
+ * change, so dashboards read one row per day and room type.
+ */
+@Entity
+@Table(name = "hotel_daily_stats")
+public class HotelDailyStats {
+    @EmbeddedId
+    private HotelDailyStatsId id;
+
+    @Column(name = "nights_sold", nullable = false)
+    private int nightsSold;
+
+    @Column(name = "revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "cancellations", nullable = false)
+    private int cancellations;
+
+    protected HotelDailyStats() {
+    }
+
+    public HotelDailyStatsId getId() {
+        return id;
+    }
+
+    public int getNightsSold() {
+        return nightsSold;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public int getCancellations() {
+        return cancellations;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.bookingservice.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class HotelDailyStatsId implements Serializable {
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "room_type", nullable = false, length = 20)
+    private String roomType;
+
+    public HotelDailyStatsId() {
+    }
+
+    public HotelDailyStatsId(Long hotelId, LocalDate statDate, String roomType) {
+        this.hotelId = hotelId;
+        this.statDate = statDate;
+        this.roomType = roomType;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HotelDailyStatsId other)) {
+            return false;
+        }
+        return Objects.equals(hotelId, other.hotelId)
+                && Objects.equals(statDate, other.statDate)
+                && Objects.equals(roomType, other.roomType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hotelId, statDate, roomType);
+    }
+}
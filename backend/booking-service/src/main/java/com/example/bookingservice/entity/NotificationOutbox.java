@@ -0,0 +1,111 @@
+package com.example.bookingservice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A notification written in the same transaction as the booking change it
+ * announces, waiting to be delivered to notification-service. An entry
+ * that was rejected or ran out of attempts is parked: it stays in the table
+ * with its last error but is no longer picked up.
+ */
+@Entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_notification_outbox_due", columnList = "parked_at, next_attempt_at, id"))
+public class NotificationOutbox {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "message", nullable = false)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    protected NotificationOutbox() {
+    }
+
+    public NotificationOutbox(Long userId, String message) {
+        this.userId = userId;
+        this.message = message;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    /** Records a failed delivery and when to try again */
+    public void recordFailure(String error, LocalDateTime retryAt) {
+        this.attempts++;
+        this.nextAttemptAt = retryAt;
+        this.lastError = truncate(error);
+    }
+
+    /** Records a final failed delivery; the entry is not tried again */
+    public void park(String error, LocalDateTime now) {
+        this.attempts++;
+        this.parkedAt = now;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getParkedAt() {
+        return parkedAt;
+    }
+}
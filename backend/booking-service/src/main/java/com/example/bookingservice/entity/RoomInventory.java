@@ -0,0 +1,27 @@
+package com.example.bookingservice.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * One row per bookable room. Bookings lock the rows of their rooms, so
+ * writers of the same room queue up while other rooms proceed in parallel.
+ */
+@Entity
+@Table(name = "room_inventory")
+public class RoomInventory {
+    @EmbeddedId
+    private RoomInventoryId id;
+
+    protected RoomInventory() {
+    }
+
+    public RoomInventory(Long hotelId, Long roomId) {
+        this.id = new RoomInventoryId(hotelId, roomId);
+    }
+
+    public RoomInventoryId getId() {
+        return id;
+    }
+}
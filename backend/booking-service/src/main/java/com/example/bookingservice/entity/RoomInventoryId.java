@@ -0,0 +1,48 @@
+package com.example.bookingservice.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class RoomInventoryId implements Serializable {
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    public RoomInventoryId() {
+    }
+
+    public RoomInventoryId(Long hotelId, Long roomId) {
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoomInventoryId other)) {
+            return false;
+        }
+        return Objects.equals(hotelId, other.hotelId) && Objects.equals(roomId, other.roomId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hotelId, roomId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bookingservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One row per night a non-cancelled booking holds a room. The primary key
+ * on (hotel_id, room_id, night) is what stops two bookings from sharing a
+ * night.
+ */
+@Entity
+@Table(name = "room_night", indexes = @Index(name = "idx_room_night_booking_id", columnList = "booking_id"))
+public class RoomNight {
+    @EmbeddedId
+    private RoomNightId id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    protected RoomNight() {
+    }
+
+    public RoomNightId getId() {
+        return id;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.bookingservice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Marks a stats backfill as finished. A backfill whose row is missing,
+ * because it never ran or an instance stopped halfway, runs again on the
+ * next start.
+ */
+@Entity
+@Table(name = "stats_backfill")
+public class StatsBackfill {
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    protected StatsBackfill() {
+    }
+
+    public StatsBackfill(String name) {
+        this.name = name;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.bookingservice.event;
+
+/**
+ * Published when a booking of a room is created or changes status, so
+ * in-memory views of that room can be refreshed after commit.
+ */
+public record BookingChangedEvent(Long hotelId, Long roomId) {
+}
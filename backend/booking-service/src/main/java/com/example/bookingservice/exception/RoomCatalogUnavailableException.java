@@ -0,0 +1,7 @@
+package com.example.bookingservice.exception;
+
+public class RoomCatalogUnavailableException extends RuntimeException {
+    public RoomCatalogUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.bookingservice.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.example.bookingservice.client.NotificationClient;
+import com.example.bookingservice.client.NotificationMessage;
+import com.example.bookingservice.entity.NotificationOutbox;
+import com.example.bookingservice.repository.NotificationOutboxRepository;
+
+/**
+ * Drains the notification outbox to notification-service in batches.
+ * Delivered entries are deleted; a failed batch is retried with
+ * exponential backoff, so an outage of notification-service only delays
+ * notifications and never slows down or fails a booking. A batch rejected
+ * with a 4xx is sent again one entry at a time, so only the entries
+ * notification-service refuses are parked and the rest still go out.
+ * Entries that fail {@code maxAttempts} times are parked too. Delivery is
+ * at least once: a batch that times out after being stored is sent again.
+ */
+@Component
+public class NotificationOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationClient notificationClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+            NotificationClient notificationClient,
+            TransactionTemplate transactionTemplate,
+            @Value("${booking.notification-outbox.batch-size:100}") int batchSize,
+            @Value("${booking.notification-outbox.initial-backoff:PT5S}") Duration initialBackoff,
+            @Value("${booking.notification-outbox.max-backoff:PT30M}") Duration maxBackoff,
+            @Value("${booking.notification-outbox.max-attempts:20}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.notificationClient = notificationClient;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.notification-outbox.poll-interval:PT2S}")
+    public void relay() {
+        // Keep going while batches come back full, so a backlog drains in one run
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()))) {
+            logger.debug("Notification outbox batch delivered, checking for more");
+        }
+    }
+
+    /** Delivers one batch; returns whether it was full and more may be waiting */
+    private boolean relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> due = outboxRepository.findDueForDelivery(now, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return false;
+        }
+
+        try {
+            send(due);
+        } catch (RuntimeException e) {
+            if (isRejected(e) && due.size() > 1) {
+                // One bad entry fails the whole batch; send one at a time to find it
+                relayEach(due, now);
+                return due.size() == batchSize;
+            }
+            due.forEach(entry -> recordFailure(entry, e, now));
+            logger.warn("Failed to deliver {} notifications, will retry: {}", due.size(), e.getMessage());
+            return false;
+        }
+
+        outboxRepository.deleteAllInBatch(due);
+        return due.size() == batchSize;
+    }
+
+    /**
+     * Sends the entries one by one. Once a send fails for a reason other
+     * than a rejection, the service is treated as down and the remaining
+     * entries are not tried in this run.
+     */
+    private void relayEach(List<NotificationOutbox> entries, LocalDateTime now) {
+        List<NotificationOutbox> delivered = new ArrayList<>();
+        RuntimeException outage = null;
+        for (NotificationOutbox entry : entries) {
+            if (outage != null) {
+                recordFailure(entry, outage, now);
+                continue;
+            }
+            try {
+                send(List.of(entry));
+                delivered.add(entry);
+            } catch (RuntimeException e) {
+                if (!isRejected(e)) {
+                    outage = e;
+                }
+                recordFailure(entry, e, now);
+            }
+        }
+        outboxRepository.deleteAllInBatch(delivered);
+        logger.warn("Notification batch of {} was rejected; delivered {} one at a time",
+                entries.size(), delivered.size());
+    }
+
+    private void send(List<NotificationOutbox> entries) {
+        notificationClient.sendNotifications(entries.stream()
+                .map(entry -> new NotificationMessage(entry.getUserId(), entry.getMessage()))
+                .toList());
+    }
+
+    /** Parks the entry when retrying cannot help, otherwise schedules the next attempt */
+    private void recordFailure(NotificationOutbox entry, RuntimeException e, LocalDateTime now) {
+        int attempt = entry.getAttempts() + 1;
+        if (isRejected(e) || attempt >= maxAttempts) {
+            entry.park(e.getMessage(), now);
+            logger.error("Parked notification outbox entry {} after {} attempts: {}",
+                    entry.getId(), attempt, e.getMessage());
+        } else {
+            entry.recordFailure(e.getMessage(), now.plus(backoff(attempt)));
+        }
+    }
+
+    /** A 4xx other than a timeout or rate limit: the same request would be refused again */
+    private static boolean isRejected(RuntimeException e) {
+        return e instanceof HttpClientErrorException clientError
+                && clientError.getStatusCode().value() != HttpStatus.REQUEST_TIMEOUT.value()
+                && clientError.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /** initialBackoff doubled for every earlier failure, capped at maxBackoff */
+    private Duration backoff(int attempt) {
+        int doublings = Math.min(attempt - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.bookingservice.outbox;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bookingservice.entity.NotificationOutbox;
+import com.example.bookingservice.repository.NotificationOutboxRepository;
+
+/**
+ * Queues booking notifications in the booking's own transaction, so a
+ * notification exists exactly when the change it announces was committed.
+ */
+@Service
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+
+    public NotificationOutboxService(NotificationOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Long userId, String message) {
+        outboxRepository.save(new NotificationOutbox(userId, message));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.bookingservice.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookingservice.entity.Booking;
+
+/**
+ * Inserts bookings as one JDBC batch. Booking IDs are IDENTITY columns,
+ * which stops Hibernate from batching inserts, so a multi-room booking would
+ * otherwise cost one round trip per room. Runs on the caller's transaction.
+ */
+@Repository
+public class BookingBatchInserter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO booking
+                (user_id, hotel_id, room_id, check_in_date, check_out_date, total_amount, status, booking_date, room_type)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingBatchInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Inserts the bookings and sets their generated IDs */
+    public List<Booking> insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Booking>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Booking booking : bookings) {
+                    statement.setLong(1, booking.getUserId());
+                    statement.setLong(2, booking.getHotelId());
+                    statement.setLong(3, booking.getRoomId());
+                    statement.setObject(4, booking.getCheckInDate());
+                    statement.setObject(5, booking.getCheckOutDate());
+                    statement.setBigDecimal(6, booking.getTotalAmount());
+                    statement.setString(7, booking.getStatus() != null ? booking.getStatus().name() : null);
+                    statement.setObject(8, booking.getBookingDate());
+                    statement.setString(9, booking.getRoomType());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Booking booking : bookings) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated ID for booking of room "
+                                    + booking.getRoomId());
+                        }
+                        booking.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return bookings;
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.bookingservice.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.BookingStatus;
+
+/**
+ * Reads bookings through one forward-only, read-only result set that the
+ * MySQL driver streams row by row ({@code Integer.MIN_VALUE} fetch size), so
+ * an export of any size holds only the current row in memory. A streaming
+ * result set blocks its connection for other statements until it is fully
+ * read or closed; exports run outside any transaction, so the connection is
+ * theirs alone.
+ */
+@Repository
+public class BookingExportReader {
+
+    private static final String SELECT_SQL = """
+            SELECT id, user_id, hotel_id, room_id, check_in_date, check_out_date, total_amount, status, booking_date
+            FROM booking
+            """;
+    private static final String DATE_RANGE_SQL = SELECT_SQL + """
+            WHERE check_in_date <= ? AND check_out_date >= ? AND status <> 'CANCELLED'
+            """;
+    private static final String ORDER_SQL = "ORDER BY id";
+
+    // Connector/J's signal to stream rows instead of reading the whole result
+    private static final int STREAM_ROWS = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingExportReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Hands every booking, in ID order, to {@code consumer} */
+    public void forEachBooking(Consumer<Booking> consumer) {
+        stream(SELECT_SQL + ORDER_SQL, consumer);
+    }
+
+    /** Same filter as the date range search: non-cancelled bookings overlapping [startDate, endDate] */
+    public void forEachBookingInRange(LocalDate startDate, LocalDate endDate, Consumer<Booking> consumer) {
+        stream(DATE_RANGE_SQL + ORDER_SQL, consumer, endDate, startDate);
+    }
+
+    private void stream(String sql, Consumer<Booking> consumer, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_ROWS);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapBooking(rs)));
+    }
+
+    private static Booking mapBooking(ResultSet rs) throws SQLException {
+        Booking booking = new Booking();
+        booking.setId(rs.getLong("id"));
+        booking.setUserId(rs.getLong("user_id"));
+        booking.setHotelId(rs.getLong("hotel_id"));
+        booking.setRoomId(rs.getLong("room_id"));
+        booking.setCheckInDate(rs.getObject("check_in_date", LocalDate.class));
+        booking.setCheckOutDate(rs.getObject("check_out_date", LocalDate.class));
+        booking.setTotalAmount(rs.getBigDecimal("total_amount"));
+        String status = rs.getString("status");
+        booking.setStatus(status != null ? BookingStatus.valueOf(status) : null);
+        booking.setBookingDate(rs.getObject("booking_date", LocalDate.class));
+        return booking;
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.bookingservice.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.bookingservice.entity.Booking;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
@@ -17,8 +23,32 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
         List<Booking> findByUserId(Long userId);
 
+        @Query("SELECT b.id FROM Booking b WHERE b.userId = :userId ORDER BY b.id")
+        List<Long> findIdsByUserId(@Param("userId") Long userId);
+
         List<Booking> findByHotelId(Long hotelId);
 
+        /**
+         * The booking, locked until the transaction ends, so concurrent status
+         * changes of one booking apply one after the other.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM Booking b WHERE b.id = :id")
+        Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+        /**
+         * All bookings of the hotel, locked until the transaction ends. The
+         * locking read sees the latest committed rows, and the locks on the
+         * hotel's range of the (hotel_id, room_id) index hold back new
+         * bookings and status changes of the hotel until then.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM Booking b WHERE b.hotelId = :hotelId")
+        List<Booking> findByHotelIdForUpdate(@Param("hotelId") Long hotelId);
+
+        @Query("SELECT DISTINCT b.hotelId FROM Booking b")
+        List<Long> findHotelIds();
+
         // ------------------- Availability -------------------
 
         /**
@@ -39,19 +69,106 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                         @Param("checkIn") LocalDate checkIn,
                         @Param("checkOut") LocalDate checkOut);
 
-        // ------------------- Search by Date Range -------------------
+        /**
+         * IDs of the hotel's rooms with a non-cancelled booking overlapping the
+         * given stay.
+         */
+        @Query("""
+                            SELECT DISTINCT b.roomId FROM Booking b
+                            WHERE b.hotelId = :hotelId
+                              AND b.status <> com.example.bookingservice.entity.BookingStatus.CANCELLED
+                              AND b.checkInDate < :checkOut
+                              AND b.checkOutDate > :checkIn
+                        """)
+        List<Long> findBookedRoomIds(
+                        @Param("hotelId") Long hotelId,
+                        @Param("checkIn") LocalDate checkIn,
+                        @Param("checkOut") LocalDate checkOut);
+
+        /**
+         * Non-cancelled stays of the given rooms overlapping [from, to), as
+         * rows of [roomId, checkInDate, checkOutDate].
+         */
+        @Query("""
+                            SELECT b.roomId, b.checkInDate, b.checkOutDate FROM Booking b
+                            WHERE b.hotelId = :hotelId
+                              AND b.roomId IN :roomIds
+                              AND b.status <> com.example.bookingservice.entity.BookingStatus.CANCELLED
+                              AND b.checkInDate < :to
+                              AND b.checkOutDate > :from
+                        """)
+        List<Object[]> findStaysForRooms(
+                        @Param("hotelId") Long hotelId,
+                        @Param("roomIds") Collection<Long> roomIds,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        // ------------------- Keyset Pages -------------------
+
+        /**
+         * Bookings with an ID greater than {@code afterId}, in ID order.
+         */
+        @Query("""
+                            SELECT b FROM Booking b
+                            WHERE b.id > :afterId
+                            ORDER BY b.id
+                        """)
+        List<Booking> findPageAfter(@Param("afterId") long afterId, Limit limit);
 
         /**
-         * Fetch all bookings that overlap with a given date range and are not
-         * cancelled.
+         * Non-cancelled bookings overlapping the given date range, one page at
+         * a time in ID order.
          */
         @Query("""
                             SELECT b FROM Booking b
                             WHERE b.checkInDate <= :endDate
                             AND b.checkOutDate >= :startDate
                             AND b.status <> com.example.bookingservice.entity.BookingStatus.CANCELLED
+                            AND b.id > :afterId
+                            ORDER BY b.id
                         """)
-        List<Booking> findBookingsByDateRange(
+        List<Booking> findDateRangePageAfter(
                         @Param("startDate") LocalDate startDate,
-                        @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+                        @Param("endDate") LocalDate endDate,
+                        @Param("afterId") long afterId,
+                        Limit limit);
+
+        // ------------------- Room Night Ledger -------------------
+
+        /**
+         * Non-cancelled bookings still running on or after {@code from} that
+         * have no room_night rows yet, i.e. were made before the ledger existed.
+         */
+        @Query("""
+                            SELECT b FROM Booking b
+                            WHERE b.status <> com.example.bookingservice.entity.BookingStatus.CANCELLED
+                              AND b.checkOutDate > :from
+                              AND NOT EXISTS (SELECT 1 FROM RoomNight n WHERE n.bookingId = b.id)
+                        """)
+        List<Booking> findActiveBookingsWithoutNights(@Param("from") LocalDate from);
+
+        // ------------------- Availability Calendar -------------------
+
+        /**
+         * Non-cancelled stays still running on or after {@code from}, as
+         * [hotelId, roomId, checkInDate, checkOutDate] rows.
+         */
+        @Query("""
+                            SELECT b.hotelId, b.roomId, b.checkInDate, b.checkOutDate FROM Booking b
+                            WHERE b.status <> com.example.bookingservice.entity.BookingStatus.CANCELLED
+                              AND b.checkOutDate > :from
+                        """)
+        List<Object[]> findActiveStays(@Param("from") LocalDate from);
+
+        @Query("""
+                            SELECT b.hotelId, b.roomId, b.checkInDate, b.checkOutDate FROM Booking b
+                            WHERE b.hotelId = :hotelId
+                              AND b.roomId = :roomId
+                              AND b.status <> com.example.bookingservice.entity.BookingStatus.CANCELLED
+                              AND b.checkOutDate > :from
+                        """)
+        List<Object[]> findActiveStaysForRoom(
+                        @Param("hotelId") Long hotelId,
+                        @Param("roomId") Long roomId,
+                        @Param("from") LocalDate from);
+}
@@ -0,0 +1,32 @@
+package com.example.bookingservice.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookingservice.entity.HotelDailyStats;
+import com.example.bookingservice.entity.HotelDailyStatsId;
+
+@Repository
+public interface HotelDailyStatsRepository extends JpaRepository<HotelDailyStats, HotelDailyStatsId> {
+
+        /**
+         * Rollup rows of the hotel for days in [from, to], a range scan of the
+         * primary key.
+         */
+        @Query("""
+                            SELECT s FROM HotelDailyStats s
+                            WHERE s.id.hotelId = :hotelId
+                              AND s.id.statDate >= :from
+                              AND s.id.statDate <= :to
+                            ORDER BY s.id.statDate, s.id.roomType
+                        """)
+        List<HotelDailyStats> findForHotel(
+                        @Param("hotelId") Long hotelId,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+}
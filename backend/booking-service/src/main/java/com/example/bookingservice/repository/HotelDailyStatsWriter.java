@@ -0,0 +1,74 @@
+package com.example.bookingservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Upserts hotel_daily_stats rows with JDBC batches, on the caller's
+ * transaction. Callers pass rows sorted by key so concurrent writers lock
+ * them in the same order.
+ */
+@Repository
+public class HotelDailyStatsWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO hotel_daily_stats (hotel_id, stat_date, room_type, nights_sold, revenue, cancellations)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String ADD_SQL = INSERT_SQL + """
+            ON DUPLICATE KEY UPDATE
+                nights_sold = nights_sold + VALUES(nights_sold),
+                revenue = revenue + VALUES(revenue),
+                cancellations = cancellations + VALUES(cancellations)
+            """;
+    private static final String REPLACE_SQL = INSERT_SQL + """
+            ON DUPLICATE KEY UPDATE
+                nights_sold = VALUES(nights_sold),
+                revenue = VALUES(revenue),
+                cancellations = VALUES(cancellations)
+            """;
+
+    private static final String DELETE_HOTEL_SQL = "DELETE FROM hotel_daily_stats WHERE hotel_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HotelDailyStatsWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Adds the changes to the existing rows, creating missing ones */
+    public void add(Collection<Row> changes) {
+        if (!changes.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_SQL, toArgs(changes));
+        }
+    }
+
+    /** Deletes all rows of the hotel; used before rebuilding it */
+    public void deleteHotel(Long hotelId) {
+        jdbcTemplate.update(DELETE_HOTEL_SQL, hotelId);
+    }
+
+    /** Overwrites the rows with the given totals; used when rebuilding a hotel */
+    public void replace(Collection<Row> totals) {
+        if (!totals.isEmpty()) {
+            jdbcTemplate.batchUpdate(REPLACE_SQL, toArgs(totals));
+        }
+    }
+
+    private static List<Object[]> toArgs(Collection<Row> rows) {
+        return rows.stream()
+                .map(row -> new Object[] { row.hotelId(), row.day(), row.roomType(),
+                        row.nightsSold(), row.revenue(), row.cancellations() })
+                .toList();
+    }
+
+    /** Values for one (hotel, day, room type), either a change or a total */
+    public record Row(Long hotelId, LocalDate day, String roomType, int nightsSold, BigDecimal revenue,
+            int cancellations) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bookingservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookingservice.entity.NotificationOutbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+        /**
+         * Oldest unparked entries due for delivery, locked until the transaction ends.
+         * Rows another relay instance has already locked are skipped rather
+         * than waited for (a lock timeout of -2 is Hibernate's SKIP LOCKED).
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+        @Query("""
+                            SELECT n FROM NotificationOutbox n
+                            WHERE n.parkedAt IS NULL
+                              AND n.nextAttemptAt <= :now
+                            ORDER BY n.id
+                        """)
+        List<NotificationOutbox> findDueForDelivery(@Param("now") LocalDateTime now, Limit limit);
+}
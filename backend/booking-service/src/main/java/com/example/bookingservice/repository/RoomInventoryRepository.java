@@ -0,0 +1,55 @@
+package com.example.bookingservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bookingservice.entity.RoomInventory;
+import com.example.bookingservice.entity.RoomInventoryId;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RoomInventoryRepository extends JpaRepository<RoomInventory, RoomInventoryId> {
+
+        @Query("""
+                            SELECT r.id.roomId FROM RoomInventory r
+                            WHERE r.id.hotelId = :hotelId
+                              AND r.id.roomId IN :roomIds
+                        """)
+        List<Long> findRoomIds(
+                        @Param("hotelId") Long hotelId,
+                        @Param("roomIds") Collection<Long> roomIds);
+
+        /** Creates the room's row unless another booking already did */
+        @Modifying
+        @Transactional
+        @Query(value = "INSERT IGNORE INTO room_inventory (hotel_id, room_id) VALUES (:hotelId, :roomId)",
+                        nativeQuery = true)
+        int insertIfMissing(
+                        @Param("hotelId") Long hotelId,
+                        @Param("roomId") Long roomId);
+
+        /**
+         * Locks the rooms' rows until the surrounding transaction ends. Rows
+         * are locked in room ID order so two multi-room bookings cannot
+         * deadlock on each other.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("""
+                            SELECT r FROM RoomInventory r
+                            WHERE r.id.hotelId = :hotelId
+                              AND r.id.roomId IN :roomIds
+                            ORDER BY r.id.roomId
+                        """)
+        List<RoomInventory> lockRooms(
+                        @Param("hotelId") Long hotelId,
+                        @Param("roomIds") Collection<Long> roomIds);
+}
@@ -0,0 +1,61 @@
+package com.example.bookingservice.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookingservice.entity.Booking;
+
+/**
+ * Writes and clears the room_night rows of bookings with JDBC batches, on
+ * the caller's transaction.
+ */
+@Repository
+public class RoomNightLedger {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO room_night (hotel_id, room_id, night, booking_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO room_night (hotel_id, room_id, night, booking_id) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM room_night WHERE booking_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoomNightLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims every night of the bookings.
+     *
+     * @throws DuplicateKeyException if any night is already held by another booking
+     */
+    public void reserve(Collection<Booking> bookings) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, nightRows(bookings));
+    }
+
+    /** Claims the nights that are still free, skipping taken ones; used to backfill existing bookings */
+    public void reserveFree(Collection<Booking> bookings) {
+        jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, nightRows(bookings));
+    }
+
+    public void release(Long bookingId) {
+        jdbcTemplate.update(DELETE_SQL, bookingId);
+    }
+
+    private static List<Object[]> nightRows(Collection<Booking> bookings) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Booking booking : bookings) {
+            for (LocalDate night = booking.getCheckInDate(); night.isBefore(booking.getCheckOutDate());
+                    night = night.plusDays(1)) {
+                rows.add(new Object[] { booking.getHotelId(), booking.getRoomId(), night, booking.getId() });
+            }
+        }
+        return rows;
+    }
+}
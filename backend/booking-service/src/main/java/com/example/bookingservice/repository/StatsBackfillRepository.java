@@ -0,0 +1,10 @@
+package com.example.bookingservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookingservice.entity.StatsBackfill;
+
+@Repository
+public interface StatsBackfillRepository extends JpaRepository<StatsBackfill, String> {
+}
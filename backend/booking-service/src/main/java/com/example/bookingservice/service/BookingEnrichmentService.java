@@ -0,0 +1,109 @@
+package com.example.bookingservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.bookingservice.cache.RoomCatalog;
+import com.example.bookingservice.cache.TtlCache;
+import com.example.bookingservice.client.RoomKey;
+import com.example.bookingservice.client.UserClient;
+import com.example.bookingservice.entity.Booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Resolves the users and rooms a list of bookings refers to. Each distinct
+ * user and room is looked up once: rooms come from the room catalog, cached
+ * users are reused and the rest are fetched through the batch endpoint in
+ * chunks, with users and rooms resolved in parallel.
+ */
+@Service
+public class BookingEnrichmentService {
+
+    // Largest batch user-service accepts in one call
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
+    private final UserClient userClient;
+    private final RoomCatalog roomCatalog;
+    private final Executor executor;
+    private final TtlCache<Long, Map<String, Object>> userCache;
+
+    public BookingEnrichmentService(UserClient userClient,
+            RoomCatalog roomCatalog,
+            @Qualifier("bookingEnrichmentExecutor") Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${booking.enrichment.cache.max-size:10000}") int cacheMaxSize,
+            @Value("${booking.enrichment.cache.ttl:PT5M}") Duration cacheTtl) {
+        this.userClient = userClient;
+        this.roomCatalog = roomCatalog;
+        this.executor = executor;
+        this.userCache = new TtlCache<>("booking-users", cacheMaxSize, cacheTtl, meterRegistry);
+    }
+
+    /** Looks up the rooms of the bookings, and their users when {@code withUsers} is set */
+    public Lookups resolve(Collection<Booking> bookings, boolean withUsers) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<RoomKey> roomKeys = new LinkedHashSet<>();
+        for (Booking booking : bookings) {
+            if (withUsers && booking.getUserId() != null) {
+                userIds.add(booking.getUserId());
+            }
+            if (booking.getHotelId() != null && booking.getRoomId() != null) {
+                roomKeys.add(new RoomKey(booking.getHotelId(), booking.getRoomId()));
+            }
+        }
+
+        CompletableFuture<Map<Long, Map<String, Object>>> users = lookup(userIds, userCache, userClient::getUsersByIds);
+        CompletableFuture<Map<RoomKey, Map<String, Object>>> rooms =
+                CompletableFuture.supplyAsync(() -> roomCatalog.getRooms(roomKeys), executor);
+        return new Lookups(users.join(), rooms.join());
+    }
+
+    private <K> CompletableFuture<Map<K, Map<String, Object>>> lookup(Set<K> keys,
+            TtlCache<K, Map<String, Object>> cache,
+            Function<List<K>, Map<K, Map<String, Object>>> loader) {
+        Map<K, Map<String, Object>> found = new HashMap<>(cache.getAll(keys));
+        List<K> missing = keys.stream().filter(key -> !found.containsKey(key)).toList();
+
+        List<CompletableFuture<Map<K, Map<String, Object>>>> chunks = new ArrayList<>();
+        for (int from = 0; from < missing.size(); from += LOOKUP_BATCH_SIZE) {
+            List<K> chunk = missing.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, missing.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> loader.apply(chunk), executor));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            for (CompletableFuture<Map<K, Map<String, Object>>> chunk : chunks) {
+                // Only found entries are cached; a failed call is retried on the next request
+                Map<K, Map<String, Object>> loaded = chunk.join();
+                cache.putAll(loaded);
+                found.putAll(loaded);
+            }
+            return found;
+        });
+    }
+
+    /** Users and rooms by ID; unknown ones resolve to an empty map */
+    public record Lookups(Map<Long, Map<String, Object>> users, Map<RoomKey, Map<String, Object>> rooms) {
+
+        public Map<String, Object> user(Long userId) {
+            return users.getOrDefault(userId, Map.of());
+        }
+
+        public Map<String, Object> room(Long hotelId, Long roomId) {
+            return rooms.getOrDefault(new RoomKey(hotelId, roomId), Map.of());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.bookingservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bookingservice.dto.BookingExportFormat;
+import com.example.bookingservice.dto.BookingPageDTO;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.repository.BookingExportReader;
+import com.example.bookingservice.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Admin listing and export of bookings. Lists are read with keyset queries
+ * on the booking ID and the export streams one cursor straight to the
+ * response, so memory per request stays the same however many bookings
+ * there are.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingListingService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor";
+    private static final String CSV_HEADER =
+            "id,userId,hotelId,roomId,checkInDate,checkOutDate,totalAmount,status,bookingDate\n";
+
+    private final BookingRepository bookingRepository;
+    private final BookingExportReader exportReader;
+    private final ObjectMapper objectMapper;
+
+    public BookingListingService(BookingRepository bookingRepository,
+            BookingExportReader exportReader,
+            ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.exportReader = exportReader;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Returns the page after {@code cursor}, or the first page when null */
+    public BookingPageDTO getBookingPage(String cursor, int limit) {
+        validateLimit(limit);
+        List<Booking> rows = bookingRepository.findPageAfter(decode(cursor), Limit.of(limit + 1));
+        return toPage(rows, limit);
+    }
+
+    /** Non-cancelled bookings overlapping [startDate, endDate], one page after {@code cursor} */
+    public BookingPageDTO getBookingPageByDateRange(LocalDate startDate, LocalDate endDate, String cursor, int limit) {
+        validateDateRange(startDate, endDate);
+        validateLimit(limit);
+        List<Booking> rows = bookingRepository.findDateRangePageAfter(
+                startDate, endDate, decode(cursor), Limit.of(limit + 1));
+        return toPage(rows, limit);
+    }
+
+    /**
+     * Checks an export's optional date range up front, so a bad range is
+     * rejected before the streaming response has been committed.
+     */
+    public void validateExportRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate != null || endDate != null) {
+            validateDateRange(startDate, endDate);
+        }
+    }
+
+    /**
+     * Writes every booking, or those overlapping the range when both dates
+     * are given, in ID order. Rows are written as the cursor reads them, on
+     * a connection of the export's own rather than a transaction held open
+     * for the whole download.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportBookings(LocalDate startDate, LocalDate endDate, BookingExportFormat format,
+            OutputStream out) throws IOException {
+        validateExportRange(startDate, endDate);
+        boolean ranged = startDate != null || endDate != null;
+
+        if (format == BookingExportFormat.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        Consumer<Booking> writer = booking -> {
+            try {
+                if (format == BookingExportFormat.CSV) {
+                    out.write(toCsvLine(booking).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(objectMapper.writeValueAsBytes(booking));
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            if (ranged) {
+                exportReader.forEachBookingInRange(startDate, endDate, writer);
+            } else {
+                exportReader.forEachBooking(writer);
+            }
+        } catch (UncheckedIOException e) {
+            // The client went away; stop reading instead of draining the cursor
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private static BookingPageDTO toPage(List<Booking> rows, int limit) {
+        // One extra row was asked for to learn whether another page exists
+        boolean hasMore = rows.size() > limit;
+        List<Booking> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encode(page.get(page.size() - 1).getId()) : null;
+        return new BookingPageDTO(page, nextCursor);
+    }
+
+    private static String toCsvLine(Booking booking) {
+        return String.join(",",
+                String.valueOf(booking.getId()),
+                String.valueOf(booking.getUserId()),
+                String.valueOf(booking.getHotelId()),
+                String.valueOf(booking.getRoomId()),
+                csvValue(booking.getCheckInDate()),
+                csvValue(booking.getCheckOutDate()),
+                csvValue(booking.getTotalAmount()),
+                csvValue(booking.getStatus()),
+                csvValue(booking.getBookingDate())) + "\n";
+    }
+
+    /** Every exported value is a number, date or enum name, so none needs quoting */
+    private static String csvValue(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+    }
+
+    // ---------------- Cursor ----------------
+
+    private static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+}
@@ -4,27 +4,46 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.example.bookingservice.client.NotificationClient;
-import com.example.bookingservice.client.RoomClient;
-import com.example.bookingservice.client.UserClient;
+import com.example.bookingservice.availability.RoomAvailabilityCalendar;
+import com.example.bookingservice.cache.RoomCatalog;
+import com.example.bookingservice.client.RoomKey;
+import com.example.bookingservice.dto.AvailabilityQueryDTO;
+import com.example.bookingservice.dto.AvailabilityResultDTO;
 import com.example.bookingservice.dto.BookingRequestDTO;
 import com.example.bookingservice.dto.BookingResponseDTO;
 import com.example.bookingservice.dto.UserBookingResponseDTO;
 import com.example.bookingservice.entity.Booking;
 import com.example.bookingservice.entity.BookingStatus;
+import com.example.bookingservice.event.BookingChangedEvent;
 import com.example.bookingservice.exception.BookingNotFoundException;
+import com.example.bookingservice.outbox.NotificationOutboxService;
+import com.example.bookingservice.repository.BookingBatchInserter;
 import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.RoomInventoryRepository;
+import com.example.bookingservice.repository.RoomNightLedger;
+import com.example.bookingservice.service.BookingEnrichmentService.Lookups;
 
 @Service
 public class BookingService {
@@ -36,24 +55,62 @@ public class BookingService {
     private static final String BOOKING_ID_REQUIRED_MESSAGE = "Booking ID is required";
     private static final String ROOM_SELECTION_REQUIRED_MESSAGE = "At least one room must be selected";
     private static final String CHECKOUT_AFTER_CHECKIN_MESSAGE = "Check-out date must be after check-in date";
+    private static final int MAX_AVAILABILITY_QUERIES = 200;
+    private static final int MAX_STAY_NIGHTS = 30;
+    // Bookings open this far ahead; keeps the availability calendar's bitsets small
+    private static final int MAX_BOOKING_DAYS_AHEAD = 730;
+    private static final String STAY_TOO_LONG_MESSAGE = "A stay can be at most " + MAX_STAY_NIGHTS + " nights";
 
     private final BookingRepository bookingRepository;
-    private final NotificationClient notificationClient;
-    private final RoomClient roomClient;
-    private final UserClient userClient;
+    private final BookingBatchInserter bookingBatchInserter;
+    private final RoomInventoryRepository roomInventoryRepository;
+    private final RoomNightLedger roomNightLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationOutboxService notificationOutbox;
+    private final RoomCatalog roomCatalog;
+    private final RoomAvailabilityCalendar availabilityCalendar;
+    private final BookingEnrichmentService enrichmentService;
+    private final BookingStatsService bookingStats;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BookingService(BookingRepository bookingRepository,
-            NotificationClient notificationClient,
-            RoomClient roomClient,
-            UserClient userClient) {
+            BookingBatchInserter bookingBatchInserter,
+            RoomInventoryRepository roomInventoryRepository,
+            RoomNightLedger roomNightLedger,
+            TransactionTemplate transactionTemplate,
+            NotificationOutboxService notificationOutbox,
+            RoomCatalog roomCatalog,
+            RoomAvailabilityCalendar availabilityCalendar,
+            BookingEnrichmentService enrichmentService,
+            BookingStatsService bookingStats,
+            ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
-        this.notificationClient = notificationClient;
-        this.roomClient = roomClient;
-        this.userClient = userClient;
+        this.bookingBatchInserter = bookingBatchInserter;
+        this.roomInventoryRepository = roomInventoryRepository;
+        this.roomNightLedger = roomNightLedger;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationOutbox = notificationOutbox;
+        this.roomCatalog = roomCatalog;
+        this.availabilityCalendar = availabilityCalendar;
+        this.enrichmentService = enrichmentService;
+        this.bookingStats = bookingStats;
+        this.eventPublisher = eventPublisher;
     }
 
     // ------------------- Booking CRUD -------------------
-    @Transactional
+
+    /**
+     * Books every requested room for the same stay, all or nothing. Room
+     * prices are fetched in one call before the transaction opens, so no
+     * connection is held across hotel-service; inside it, the rooms' inventory
+     * rows are locked, one batch inserts the bookings and one batch claims
+     * their nights in the room_night ledger, whose key rejects any night
+     * already taken. The row locks make concurrent bookings of the same room
+     * run one after the other, on any instance, while bookings of other
+     * rooms are not blocked. The hotel's daily stats are updated in the same
+     * transaction. The confirmation notification is queued in the
+     * same transaction and delivered later by the outbox relay.
+     */
     public List<Booking> createBooking(BookingRequestDTO dto) {
         validateBookingRequest(dto);
 
@@ -62,40 +119,62 @@ public class BookingService {
             throw new IllegalArgumentException(CHECKOUT_AFTER_CHECKIN_MESSAGE);
         }
 
-        List<Booking> createdBookings = new ArrayList<>();
         Long safeHotelId = requireHotelId(dto.getHotelId());
         Long safeUserId = requireUserId(dto.getUserId());
-
+        Set<Long> roomIds = new LinkedHashSet<>();
         for (Long roomId : dto.getRoomIds()) {
-            Long safeRoomId = requireRoomId(roomId);
-
-            if (!isRoomAvailable(safeHotelId, safeRoomId,
-                    dto.getCheckInDate(), dto.getCheckOutDate())) {
-
-                throw new IllegalStateException(
-                        "Room " + safeRoomId + " is not available");
+            if (!roomIds.add(requireRoomId(roomId))) {
+                throw new IllegalArgumentException("Room " + roomId + " is selected more than once");
             }
+        }
 
-            BigDecimal totalRoomAmount = calculateTotalRoomAmount(safeHotelId, safeRoomId, days);
-            Booking booking = buildBooking(dto, safeHotelId, safeRoomId, safeUserId, totalRoomAmount);
-
-            createdBookings.add(bookingRepository.save(booking));
+        Map<Long, Map<String, Object>> rooms = loadPricedRooms(safeHotelId, roomIds);
+        List<Booking> bookings = new ArrayList<>(roomIds.size());
+        for (Long roomId : roomIds) {
+            bookings.add(buildBooking(dto, safeHotelId, roomId, safeUserId, rooms.get(roomId), days));
         }
 
-        sendNotification(safeUserId, "Your booking is pending confirmation.");
+        ensureRoomInventory(safeHotelId, roomIds);
+        List<Booking> createdBookings = transactionTemplate.execute(status -> {
+            roomInventoryRepository.lockRooms(safeHotelId, roomIds);
+
+            List<Booking> inserted = bookingBatchInserter.insertAll(bookings);
+            try {
+                roomNightLedger.reserve(inserted);
+            } catch (DuplicateKeyException e) {
+                // Rolls back the bookings inserted above
+                throw new IllegalStateException(roomIds.size() == 1
+                        ? "Room " + roomIds.iterator().next() + " is not available"
+                        : "One or more of the selected rooms are not available for these dates", e);
+            }
+            bookingStats.recordBooked(inserted);
+            inserted.forEach(this::publishBookingChanged);
+            sendNotification(safeUserId, "Your booking is pending confirmation.");
+            return inserted;
+        });
 
         return createdBookings;
     }
 
     @Transactional
     public Booking updateBookingStatus(Long bookingId, BookingStatus status) {
-        Booking booking = getBookingById(requireBookingId(bookingId));
+        Booking booking = getBookingForUpdate(bookingId);
         if (status == null) {
             throw new IllegalArgumentException("Booking status is required");
         }
 
+        if (booking.getStatus() == BookingStatus.CANCELLED && status != BookingStatus.CANCELLED) {
+            // A cancelled booking may only come back if nobody took its nights in the meantime
+            reserveNights(booking);
+            bookingStats.recordReactivated(booking);
+        } else if (booking.getStatus() != BookingStatus.CANCELLED && status == BookingStatus.CANCELLED) {
+            roomNightLedger.release(booking.getId());
+            bookingStats.recordCancelled(booking);
+        }
+
         booking.setStatus(status);
         Booking updated = bookingRepository.save(booking);
+        publishBookingChanged(updated);
 
         String message = switch (status) {
             case CONFIRMED -> "Your booking has been confirmed!";
@@ -108,14 +187,44 @@ public class BookingService {
 
     @Transactional
     public Booking cancelBooking(Long bookingId) {
-        Booking booking = getBookingById(requireBookingId(bookingId));
+        Booking booking = getBookingForUpdate(bookingId);
 
+        if (booking.getStatus() != BookingStatus.CANCELLED) {
+            roomNightLedger.release(booking.getId());
+            bookingStats.recordCancelled(booking);
+        }
         booking.setStatus(BookingStatus.CANCELLED);
         Booking canceled = bookingRepository.save(booking);
+        publishBookingChanged(canceled);
         sendNotification(booking.getUserId(), "Your booking has been canceled.");
         return canceled;
     }
 
+    /**
+     * Bookings made before the room_night ledger existed get their nights
+     * written once, so the ledger's key also guards them. Stays longer than
+     * {@value #MAX_STAY_NIGHTS} nights predate the length check and are left
+     * out rather than written night by night.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillRoomNights() {
+        List<Booking> bookings = bookingRepository.findActiveBookingsWithoutNights(LocalDate.now()).stream()
+                .filter(b -> ChronoUnit.DAYS.between(b.getCheckInDate(), b.getCheckOutDate()) <= MAX_STAY_NIGHTS)
+                .toList();
+        if (!bookings.isEmpty()) {
+            roomNightLedger.reserveFree(bookings);
+            logger.info("Backfilled room nights for {} bookings", bookings.size());
+        }
+    }
+
+    /** The booking, row-locked so a status change is counted in the stats exactly once */
+    private Booking getBookingForUpdate(Long id) {
+        Long safeBookingId = requireBookingId(id);
+        return bookingRepository.findByIdForUpdate(safeBookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + safeBookingId));
+    }
+
     // ------------------- Read Operations -------------------
 
     public Booking getBookingById(Long id) {
@@ -125,67 +234,101 @@ public class BookingService {
     }
 
     public List<BookingResponseDTO> getBookingsByHotel(Long hotelId) {
-        return bookingRepository.findByHotelId(requireHotelId(hotelId)).stream()
+        List<Booking> bookings = bookingRepository.findByHotelId(requireHotelId(hotelId)).stream()
                 .filter(Objects::nonNull)
-                .map(this::mapToBookingResponseDTO)
+                .toList();
+        Lookups lookups = enrichmentService.resolve(bookings, true);
+        return bookings.stream()
+                .map(b -> mapToBookingResponseDTO(b, lookups))
                 .toList();
     }
 
+    /** IDs of all the user's bookings, read from the user_id index without loading the bookings */
+    public List<Long> getBookingIdsByUser(Long userId) {
+        return bookingRepository.findIdsByUserId(requireUserId(userId));
+    }
+
     public List<UserBookingResponseDTO> getBookingsByUser(Long userId) {
-        return bookingRepository.findByUserId(requireUserId(userId)).stream()
+        List<Booking> bookings = bookingRepository.findByUserId(requireUserId(userId)).stream()
                 .filter(Objects::nonNull)
-                .map(this::mapToUserBookingResponseDTO)
                 .toList();
-    }
-
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+        Lookups lookups = enrichmentService.resolve(bookings, false);
+        return bookings.stream()
+                .map(b -> mapToUserBookingResponseDTO(b, lookups))
+                .toList();
     }
 
     // ------------------- Availability -------------------
 
     public boolean isRoomAvailable(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
         validateDateRange(checkIn, checkOut, "Check-out must be after check-in");
-        return bookingRepository.findOverlappingBookings(
-                requireHotelId(hotelId),
-                requireRoomId(roomId),
-                checkIn,
-                checkOut)
-                .isEmpty();
+        Long safeHotelId = requireHotelId(hotelId);
+        Long safeRoomId = requireRoomId(roomId);
+
+        if (availabilityCalendar.covers(checkIn, checkOut)) {
+            return availabilityCalendar.isAvailable(safeHotelId, safeRoomId, checkIn, checkOut);
+        }
+        return !hasOverlappingBooking(safeHotelId, safeRoomId, checkIn, checkOut);
+    }
+
+    /**
+     * Answers many availability questions at once. Stays the calendar covers
+     * are answered from memory; the rest cost one query per hotel, covering
+     * all of that hotel's requested rooms and dates.
+     */
+    public List<AvailabilityResultDTO> checkAvailability(List<AvailabilityQueryDTO> queries) {
+        if (queries == null || queries.isEmpty() || queries.size() > MAX_AVAILABILITY_QUERIES) {
+            throw new IllegalArgumentException(
+                    "Between 1 and " + MAX_AVAILABILITY_QUERIES + " availability queries are required");
+        }
+        queries.forEach(this::validateAvailabilityQuery);
+
+        Set<AvailabilityQueryDTO> covered = new HashSet<>();
+        Map<Long, List<AvailabilityQueryDTO>> uncoveredByHotel = new LinkedHashMap<>();
+        for (AvailabilityQueryDTO query : queries) {
+            if (availabilityCalendar.covers(query.checkIn(), query.checkOut())) {
+                covered.add(query);
+            } else {
+                uncoveredByHotel.computeIfAbsent(query.hotelId(), id -> new ArrayList<>()).add(query);
+            }
+        }
+        Map<Long, Map<Long, List<LocalDate[]>>> staysByHotel = new HashMap<>();
+        uncoveredByHotel.forEach((hotelId, hotelQueries) -> staysByHotel.put(hotelId, loadStays(hotelId, hotelQueries)));
+
+        List<AvailabilityResultDTO> results = new ArrayList<>(queries.size());
+        for (AvailabilityQueryDTO query : queries) {
+            boolean fromCalendar = covered.contains(query);
+            Map<Long, List<LocalDate[]>> stays = staysByHotel.getOrDefault(query.hotelId(), Map.of());
+            Map<Long, Boolean> rooms = new LinkedHashMap<>();
+            for (Long roomId : query.roomIds()) {
+                rooms.put(roomId, fromCalendar
+                        ? availabilityCalendar.isAvailable(query.hotelId(), roomId, query.checkIn(), query.checkOut())
+                        : isFree(stays.getOrDefault(roomId, List.of()), query.checkIn(), query.checkOut()));
+            }
+            results.add(new AvailabilityResultDTO(query.hotelId(), query.checkIn(), query.checkOut(), rooms));
+        }
+        return results;
     }
 
     public List<Map<String, Object>> getAvailableRoomsForHotel(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
         Long safeHotelId = requireHotelId(hotelId);
         validateDateRange(checkIn, checkOut, "Check-out must be after check-in");
 
-        List<Booking> overlappingBookings = bookingRepository.findByHotelId(safeHotelId).stream()
-                .filter(b -> b.getStatus() != BookingStatus.CANCELLED
-                        && b.getCheckInDate().isBefore(checkOut)
-                        && b.getCheckOutDate().isAfter(checkIn))
-                .toList();
-
-        List<Long> bookedRoomIds = overlappingBookings.stream()
-                .map(Booking::getRoomId)
-                .map(this::requireRoomId)
-                .toList();
+        Collection<Long> bookedRoomIds = availabilityCalendar.covers(checkIn, checkOut)
+                ? availabilityCalendar.findOccupiedRooms(safeHotelId, checkIn, checkOut)
+                : new HashSet<>(bookingRepository.findBookedRoomIds(safeHotelId, checkIn, checkOut));
 
-        List<Map<String, Object>> allRooms = roomClient.getRoomsByHotelId(safeHotelId);
+        List<Map<String, Object>> allRooms = roomCatalog.getHotelRooms(safeHotelId);
 
         return allRooms.stream()
-                .filter(r -> !bookedRoomIds.contains(((Number) r.get("room_id")).longValue()))
+                .filter(r -> r.get("roomId") instanceof Number roomId && !bookedRoomIds.contains(roomId.longValue()))
                 .toList();
     }
 
-    // ------------------- Search / Query -------------------
-
-    public List<Booking> getBookingsByDateRange(LocalDate startDate, LocalDate endDate) {
-        validateDateRange(startDate, endDate, "End date must be after start date");
-        return bookingRepository.findBookingsByDateRange(startDate, endDate);
-    }
 
     // ------------------- Mapping Helpers -------------------
 
-    private BookingResponseDTO mapToBookingResponseDTO(@NonNull Booking b) {
+    private BookingResponseDTO mapToBookingResponseDTO(@NonNull Booking b, Lookups lookups) {
         BookingResponseDTO dto = new BookingResponseDTO();
         dto.setBookingId(b.getId());
         dto.setHotelId(b.getHotelId());
@@ -195,22 +338,19 @@ public class BookingService {
         dto.setStatus(b.getStatus() != null ? b.getStatus().toString() : null);
         dto.setTotalAmount(b.getTotalAmount());
 
-        Map<String, Object> user = userClient.getUserById(
-                requireUserId(b.getUserId()));
+        Map<String, Object> user = lookups.user(requireUserId(b.getUserId()));
         dto.setFirstName((String) user.getOrDefault("firstName", null));
         dto.setLastName((String) user.getOrDefault("lastName", null));
         dto.setEmail((String) user.getOrDefault("email", null));
         dto.setPhone((String) user.getOrDefault("phoneNumber", null));
 
-        Map<String, Object> room = roomClient.getRoomById(
-                requireHotelId(b.getHotelId()),
-                requireRoomId(b.getRoomId()));
+        Map<String, Object> room = lookups.room(requireHotelId(b.getHotelId()), requireRoomId(b.getRoomId()));
         dto.setRoomType(room.getOrDefault("room_type", "").toString());
 
         return dto;
     }
 
-    private UserBookingResponseDTO mapToUserBookingResponseDTO(@NonNull Booking b) {
+    private UserBookingResponseDTO mapToUserBookingResponseDTO(@NonNull Booking b, Lookups lookups) {
         UserBookingResponseDTO dto = new UserBookingResponseDTO();
         dto.setBookingId(b.getId());
         dto.setHotelId(b.getHotelId());
@@ -219,9 +359,7 @@ public class BookingService {
         dto.setCheckOutDate(b.getCheckOutDate());
         dto.setStatus(b.getStatus() != null ? b.getStatus().toString() : null);
 
-        Map<String, Object> room = roomClient.getRoomById(
-                requireHotelId(b.getHotelId()),
-                requireRoomId(b.getRoomId()));
+        Map<String, Object> room = lookups.room(requireHotelId(b.getHotelId()), requireRoomId(b.getRoomId()));
         dto.setRoomType(room.getOrDefault("room_type", "").toString());
 
         return dto;
@@ -229,14 +367,80 @@ public class BookingService {
 
     // ------------------- Helpers -------------------
 
-    private void sendNotification(Long userId, String message) {
+    private void validateAvailabilityQuery(AvailabilityQueryDTO query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Availability query is required");
+        }
+        requireHotelId(query.hotelId());
+        if (query.roomIds() == null || query.roomIds().isEmpty()) {
+            throw new IllegalArgumentException(ROOM_SELECTION_REQUIRED_MESSAGE);
+        }
+        query.roomIds().forEach(this::requireRoomId);
+        validateDateRange(query.checkIn(), query.checkOut(), CHECKOUT_AFTER_CHECKIN_MESSAGE);
+    }
+
+    /** Stays per room for every room and date asked about at one hotel, in a single query */
+    private Map<Long, List<LocalDate[]>> loadStays(Long hotelId, List<AvailabilityQueryDTO> queries) {
+        Set<Long> roomIds = new HashSet<>();
+        LocalDate from = queries.get(0).checkIn();
+        LocalDate to = queries.get(0).checkOut();
+        for (AvailabilityQueryDTO query : queries) {
+            roomIds.addAll(query.roomIds());
+            from = query.checkIn().isBefore(from) ? query.checkIn() : from;
+            to = query.checkOut().isAfter(to) ? query.checkOut() : to;
+        }
+
+        Map<Long, List<LocalDate[]>> stays = new HashMap<>();
+        for (Object[] row : bookingRepository.findStaysForRooms(hotelId, roomIds, from, to)) {
+            stays.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new LocalDate[] { (LocalDate) row[1], (LocalDate) row[2] });
+        }
+        return stays;
+    }
+
+    private static boolean isFree(List<LocalDate[]> stays, LocalDate checkIn, LocalDate checkOut) {
+        for (LocalDate[] stay : stays) {
+            if (stay[0].isBefore(checkOut) && stay[1].isAfter(checkIn)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates missing inventory rows in their own short transactions, so the
+     * booking transaction only ever takes the rows' exclusive locks.
+     */
+    private void ensureRoomInventory(Long hotelId, Collection<Long> roomIds) {
+        Set<Long> existing = new HashSet<>(roomInventoryRepository.findRoomIds(hotelId, roomIds));
+        for (Long roomId : roomIds) {
+            if (!existing.contains(roomId)) {
+                roomInventoryRepository.insertIfMissing(hotelId, roomId);
+            }
+        }
+    }
+
+    private void reserveNights(Booking booking) {
         try {
-            notificationClient.sendNotification(requireUserId(userId), message);
-        } catch (Exception e) {
-            logger.warn("Failed to send notification: {}", e.getMessage());
+            roomNightLedger.reserve(List.of(booking));
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("Room " + booking.getRoomId() + " is not available", e);
         }
     }
 
+    private boolean hasOverlappingBooking(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return !bookingRepository.findOverlappingBookings(hotelId, roomId, checkIn, checkOut).isEmpty();
+    }
+
+    private void publishBookingChanged(Booking booking) {
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getHotelId(), booking.getRoomId()));
+    }
+
+    /** Queues the notification in the current transaction; it is sent only if the change commits */
+    private void sendNotification(Long userId, String message) {
+        notificationOutbox.enqueue(requireUserId(userId), message);
+    }
+
     private void validateBookingRequest(BookingRequestDTO dto) {
         if (dto == null) {
             throw new IllegalArgumentException("Booking payload is required");
@@ -259,12 +463,23 @@ public class BookingService {
 
         if (!dto.getCheckOutDate().isAfter(dto.getCheckInDate()))
             throw new IllegalArgumentException(CHECKOUT_AFTER_CHECKIN_MESSAGE);
+
+        if (ChronoUnit.DAYS.between(dto.getCheckInDate(), dto.getCheckOutDate()) > MAX_STAY_NIGHTS)
+            throw new IllegalArgumentException(STAY_TOO_LONG_MESSAGE);
+
+        if (dto.getCheckInDate().isAfter(LocalDate.now().plusDays(MAX_BOOKING_DAYS_AHEAD)))
+            throw new IllegalArgumentException(
+                    "Check-in can be at most " + MAX_BOOKING_DAYS_AHEAD + " days from today");
     }
 
+    /** A stay's dates: check-out after check-in and at most {@value #MAX_STAY_NIGHTS} nights apart */
     private void validateDateRange(LocalDate startDate, LocalDate endDate, String errorMessage) {
         if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
             throw new IllegalArgumentException(errorMessage);
         }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_STAY_NIGHTS) {
+            throw new IllegalArgumentException(STAY_TOO_LONG_MESSAGE);
+        }
     }
 
     private @NonNull Long requireHotelId(@Nullable Long hotelId) {
@@ -283,13 +498,19 @@ public class BookingService {
         return Objects.requireNonNull(bookingId, BOOKING_ID_REQUIRED_MESSAGE);
     }
 
-    private BigDecimal calculateTotalRoomAmount(Long hotelId, Long roomId, long days) {
-        Map<String, Object> room = roomClient.getRoomById(hotelId, roomId);
-        if (room.isEmpty() || !room.containsKey("pricePerNight")) {
-            throw new IllegalStateException("Cannot fetch price for room " + roomId);
+    private Map<Long, Map<String, Object>> loadPricedRooms(Long hotelId, Collection<Long> roomIds) {
+        List<RoomKey> keys = roomIds.stream().map(roomId -> new RoomKey(hotelId, roomId)).toList();
+        Map<RoomKey, Map<String, Object>> rooms = roomCatalog.requireRooms(keys);
+
+        Map<Long, Map<String, Object>> priced = new HashMap<>();
+        for (RoomKey key : keys) {
+            Map<String, Object> room = rooms.get(key);
+            if (room == null || !room.containsKey("pricePerNight")) {
+                throw new IllegalStateException("Cannot fetch price for room " + key.roomId());
+            }
+            priced.put(key.roomId(), room);
         }
-        BigDecimal roomPrice = new BigDecimal(room.get("pricePerNight").toString());
-        return roomPrice.multiply(BigDecimal.valueOf(days));
+        return priced;
     }
 
     private Booking buildBooking(
@@ -297,14 +518,17 @@ public class BookingService {
             Long hotelId,
             Long roomId,
             Long userId,
-            BigDecimal totalRoomAmount) {
+            Map<String, Object> room,
+            long days) {
+        BigDecimal roomPrice = new BigDecimal(room.get("pricePerNight").toString());
         Booking booking = new Booking();
         booking.setHotelId(hotelId);
         booking.setRoomId(roomId);
         booking.setUserId(userId);
         booking.setCheckInDate(dto.getCheckInDate());
         booking.setCheckOutDate(dto.getCheckOutDate());
-        booking.setTotalAmount(totalRoomAmount);
+        booking.setTotalAmount(roomPrice.multiply(BigDecimal.valueOf(days)));
+        booking.setRoomType(room.get("room_type") != null ? room.get("room_type").toString() : null);
         booking.setBookingDate(LocalDate.now());
         booking.setStatus(BookingStatus.PENDING);
         return booking;
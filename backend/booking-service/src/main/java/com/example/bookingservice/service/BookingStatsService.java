@@ -0,0 +1,248 @@
+package com.example.bookingservice.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookingservice.cache.RoomCatalog;
+import com.example.bookingservice.dto.HotelDailyStatsDTO;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.BookingStatus;
+import com.example.bookingservice.entity.StatsBackfill;
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.HotelDailyStatsRepository;
+import com.example.bookingservice.repository.HotelDailyStatsWriter;
+import com.example.bookingservice.repository.HotelDailyStatsWriter.Row;
+import com.example.bookingservice.repository.StatsBackfillRepository;
+
+/**
+ * Maintains the per-hotel daily rollups behind the owner dashboards. Each
+ * booking change adjusts the rows of the days it touches in the same
+ * transaction: a booking adds one sold night per day of the stay with an
+ * equal share of its amount, a cancellation takes them back and counts one
+ * cancellation on the check-in day, and a reactivation reverses that. Rows
+ * are keyed by the room type stored on the booking, so a later change of the
+ * room in hotel-service cannot move a cancellation to another row.
+ */
+@Service
+public class BookingStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatsService.class);
+    private static final String UNKNOWN_ROOM_TYPE = "UNKNOWN";
+    private static final String BACKFILL_NAME = "hotel_daily_stats:booking_room_type";
+    private static final int MAX_STATS_DAYS = 366;
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::hotelId)
+            .thenComparing(Key::day)
+            .thenComparing(Key::roomType);
+
+    private final HotelDailyStatsRepository statsRepository;
+    private final HotelDailyStatsWriter statsWriter;
+    private final StatsBackfillRepository backfillRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomCatalog roomCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingStatsService(HotelDailyStatsRepository statsRepository,
+            HotelDailyStatsWriter statsWriter,
+            StatsBackfillRepository backfillRepository,
+            BookingRepository bookingRepository,
+            RoomCatalog roomCatalog,
+            TransactionTemplate transactionTemplate) {
+        this.statsRepository = statsRepository;
+        this.statsWriter = statsWriter;
+        this.backfillRepository = backfillRepository;
+        this.bookingRepository = bookingRepository;
+        this.roomCatalog = roomCatalog;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBooked(Collection<Booking> bookings) {
+        Changes changes = new Changes();
+        bookings.forEach(booking -> changes.stay(booking, 1));
+        statsWriter.add(changes.rows());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCancelled(Booking booking) {
+        Changes changes = new Changes();
+        changes.stay(booking, -1);
+        changes.cancellation(booking, 1);
+        statsWriter.add(changes.rows());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReactivated(Booking booking) {
+        Changes changes = new Changes();
+        changes.stay(booking, 1);
+        changes.cancellation(booking, -1);
+        statsWriter.add(changes.rows());
+    }
+
+    /** Rollup rows of the hotel for every day in [from, to] that has any */
+    @Transactional(readOnly = true)
+    public List<HotelDailyStatsDTO> getHotelStats(Long hotelId, LocalDate from, LocalDate to) {
+        if (hotelId == null) {
+            throw new IllegalArgumentException("Hotel ID is required");
+        }
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_STATS_DAYS) {
+            throw new IllegalArgumentException("At most " + MAX_STATS_DAYS + " days can be requested at once");
+        }
+        return statsRepository.findForHotel(hotelId, from, to).stream()
+                .map(stats -> new HotelDailyStatsDTO(
+                        stats.getId().getStatDate(),
+                        stats.getId().getRoomType(),
+                        stats.getNightsSold(),
+                        stats.getRevenue(),
+                        stats.getCancellations()))
+                .toList();
+    }
+
+    /**
+     * Rebuilds the rollups from the bookings until a run has finished with
+     * every booking's room type known; the marker row then stops later
+     * starts. Bookings made before the room type was stored get it from the
+     * catalog first. Each hotel is rebuilt in one transaction holding the
+     * locks of all its bookings, so bookings and status changes of the hotel
+     * on any instance wait until its rows are rewritten and then add to them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillStats() {
+        if (backfillRepository.existsById(BACKFILL_NAME)) {
+            return;
+        }
+        List<Long> hotelIds = bookingRepository.findHotelIds();
+        int untyped = 0;
+        for (Long hotelId : hotelIds) {
+            Map<Long, String> roomTypes = hotelRoomTypes(hotelId);
+            untyped += transactionTemplate.execute(status -> rebuildHotel(hotelId, roomTypes));
+        }
+        if (untyped > 0) {
+            logger.warn("Built daily stats for {} hotels; {} bookings have no room type yet, retrying on next start",
+                    hotelIds.size(), untyped);
+            return;
+        }
+        backfillRepository.save(new StatsBackfill(BACKFILL_NAME));
+        if (!hotelIds.isEmpty()) {
+            logger.info("Built daily stats for {} hotels", hotelIds.size());
+        }
+    }
+
+    /**
+     * Fills in missing room types, then replaces the hotel's rows with totals
+     * of its bookings. Returns how many bookings are still without a type.
+     */
+    private int rebuildHotel(Long hotelId, Map<Long, String> roomTypes) {
+        List<Booking> bookings = bookingRepository.findByHotelIdForUpdate(hotelId);
+        int untyped = 0;
+        Changes totals = new Changes();
+        for (Booking booking : bookings) {
+            if (booking.getRoomType() == null) {
+                String roomType = roomTypes.isEmpty()
+                        ? null
+                        : roomTypes.getOrDefault(booking.getRoomId(), UNKNOWN_ROOM_TYPE);
+                if (roomType == null) {
+                    untyped++;
+                } else {
+                    booking.setRoomType(roomType);
+                }
+            }
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                totals.cancellation(booking, 1);
+            } else {
+                totals.stay(booking, 1);
+            }
+        }
+        statsWriter.deleteHotel(hotelId);
+        statsWriter.replace(totals.rows());
+        return untyped;
+    }
+
+    /**
+     * Room types of the hotel's rooms by room ID, fetched before the hotel's
+     * bookings are locked; empty when hotel-service cannot be reached.
+     */
+    private Map<Long, String> hotelRoomTypes(Long hotelId) {
+        Map<Long, String> roomTypes = new HashMap<>();
+        for (Map<String, Object> room : roomCatalog.getHotelRooms(hotelId)) {
+            if (room.get("roomId") instanceof Number roomId) {
+                Object roomType = room.get("room_type");
+                roomTypes.put(roomId.longValue(), roomType != null ? roomType.toString() : UNKNOWN_ROOM_TYPE);
+            }
+        }
+        return roomTypes;
+    }
+
+    /** The booking's amount split evenly over its nights, the last night taking the rounding remainder */
+    private static List<BigDecimal> nightlyRevenue(Booking booking) {
+        int nights = (int) ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
+        if (nights <= 0) {
+            return List.of();
+        }
+        BigDecimal total = booking.getTotalAmount() != null ? booking.getTotalAmount() : BigDecimal.ZERO;
+        BigDecimal perNight = total.divide(BigDecimal.valueOf(nights), 2, RoundingMode.DOWN);
+        List<BigDecimal> nightly = new ArrayList<>(Collections.nCopies(nights - 1, perNight));
+        nightly.add(total.subtract(perNight.multiply(BigDecimal.valueOf(nights - 1L))));
+        return nightly;
+    }
+
+    /**
+     * Rollup changes for a set of bookings, merged per (hotel, day, room
+     * type) and sorted so concurrent transactions lock rows in one order.
+     */
+    private static final class Changes {
+        private final Map<Key, Row> rows = new TreeMap<>(KEY_ORDER);
+
+        /** Adds ({@code sign} 1) or removes (-1) the booking's nights and revenue */
+        void stay(Booking booking, int sign) {
+            LocalDate night = booking.getCheckInDate();
+            for (BigDecimal revenue : nightlyRevenue(booking)) {
+                merge(booking, night, sign, sign < 0 ? revenue.negate() : revenue, 0);
+                night = night.plusDays(1);
+            }
+        }
+
+        /** Counts ({@code sign} 1) or uncounts (-1) a cancellation on the booking's check-in day */
+        void cancellation(Booking booking, int sign) {
+            merge(booking, booking.getCheckInDate(), 0, BigDecimal.ZERO, sign);
+        }
+
+        List<Row> rows() {
+            return List.copyOf(rows.values());
+        }
+
+        private void merge(Booking booking, LocalDate day, int nightsSold, BigDecimal revenue, int cancellations) {
+            String roomType = booking.getRoomType() != null ? booking.getRoomType() : UNKNOWN_ROOM_TYPE;
+            Row change = new Row(booking.getHotelId(), day, roomType, nightsSold, revenue, cancellations);
+            rows.merge(new Key(booking.getHotelId(), day, roomType), change,
+                    (a, b) -> new Row(a.hotelId(), a.day(), a.roomType(),
+                            a.nightsSold() + b.nightsSold(),
+                            a.revenue().add(b.revenue()),
+                            a.cancellations() + b.cancellations()));
+        }
+    }
+
+    private record Key(Long hotelId, LocalDate day, String roomType) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bookingservice.availability;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.bookingservice.availability.RoomAvailabilityCalendar.Stay;
+
+/**
+ * Availability lookups against a calendar filled with a year of bookings.
+ * Not run by the test phase; after {@code mvn -pl booking-service test-compile}
+ * run {@link #main} from the IDE, or {@code org.openjdk.jmh.Main} with the
+ * test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomAvailabilityCalendarBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+    private static final int HORIZON_DAYS = 365;
+    private static final int HOTELS = 50;
+
+    @Param({ "50", "300" })
+    private int roomsPerHotel;
+
+    private RoomAvailabilityCalendar calendar;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Stay> stays = new ArrayList<>();
+        for (long hotelId = 1; hotelId <= HOTELS; hotelId++) {
+            for (long roomId = 1; roomId <= roomsPerHotel; roomId++) {
+                // Back-to-back stays of one to seven nights with gaps, roughly 60% occupancy
+                int night = random.nextInt(5);
+                while (night < HORIZON_DAYS) {
+                    int length = 1 + random.nextInt(7);
+                    stays.add(new Stay(hotelId, roomId, START.plusDays(night), START.plusDays(night + length)));
+                    night += length + random.nextInt(5);
+                }
+            }
+        }
+        calendar = new RoomAvailabilityCalendar();
+        calendar.rebuild(START, stays);
+        checkIn = START.plusDays(120);
+        checkOut = checkIn.plusDays(4);
+    }
+
+    @Benchmark
+    public boolean isRoomAvailable() {
+        return calendar.isAvailable(7L, 11L, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public Set<Long> findOccupiedRoomsOfHotel() {
+        return calendar.findOccupiedRooms(7L, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public void reloadRoomAfterBooking() {
+        calendar.reloadRoom(7L, 11L, List.of(
+                new Stay(7L, 11L, START.plusDays(30), START.plusDays(33)),
+                new Stay(7L, 11L, checkIn, checkOut)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoomAvailabilityCalendarBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
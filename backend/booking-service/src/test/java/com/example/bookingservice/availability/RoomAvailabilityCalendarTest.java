@@ -0,0 +1,154 @@
+package com.example.bookingservice.availability;
+
+import static com.example.bookingservice.availability.RoomAvailabilityCalendar.HORIZON_NIGHTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.bookingservice.availability.RoomAvailabilityCalendar.RoomNights;
+import com.example.bookingservice.availability.RoomAvailabilityCalendar.Stay;
+
+class RoomAvailabilityCalendarTest {
+
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @Test
+    void occupiesCheckInUpToButExcludingCheckOut() {
+        RoomNights nights = new RoomNights(START.toEpochDay());
+        nights.occupy(day(3), day(5));
+
+        assertTrue(nights.isFree(day(0), day(3)));
+        assertFalse(nights.isFree(day(2), day(4)));
+        assertFalse(nights.isFree(day(4), day(5)));
+        assertTrue(nights.isFree(day(5), day(10)));
+    }
+
+    @Test
+    void masksAcrossWordBoundaries() {
+        RoomNights nights = new RoomNights(START.toEpochDay());
+        nights.occupy(day(63), day(65));
+
+        assertTrue(nights.isFree(day(0), day(63)));
+        assertFalse(nights.isFree(day(63), day(64)));
+        assertFalse(nights.isFree(day(64), day(65)));
+        assertTrue(nights.isFree(day(65), day(128)));
+
+        // A stay spanning whole words sets every bit in between
+        nights.occupy(day(100), day(300));
+        for (int night = 100; night < 300; night++) {
+            assertFalse(nights.isFree(day(night), day(night + 1)), "night " + night);
+        }
+        assertTrue(nights.isFree(day(99), day(100)));
+        assertTrue(nights.isFree(day(300), day(301)));
+    }
+
+    @Test
+    void fullWordAndSingleBitMasks() {
+        RoomNights nights = new RoomNights(START.toEpochDay());
+        nights.occupy(day(64), day(128));
+        nights.occupy(day(0), day(1));
+
+        assertFalse(nights.isFree(day(0), day(1)));
+        assertTrue(nights.isFree(day(1), day(64)));
+        assertFalse(nights.isFree(day(127), day(128)));
+        assertTrue(nights.isFree(day(128), day(129)));
+    }
+
+    @Test
+    void clampsNightsBeforeTheStartDay() {
+        RoomNights nights = new RoomNights(START.toEpochDay());
+        nights.occupy(day(-3), day(2));
+        nights.occupy(day(-10), day(-1));
+
+        assertFalse(nights.isFree(day(-5), day(1)));
+        assertFalse(nights.isFree(day(1), day(2)));
+        assertTrue(nights.isFree(day(2), day(3)));
+    }
+
+    @Test
+    void growsPastTheLoadedHorizon() {
+        RoomNights nights = new RoomNights(START.toEpochDay());
+        nights.occupy(day(0), day(1));
+
+        // Nights beyond the allocated words are free rather than out of bounds
+        assertTrue(nights.isFree(day(500), day(510)));
+
+        nights.occupy(day(500), day(510));
+        assertFalse(nights.isFree(day(505), day(506)));
+        assertTrue(nights.isFree(day(510), day(1000)));
+        assertFalse(nights.isFree(day(0), day(1)));
+    }
+
+    @Test
+    void ignoresEmptyAndInvertedStays() {
+        RoomNights nights = new RoomNights(START.toEpochDay());
+        nights.occupy(day(5), day(5));
+        nights.occupy(day(8), day(6));
+
+        assertTrue(nights.isFree(day(0), day(20)));
+    }
+
+    @Test
+    void clipsStaysAtTheHorizon() {
+        RoomNights nights = new RoomNights(START.toEpochDay());
+        nights.occupy(day(HORIZON_NIGHTS - 2), LocalDate.MAX);
+
+        assertFalse(nights.isFree(day(HORIZON_NIGHTS - 1), day(HORIZON_NIGHTS)));
+        assertTrue(nights.isFree(day(HORIZON_NIGHTS), day(HORIZON_NIGHTS + 5)));
+    }
+
+    @Test
+    void coversOnlyOnceLoadedAndWithinTheHorizon() {
+        RoomAvailabilityCalendar calendar = new RoomAvailabilityCalendar();
+        assertFalse(calendar.covers(START, day(1)));
+
+        calendar.rebuild(START, List.of());
+        assertTrue(calendar.covers(START, day(1)));
+        assertTrue(calendar.covers(day(400), day(410)));
+        assertTrue(calendar.covers(day(HORIZON_NIGHTS - 1), day(HORIZON_NIGHTS)));
+        assertFalse(calendar.covers(day(-1), day(1)));
+        assertFalse(calendar.covers(day(HORIZON_NIGHTS - 1), day(HORIZON_NIGHTS + 1)));
+    }
+
+    @Test
+    void releasesAndReReservesARoom() {
+        RoomAvailabilityCalendar calendar = new RoomAvailabilityCalendar();
+        calendar.rebuild(START, List.of(
+                new Stay(1L, 10L, day(2), day(4)),
+                new Stay(1L, 11L, day(3), day(6))));
+
+        assertFalse(calendar.isAvailable(1L, 10L, day(3), day(5)));
+        assertEquals(Set.of(10L, 11L), calendar.findOccupiedRooms(1L, day(3), day(4)));
+
+        // Cancelling the only stay frees the room
+        calendar.reloadRoom(1L, 10L, List.of());
+        assertTrue(calendar.isAvailable(1L, 10L, day(2), day(4)));
+        assertEquals(Set.of(11L), calendar.findOccupiedRooms(1L, day(3), day(4)));
+
+        // Booking it again only blocks the new nights
+        calendar.reloadRoom(1L, 10L, List.of(new Stay(1L, 10L, day(7), day(9))));
+        assertTrue(calendar.isAvailable(1L, 10L, day(2), day(7)));
+        assertFalse(calendar.isAvailable(1L, 10L, day(8), day(12)));
+        assertEquals(Set.of(10L), calendar.findOccupiedRooms(1L, day(6), day(8)));
+    }
+
+    @Test
+    void unknownRoomsAndHotelsAreFree() {
+        RoomAvailabilityCalendar calendar = new RoomAvailabilityCalendar();
+        calendar.rebuild(START, List.of(new Stay(1L, 10L, day(0), day(3))));
+
+        assertTrue(calendar.isAvailable(1L, 99L, day(0), day(3)));
+        assertTrue(calendar.isAvailable(2L, 10L, day(0), day(3)));
+        assertEquals(Set.of(), calendar.findOccupiedRooms(2L, day(0), day(3)));
+    }
+
+    private static LocalDate day(int offset) {
+        return START.plusDays(offset);
+    }
+}
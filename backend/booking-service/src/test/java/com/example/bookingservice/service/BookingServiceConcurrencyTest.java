@@ -0,0 +1,346 @@
+package com.example.bookingservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookingservice.availability.RoomAvailabilityCalendar;
+import com.example.bookingservice.cache.RoomCatalog;
+import com.example.bookingservice.client.RoomKey;
+import com.example.bookingservice.dto.BookingRequestDTO;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.BookingStatus;
+import com.example.bookingservice.exception.GlobalExceptionHandler;
+import com.example.bookingservice.outbox.NotificationOutboxService;
+import com.example.bookingservice.repository.BookingBatchInserter;
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.RoomInventoryRepository;
+import com.example.bookingservice.repository.RoomNightLedger;
+
+/**
+ * Books rooms from many threads at once against an H2 database in MySQL
+ * mode, so the inventory row locks and the room_night key are the real
+ * ones. Each test commits, hence no test transaction around it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingServiceConcurrencyTest.class);
+    private static final int THREADS = 16;
+    private static final int THROUGHPUT_ROUNDS = 20;
+    private static final Long HOTEL_ID = 1L;
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookingService bookingService;
+    private BookingBatchInserter bookingBatchInserter;
+    private RoomNightLedger roomNightLedger;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        RoomCatalog roomCatalog = mock(RoomCatalog.class);
+        when(roomCatalog.requireRooms(any())).thenAnswer(invocation -> {
+            Map<RoomKey, Map<String, Object>> rooms = new HashMap<>();
+            for (RoomKey key : invocation.<Collection<RoomKey>>getArgument(0)) {
+                rooms.put(key, Map.of("roomId", key.roomId(), "pricePerNight", 100, "room_type", "DOUBLE"));
+            }
+            return rooms;
+        });
+        bookingBatchInserter = new BookingBatchInserter(jdbcTemplate);
+        roomNightLedger = new RoomNightLedger(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        bookingService = new BookingService(
+                bookingRepository,
+                bookingBatchInserter,
+                roomInventoryRepository,
+                roomNightLedger,
+                transactionTemplate,
+                mock(NotificationOutboxService.class),
+                roomCatalog,
+                mock(RoomAvailabilityCalendar.class),
+                mock(BookingEnrichmentService.class),
+                mock(BookingStatsService.class),
+                mock(ApplicationEventPublisher.class));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.update("DELETE FROM room_night");
+        jdbcTemplate.update("DELETE FROM booking");
+        jdbcTemplate.update("DELETE FROM room_inventory");
+    }
+
+    @Test
+    void concurrentBookingsOfOneRoomLetExactlyOneThrough() throws InterruptedException {
+        List<Future<List<Booking>>> results = runTogether(thread -> request(thread + 1L, 10L));
+
+        int booked = 0;
+        List<Throwable> rejected = new ArrayList<>();
+        for (Future<List<Booking>> result : results) {
+            try {
+                booked += result.get().size();
+            } catch (ExecutionException e) {
+                rejected.add(e.getCause());
+            }
+        }
+
+        assertEquals(1, booked);
+        assertEquals(THREADS - 1, rejected.size());
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        for (Throwable failure : rejected) {
+            IllegalStateException conflict = assertInstanceOf(IllegalStateException.class, failure);
+            assertEquals(HttpStatus.CONFLICT, handler.handleIllegalState(conflict).getStatusCode());
+        }
+
+        // The losers' bookings were rolled back along with their nights
+        assertEquals(1, count("SELECT COUNT(*) FROM booking"));
+        assertEquals(3, count("SELECT COUNT(*) FROM room_night"));
+    }
+
+    @Test
+    void concurrentBookingsOfDifferentRoomsAllSucceed() throws InterruptedException, ExecutionException {
+        List<Future<List<Booking>>> results = runTogether(thread -> request(thread + 1L, 100L + thread));
+
+        for (Future<List<Booking>> result : results) {
+            assertEquals(1, result.get().size());
+        }
+        assertEquals(THREADS, count("SELECT COUNT(*) FROM booking"));
+        assertEquals(THREADS * 3, count("SELECT COUNT(*) FROM room_night"));
+    }
+
+    @Test
+    void concurrentMultiRoomBookingsNeverShareANight() throws InterruptedException {
+        // Overlapping room sets in opposite orders, which deadlock without ordered locks
+        List<Future<List<Booking>>> results = runTogether(thread -> thread % 2 == 0
+                ? request(thread + 1L, 20L, 21L, 22L)
+                : request(thread + 1L, 22L, 23L, 21L));
+
+        for (Future<List<Booking>> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+
+        assertTrue(count("SELECT COUNT(*) FROM booking") > 0);
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT room_id, night FROM room_night "
+                + "GROUP BY room_id, night HAVING COUNT(*) > 1) AS shared"));
+        assertEquals(count("SELECT COUNT(*) FROM booking") * 3, count("SELECT COUNT(*) FROM room_night"));
+    }
+
+    @Test
+    void reportsBookingThroughputForOneRoomAndForDifferentRooms() throws InterruptedException {
+        // Each round books new nights, so every round of the same room has exactly one winner
+        Throughput sameRoom = measure(bookingService::createBooking, (round, thread) ->
+                request(thread + 1L, CHECK_IN.plusDays(round * 3L), 30L));
+        Throughput differentRooms = measure(bookingService::createBooking, (round, thread) ->
+                request(thread + 1L, CHECK_IN.plusDays(round * 3L), 300L + thread));
+
+        logger.info("Same room: {}", sameRoom);
+        logger.info("Different rooms: {}", differentRooms);
+        assertEquals(THROUGHPUT_ROUNDS, sameRoom.booked());
+        assertEquals(THROUGHPUT_ROUNDS * THREADS, differentRooms.booked());
+    }
+
+    /**
+     * The same contention on the room_night ledger and on the overlap query
+     * it replaced. Both paths take the inventory row locks; the rooms carry a
+     * year of other bookings first, so the overlap query has history to scan.
+     */
+    @Test
+    void comparesLedgerWithOverlapQueryUnderContention() throws InterruptedException {
+        List<Long> rooms = new ArrayList<>();
+        for (long roomId = 500; roomId < 500 + 2 * (THREADS + 1); roomId++) {
+            rooms.add(roomId);
+        }
+        bookHistory(rooms);
+
+        Throughput ledgerSameRoom = measure(bookingService::createBooking, (round, thread) ->
+                request(thread + 1L, CHECK_IN.plusDays(round * 3L), 500L));
+        Throughput overlapSameRoom = measure(this::createBookingWithOverlapQuery, (round, thread) ->
+                request(thread + 1L, CHECK_IN.plusDays(round * 3L), 501L));
+        Throughput ledgerDifferentRooms = measure(bookingService::createBooking, (round, thread) ->
+                request(thread + 1L, CHECK_IN.plusDays(round * 3L), 502L + thread));
+        Throughput overlapDifferentRooms = measure(this::createBookingWithOverlapQuery, (round, thread) ->
+                request(thread + 1L, CHECK_IN.plusDays(round * 3L), 502L + THREADS + thread));
+
+        logger.info("Same room, ledger: {}", ledgerSameRoom);
+        logger.info("Same room, overlap query: {}", overlapSameRoom);
+        logger.info("Different rooms, ledger: {}", ledgerDifferentRooms);
+        logger.info("Different rooms, overlap query: {}", overlapDifferentRooms);
+        assertEquals(THROUGHPUT_ROUNDS, ledgerSameRoom.booked());
+        assertEquals(THROUGHPUT_ROUNDS, overlapSameRoom.booked());
+        assertEquals(THROUGHPUT_ROUNDS * THREADS, ledgerDifferentRooms.booked());
+        assertEquals(THROUGHPUT_ROUNDS * THREADS, overlapDifferentRooms.booked());
+    }
+
+    /** Write path before the ledger: the locked rooms are checked with one overlap query each */
+    private List<Booking> createBookingWithOverlapQuery(BookingRequestDTO dto) {
+        List<Long> roomIds = dto.getRoomIds();
+        roomIds.forEach(roomId -> roomInventoryRepository.insertIfMissing(HOTEL_ID, roomId));
+        return transactionTemplate.execute(status -> {
+            roomInventoryRepository.lockRooms(HOTEL_ID, roomIds);
+            List<Booking> bookings = new ArrayList<>();
+            for (Long roomId : roomIds) {
+                if (!bookingRepository.findOverlappingBookings(
+                        HOTEL_ID, roomId, dto.getCheckInDate(), dto.getCheckOutDate()).isEmpty()) {
+                    throw new IllegalStateException("Room " + roomId + " is not available");
+                }
+                bookings.add(booking(dto.getUserId(), roomId, dto.getCheckInDate(), dto.getCheckOutDate()));
+            }
+            return bookingBatchInserter.insertAll(bookings);
+        });
+    }
+
+    /** Two-night stays every third night for a year after the measured rounds, with their ledger nights */
+    private void bookHistory(List<Long> roomIds) {
+        LocalDate from = CHECK_IN.plusDays(THROUGHPUT_ROUNDS * 3L);
+        List<Booking> history = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            for (int night = 0; night < 365; night += 3) {
+                history.add(booking(1L, roomId, from.plusDays(night), from.plusDays(night + 2L)));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                roomNightLedger.reserve(bookingBatchInserter.insertAll(history)));
+    }
+
+    private static Booking booking(Long userId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Booking booking = new Booking();
+        booking.setHotelId(HOTEL_ID);
+        booking.setRoomId(roomId);
+        booking.setUserId(userId);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setTotalAmount(BigDecimal.valueOf(300));
+        booking.setBookingDate(LocalDate.now());
+        booking.setStatus(BookingStatus.PENDING);
+        return booking;
+    }
+
+    /** Runs {@value #THROUGHPUT_ROUNDS} rounds of {@value #THREADS} concurrent requests and times them */
+    private Throughput measure(Function<BookingRequestDTO, List<Booking>> book, RoundRequest request)
+            throws InterruptedException {
+        int booked = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < THROUGHPUT_ROUNDS; round++) {
+            int currentRound = round;
+            for (Future<List<Booking>> result : runTogether(thread -> request.forRound(currentRound, thread), book)) {
+                try {
+                    booked += result.get().size();
+                } catch (ExecutionException e) {
+                    assertInstanceOf(IllegalStateException.class, e.getCause());
+                }
+            }
+        }
+        return new Throughput(THROUGHPUT_ROUNDS * THREADS, booked, System.nanoTime() - start);
+    }
+
+    private List<Future<List<Booking>>> runTogether(ThreadRequest request) throws InterruptedException {
+        return runTogether(request, bookingService::createBooking);
+    }
+
+    private List<Future<List<Booking>>> runTogether(ThreadRequest request,
+            Function<BookingRequestDTO, List<Booking>> book) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Booking>>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            BookingRequestDTO dto = request.forThread(thread);
+            Callable<List<Booking>> booking = () -> {
+                start.await();
+                return book.apply(dto);
+            };
+            results.add(executor.submit(booking));
+        }
+        start.countDown();
+        return results;
+    }
+
+    private static BookingRequestDTO request(Long userId, Long... roomIds) {
+        return new BookingRequestDTO(userId, HOTEL_ID, List.of(roomIds), CHECK_IN, CHECK_OUT, 300);
+    }
+
+    private static BookingRequestDTO request(Long userId, LocalDate checkIn, Long roomId) {
+        return new BookingRequestDTO(userId, HOTEL_ID, List.of(roomId), checkIn, checkIn.plusDays(3), 300);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    @FunctionalInterface
+    private interface ThreadRequest {
+        BookingRequestDTO forThread(int thread);
+    }
+
+    @FunctionalInterface
+    private interface RoundRequest {
+        BookingRequestDTO forRound(int round, int thread);
+    }
+
+    private record Throughput(int attempts, int booked, long elapsedNanos) {
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format(Locale.ROOT, "%d attempts, %d booked in %.0f ms (%.0f attempts/s, %.0f bookings/s)",
+                    attempts, booked, seconds * 1000, attempts / seconds, booked / seconds);
+        }
+    }
+}
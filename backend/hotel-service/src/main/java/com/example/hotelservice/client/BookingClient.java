@@ -1,20 +1,27 @@
 package com.example.hotelservice.client;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
 @Component
 public class BookingClient {
+    private static final Logger logger = LoggerFactory.getLogger(BookingClient.class);
     private static final String DISCOVERY_BASE_PREFIX = "http://";
-    private static final String AVAILABILITY_PATH = "/bookings/availability";
-    private static final String HOTEL_ID_PARAM = "hotelId";
-    private static final String ROOM_ID_PARAM = "roomId";
-    private static final String CHECK_IN_PARAM = "checkIn";
-    private static final String CHECK_OUT_PARAM = "checkOut";
+    private static final String AVAILABILITY_BATCH_PATH = "/bookings/availability/batch";
+    private static final String ROOM_CATALOG_HOTEL_PATH = "/room-catalog/hotels/{hotelId}";
 
     private final RestTemplate restTemplate;
     private final String bookingServiceName;
@@ -30,30 +37,71 @@ public class BookingClient {
                                    Long roomId,
                                    LocalDate checkIn,
                                    LocalDate checkOut) {
-        String url = buildAvailabilityUrl(hotelId, roomId, checkIn, checkOut);
-        return fetchAvailability(url);
+        List<Map<Long, Boolean>> results = checkAvailability(
+                List.of(new AvailabilityQuery(hotelId, List.of(roomId), checkIn, checkOut)));
+        return Boolean.TRUE.equals(results.get(0).get(roomId));
+    }
+
+    /**
+     * Checks all queries in one call. Returns, per query and in the same
+     * order, each room's availability; rooms are reported unavailable when
+     * booking-service cannot be reached.
+     */
+    public List<Map<Long, Boolean>> checkAvailability(List<AvailabilityQuery> queries) {
+        String url = UriComponentsBuilder.fromUriString(resolveBaseUrl())
+                .path(AVAILABILITY_BATCH_PATH)
+                .toUriString();
+        try {
+            AvailabilityResponse response = restTemplate.postForObject(url, queries, AvailabilityResponse.class);
+            if (response != null && response.data() != null && response.data().size() == queries.size()) {
+                return response.data().stream().map(AvailabilityResult::rooms).toList();
+            }
+        } catch (Exception e) {
+            // Fall through to the pessimistic answer below
+        }
+        return unavailable(queries);
     }
 
-    private String buildAvailabilityUrl(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
-        return UriComponentsBuilder.fromUriString(resolveBaseUrl())
-                .path(AVAILABILITY_PATH)
-                .queryParam(HOTEL_ID_PARAM, hotelId)
-                .queryParam(ROOM_ID_PARAM, roomId)
-                .queryParam(CHECK_IN_PARAM, checkIn)
-                .queryParam(CHECK_OUT_PARAM, checkOut)
+    /**
+     * Tells booking-service to drop its cached rooms of the hotel. Failures
+     * are only logged: booking-service's cache expires on its own.
+     */
+    public void invalidateRoomCatalog(Long hotelId) {
+        String url = UriComponentsBuilder.fromUriString(resolveBaseUrl())
+                .path(ROOM_CATALOG_HOTEL_PATH)
+                .buildAndExpand(hotelId)
                 .toUriString();
+        try {
+            restTemplate.exchange(url, HttpMethod.DELETE, null, Void.class);
+        } catch (Exception e) {
+            logger.warn("Failed to invalidate booking-service room catalog for hotel {}: {}", hotelId, e.getMessage());
+        }
+    }
+
+    private static List<Map<Long, Boolean>> unavailable(List<AvailabilityQuery> queries) {
+        List<Map<Long, Boolean>> results = new ArrayList<>(queries.size());
+        for (AvailabilityQuery query : queries) {
+            Map<Long, Boolean> rooms = new LinkedHashMap<>();
+            query.roomIds().forEach(roomId -> rooms.put(roomId, false));
+            results.add(rooms);
+        }
+        return results;
     }
 
     private String resolveBaseUrl() {
         return DISCOVERY_BASE_PREFIX + bookingServiceName;
     }
 
-    private boolean fetchAvailability(String url) {
-        try {
-            Boolean response = restTemplate.getForObject(url, Boolean.class);
-            return Boolean.TRUE.equals(response);
-        } catch (Exception e) {
-            return false;
-        }
+    public record AvailabilityQuery(
+            Long hotelId,
+            List<Long> roomIds,
+            @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate checkIn,
+            @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate checkOut) {
+    }
+
+    private record AvailabilityResult(Long hotelId, Map<Long, Boolean> rooms) {
+    }
+
+    private record AvailabilityResponse(List<AvailabilityResult> data) {
     }
 }
@@ -0,0 +1,76 @@
+package com.example.hotelservice.client;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Looks up a city photo on Pixabay and downloads it. The API base URL is
+ * configurable so the client can be pointed at a local stub.
+ */
+@Component
+public class PixabayClient {
+    private static final String KEY_PARAM = "key";
+    private static final String QUERY_PARAM = "q";
+    private static final String HITS_FIELD = "hits";
+    private static final String IMAGE_URL_FIELD = "largeImageURL";
+
+    private final RestTemplate restTemplate;
+    private final String apiUrl;
+    private final String apiKey;
+
+    public PixabayClient(
+            RestTemplate restTemplate,
+            @Value("${pixabay.api.url:https://pixabay.com/api/}") String apiUrl,
+            @Value("${pixabay.api.key}") String apiKey) {
+        this.restTemplate = restTemplate;
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+    }
+
+    /**
+     * Returns the bytes of a random matching photo, or empty when the search
+     * has no hits. Transport errors are thrown to the caller.
+     */
+    public Optional<byte[]> fetchCityImage(String city, String country) {
+        String body = restTemplate.getForObject(buildSearchUrl(city, country), String.class);
+        if (body == null) {
+            return Optional.empty();
+        }
+
+        JSONArray hits = new JSONObject(body).optJSONArray(HITS_FIELD);
+        if (hits == null || hits.length() == 0) {
+            return Optional.empty();
+        }
+
+        String imageUrl = hits.getJSONObject(ThreadLocalRandom.current().nextInt(hits.length()))
+                .optString(IMAGE_URL_FIELD);
+        if (imageUrl.isBlank()) {
+            return Optional.empty();
+        }
+
+        byte[] data = restTemplate.getForObject(URI.create(imageUrl), byte[].class);
+        return Optional.ofNullable(data).filter(bytes -> bytes.length > 0);
+    }
+
+    private URI buildSearchUrl(String city, String country) {
+        String query = city + " skyline " + (country != null ? country : "") + " landmark";
+        return UriComponentsBuilder.fromUriString(apiUrl)
+                .queryParam(KEY_PARAM, apiKey)
+                .queryParam(QUERY_PARAM, query)
+                .queryParam("image_type", "photo")
+                .queryParam("orientation", "horizontal")
+                .queryParam("category", "places")
+                .queryParam("per_page", 5)
+                .encode()
+                .build()
+                .toUri();
+    }
+}
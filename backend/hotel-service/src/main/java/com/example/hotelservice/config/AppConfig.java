@@ -1,8 +1,10 @@
 package com.example.hotelservice.config;
 
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -15,4 +17,46 @@ public class AppConfig {
         factory.setReadTimeout(5000);
         return new RestTemplate(factory);
     }
+
+    /**
+     * Runs MVC async work such as the NDJSON catalog export. Declaring the pools below
+     * switches off Boot's default executor, which would leave streaming
+     * responses on an unbounded thread-per-request executor; registering this
+     * one under Boot's name restores a bounded pool for them.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /**
+     * Background pool for image renditions, kept small since resizing is CPU
+     * bound. Each queued job holds its original in memory, so the queue is
+     * short; images that miss it are queued again on their next request.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageRenditionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("image-rendition-");
+        return executor;
+    }
+
+    /** Pool for city image downloads; a full queue rejects instead of blocking requests */
+    @Bean
+    public ThreadPoolTaskExecutor cityImageFetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("city-image-fetch-");
+        return executor;
+    }
 }
@@ -1,10 +1,16 @@
 package com.example.hotelservice.controller;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,18 +20,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.hotelservice.dto.custom.CustomResponse;
+import com.example.hotelservice.dto.hotel.DestinationSnapshotDTO;
+import com.example.hotelservice.dto.hotel.HotelDestinationDTO;
+import com.example.hotelservice.dto.hotel.HotelPageDTO;
 import com.example.hotelservice.dto.hotel.HotelRequestDTO;
 import com.example.hotelservice.dto.hotel.HotelSearchDTO;
+import com.example.hotelservice.dto.image.ImageDTO;
 import com.example.hotelservice.entity.hotel.Hotel;
+import com.example.hotelservice.entity.rendition.ImageSize;
 import com.example.hotelservice.entity.room.Room;
+import com.example.hotelservice.service.HotelListingService;
 import com.example.hotelservice.service.HotelService;
+import com.example.hotelservice.service.ImageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,13 +61,25 @@ public class HotelController {
     private static final String NO_HOTELS_FOUND = "No hotels found";
     private static final String NO_HOTELS_FOUND_FOR_LOCATION = "No hotels found for the specified location";
     private final HotelService hotelService;
+    private final HotelListingService hotelListingService;
+    private final ImageService imageService;
     private final ObjectMapper objectMapper;
 
+    private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
     private static final String MESSAGE_KEY = "message";
     private static final String HOTEL_ID_KEY = "hotelId";
 
-    public HotelController(HotelService hotelService, ObjectMapper objectMapper) {
+    public HotelController(HotelService hotelService,
+            HotelListingService hotelListingService,
+            ImageService imageService,
+            ObjectMapper objectMapper) {
         this.hotelService = hotelService;
+        this.hotelListingService = hotelListingService;
+        this.imageService = imageService;
         this.objectMapper = objectMapper;
     }
 
@@ -70,17 +97,28 @@ public class HotelController {
         return createdWithHotelId(HOTEL_CREATED_SUCCESSFULLY, hotelId);
     }
 
-    // ---------------- Get All Hotels ----------------
-    @Operation(summary = "Get all hotels", description = "Retrieve a list of all hotels")
+    // ---------------- List Hotels ----------------
+    @Operation(summary = "List hotels", description = "Cursor-paginated hotel listing, optionally sorted by price or rating and limited to the given fields. "
+            + "Breaking change: data is now a page object {items, nextCursor} instead of a plain array of hotels; "
+            + "follow nextCursor until it is null to read every hotel")
     @GetMapping
-    public ResponseEntity<CustomResponse<List<HotelSearchDTO>>> getAllHotels() {
-        List<HotelSearchDTO> hotels = hotelService.getAllHotels();
-
-        if (hotels.isEmpty()) {
-            return notFound(NO_HOTELS_FOUND);
-        }
+    public ResponseEntity<CustomResponse<HotelPageDTO>> getHotels(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + HotelListingService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields) {
+        HotelPageDTO page = hotelListingService.getHotelPage(cursor, limit, sort, fields);
+        return ok(HOTELS_RETRIEVED_SUCCESSFULLY, page);
+    }
 
-        return ok(HOTELS_RETRIEVED_SUCCESSFULLY, hotels);
+    // ---------------- Export Hotels ----------------
+    @Operation(summary = "Export hotel catalog", description = "Streams every hotel as newline-delimited JSON, one hotel per line")
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportHotels() {
+        StreamingResponseBody body = hotelListingService::exportCatalog;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
     }
 
     // ---------------- Get Hotel by ID ----------------
@@ -93,6 +131,21 @@ public class HotelController {
         return ok("Hotel retrieved successfully", hotel);
     }
 
+    // ---------------- Get Hotel Image ----------------
+    @Operation(summary = "Get hotel image", description = "Streams the hotel image (thumbnail, card, full or original size) with a content-hash ETag")
+    @GetMapping("/{id}/image")
+    public ResponseEntity<byte[]> getHotelImage(
+            @Parameter(description = "ID of the hotel") @PathVariable @NonNull Long id,
+            @RequestParam(required = false) String size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        ImageSize imageSize = ImageSize.fromParam(size);
+        return imageResponse(
+                hotelService.getHotelImageETag(id, imageSize),
+                ifNoneMatch,
+                () -> hotelService.getHotelImage(id, imageSize));
+    }
+
     // ---------------- Get Hotel by IDs Batch ----------------
     @Operation(summary = "Get hotels by IDs", description = "Retrieve multiple hotels by a list of IDs")
     @PostMapping("/batch")
@@ -129,10 +182,12 @@ public class HotelController {
     }
 
     // ---------------- Search Hotels by Name ----------------
-    @Operation(summary = "Search hotels by name", description = "Search for hotels by their name")
+    @Operation(summary = "Search hotels by name", description = "Ranked search over hotel name, city, country and address; name matches come first")
     @GetMapping("/search")
-    public ResponseEntity<CustomResponse<List<HotelSearchDTO>>> searchHotelsByName(@RequestParam String name) {
-        List<HotelSearchDTO> hotels = hotelService.findHotelsByName(name);
+    public ResponseEntity<CustomResponse<List<HotelSearchDTO>>> searchHotelsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "200") int limit) {
+        List<HotelSearchDTO> hotels = hotelService.findHotelsByName(name, limit);
 
         if (hotels.isEmpty()) {
             return notFound(NO_HOTELS_FOUND);
@@ -146,9 +201,10 @@ public class HotelController {
     @GetMapping("/search/location")
     public ResponseEntity<CustomResponse<List<HotelSearchDTO>>> searchHotelsByLocation(
             @RequestParam(required = false) String city,
-            @RequestParam(required = false) String country) {
+            @RequestParam(required = false) String country,
+            @RequestParam(defaultValue = "200") int limit) {
 
-        List<HotelSearchDTO> hotels = hotelService.findHotelsByCityAndCountry(city, country);
+        List<HotelSearchDTO> hotels = hotelService.findHotelsByCityAndCountry(city, country, limit);
 
         if (hotels.isEmpty()) {
             return notFound(NO_HOTELS_FOUND_FOR_LOCATION);
@@ -166,20 +222,49 @@ public class HotelController {
     }
 
     // ---------------- Get Nearby Hotels ----------------
-    @Operation(summary = "Get hotels within 10 km", description = "Returns hotels within a 10 km radius of the current location")
+    @Operation(summary = "Get nearby hotels", description = "Returns hotels within the given radius (default 15 km) of the current location, nearest first")
     @GetMapping("/nearby")
-    public ResponseEntity<List<Hotel>> getHotelsNearby(@RequestParam double latitude,
-            @RequestParam double longitude) {
+    public ResponseEntity<List<HotelSearchDTO>> getHotelsNearby(@RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "15") double radiusKm,
+            @RequestParam(defaultValue = "50") int limit) {
         return ResponseEntity.ok(
-                hotelService.getNearbyHotels(latitude, longitude));
+                hotelService.getNearbyHotels(latitude, longitude, radiusKm, limit));
     }
 
     // ---------------- Get hotel counts by city/country ----------------
     @Operation(summary = "Get hotel counts by city and country", description = "Returns a list of city/country with number of hotels")
     @GetMapping("/destinations")
-    public ResponseEntity<CustomResponse<List<Map<String, Object>>>> getHotelDestinations() {
-        List<Map<String, Object>> destinations = hotelService.getHotelCountsByCityCountry();
-        return ok(DESTINATIONS_RETRIEVED_SUCCESSFULLY, destinations);
+    public ResponseEntity<CustomResponse<List<HotelDestinationDTO>>> getHotelDestinations(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DestinationSnapshotDTO snapshot = hotelService.getDestinationsSnapshot();
+        if (matchesIfNoneMatch(ifNoneMatch, snapshot.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.eTag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .cacheControl(CacheControl.noCache())
+                .body(new CustomResponse<>(DESTINATIONS_RETRIEVED_SUCCESSFULLY, snapshot.destinations()));
+    }
+
+    // ---------------- Get destination image ----------------
+    @Operation(summary = "Get destination image", description = "Streams the cached image of a destination city (thumbnail, card, full or original size) with a content-hash ETag; 404 for cities without hotels")
+    @GetMapping("/destinations/{city}/image")
+    public ResponseEntity<byte[]> getDestinationImage(
+            @PathVariable String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        ImageSize imageSize = ImageSize.fromParam(size);
+        Optional<String> storedHash = imageService.findCityImageHash(city, country);
+        return imageResponse(
+                ImageService.cityImageETag(storedHash, imageSize),
+                ifNoneMatch,
+                () -> imageService.getCityImage(city, storedHash, imageSize));
     }
 
     private HotelRequestDTO parseHotelRequest(String hotelDetailsJson) throws IOException {
@@ -193,6 +278,46 @@ public class HotelController {
         return image.getBytes();
     }
 
+    /**
+     * Answers 304 when the client already holds the current ETag; otherwise
+     * loads and streams the image. Immutable responses are cacheable for a
+     * year since their URLs carry the content hash.
+     */
+    private ResponseEntity<byte[]> imageResponse(String eTag, String ifNoneMatch, Supplier<ImageDTO> loader) {
+        String quotedETag = "\"" + eTag + "\"";
+        if (matchesIfNoneMatch(ifNoneMatch, quotedETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(quotedETag)
+                    .cacheControl(ImageService.PLACEHOLDER_ETAG.equals(eTag) ? CacheControl.noCache() : IMAGE_CACHE_CONTROL)
+                    .build();
+        }
+
+        ImageDTO image = loader.get();
+        return ResponseEntity.ok()
+                .eTag("\"" + image.eTag() + "\"")
+                .cacheControl(image.immutable() ? IMAGE_CACHE_CONTROL : CacheControl.noCache())
+                .contentType(MediaType.parseMediaType(image.contentType()))
+                .body(image.data());
+    }
+
+    /**
+     * Whether an If-None-Match value matches the given ETag: {@code *}, or any
+     * entry of its list compared weakly, so a {@code W/} tag added by a
+     * compressing proxy still counts
+     */
+    private static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(eTag);
+        for (ETag requested : ETag.parse(ifNoneMatch)) {
+            if (requested.isWildcard() || requested.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private ResponseEntity<CustomResponse<Map<String, Object>>> createdWithHotelId(String message, Long hotelId) {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new CustomResponse<>(message, buildHotelIdPayload(message, hotelId)));
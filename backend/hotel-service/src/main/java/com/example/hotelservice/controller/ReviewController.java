@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hotelservice.dto.custom.CustomResponse;
+import com.example.hotelservice.dto.review.RatingHistogramDTO;
 import com.example.hotelservice.dto.review.ReviewDTO;
 import com.example.hotelservice.entity.review.Review;
 import com.example.hotelservice.service.ReviewService;
@@ -120,4 +121,16 @@ public class ReviewController {
         return ResponseEntity.ok(
                 new CustomResponse<>("Reviews retrieved successfully", reviewDTOs));
     }
+
+    // ==================== RATING SUMMARY ====================
+
+    @Operation(summary = "Get rating summary and star histogram for a hotel")
+    @GetMapping("/hotel/{hotelId}/summary")
+    public ResponseEntity<CustomResponse<RatingHistogramDTO>> getRatingSummary(
+            @PathVariable Long hotelId) {
+
+        return ResponseEntity.ok(
+                new CustomResponse<>("Rating summary retrieved successfully",
+                        reviewService.getRatingHistogram(hotelId)));
+    }
 }
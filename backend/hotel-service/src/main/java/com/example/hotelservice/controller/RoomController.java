@@ -6,6 +6,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -44,4 +46,10 @@ public class RoomController {
         Room room = roomService.getRoomById(hotelId, roomId);
         return ResponseEntity.ok(room);
     }
+
+    /** Get all rooms of many hotels in one call */
+    @PostMapping("/hotels/batch")
+    public ResponseEntity<List<Room>> getRoomsByHotelIds(@RequestBody List<Long> hotelIds) {
+        return ResponseEntity.ok(roomService.getRoomsByHotelIds(hotelIds));
+    }
 }
@@ -0,0 +1,9 @@
+package com.example.hotelservice.dto.hotel;
+
+import java.util.List;
+
+/**
+ * Immutable view of the destinations list together with its content ETag.
+ */
+public record DestinationSnapshotDTO(List<HotelDestinationDTO> destinations, String eTag) {
+}
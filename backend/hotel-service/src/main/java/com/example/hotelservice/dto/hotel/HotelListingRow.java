@@ -0,0 +1,24 @@
+package com.example.hotelservice.dto.hotel;
+
+import java.time.LocalTime;
+
+/**
+ * Hotel columns needed by the listing, selected through a constructor
+ * expression so the image and description LOBs are never read.
+ */
+public record HotelListingRow(
+        Long id,
+        String name,
+        String address,
+        String city,
+        String country,
+        double latitude,
+        double longitude,
+        String imageHash,
+        String contact,
+        LocalTime checkIn,
+        LocalTime checkOut,
+        Double minPrice,
+        Double averageRating,
+        Long reviewCount) {
+}
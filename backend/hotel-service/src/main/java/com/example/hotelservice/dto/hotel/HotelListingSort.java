@@ -0,0 +1,27 @@
+package com.example.hotelservice.dto.hotel;
+
+import java.util.Locale;
+
+/**
+ * Orderings supported by the hotel listing. Every ordering ends with the
+ * hotel ID so the keyset cursor is unambiguous.
+ */
+public enum HotelListingSort {
+    /** Oldest first */
+    ID,
+    /** Cheapest room first */
+    PRICE,
+    /** Best rated first */
+    RATING;
+
+    public static HotelListingSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort: " + value);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hotelservice.dto.hotel;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of the hotel listing. {@code nextCursor} is null on the last page.
+ */
+public record HotelPageDTO(List<Map<String, Object>> items, String nextCursor) {
+}
@@ -3,6 +3,8 @@ package com.example.hotelservice.dto.hotel;
 import java.time.LocalTime;
 import java.util.List;
 
+import com.example.hotelservice.dto.review.RatingSummaryDTO;
+import com.example.hotelservice.dto.room.PriceRangeDTO;
 import com.example.hotelservice.entity.hotel.Hotel;
 import com.example.hotelservice.entity.room.Room;
 
@@ -15,7 +17,8 @@ public class HotelSearchDTO {
     private String country;
     private double latitude;
     private double longitude;
-    private byte[] image;
+    private String imageUrl;
+    private String imageHash;
     private String description;
     private String contact;
     private LocalTime checkIn;
@@ -23,10 +26,11 @@ public class HotelSearchDTO {
     private List<Room> rooms;
 
     private double averageRating;
+    private long reviewCount;
     private double minPrice;
     private double maxPrice;
 
-    public HotelSearchDTO(Hotel hotel, double averageRating, double minPrice, double maxPrice) {
+    public HotelSearchDTO(Hotel hotel, List<Room> rooms, RatingSummaryDTO rating, PriceRangeDTO priceRange) {
 
         // Copy ALL hotel fields
         this.id = hotel.getId();
@@ -36,17 +40,19 @@ public class HotelSearchDTO {
         this.country = hotel.getCountry();
         this.latitude = hotel.getLatitude();
         this.longitude = hotel.getLongitude();
-        this.image = hotel.getImage();
+        this.imageHash = hotel.getImageHash();
+        this.imageUrl = imageHash != null ? "/hotels/" + id + "/image?v=" + imageHash : null;
         this.description = hotel.getDescription();
         this.contact = hotel.getContact();
         this.checkIn = hotel.getCheckIn();
         this.checkOut = hotel.getCheckOut();
-        this.rooms = hotel.getRooms();
+        this.rooms = rooms;
 
         // Extra calculated fields
-        this.averageRating = averageRating;
-        this.minPrice = minPrice;
-        this.maxPrice = maxPrice;
+        this.averageRating = rating.averageRating();
+        this.reviewCount = rating.reviewCount();
+        this.minPrice = priceRange.minPrice();
+        this.maxPrice = priceRange.maxPrice();
     }
 
     public Long getId() {
@@ -105,12 +111,20 @@ public class HotelSearchDTO {
         this.longitude = longitude;
     }
 
-    public byte[] getImage() {
-        return image;
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
     public String getDescription() {
@@ -153,6 +167,14 @@ public class HotelSearchDTO {
         this.averageRating = averageRating;
     }
 
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
     public double getMinPrice() {
         return minPrice;
     }
@@ -0,0 +1,8 @@
+package com.example.hotelservice.dto.image;
+
+/**
+ * Image bytes ready to be served. {@code immutable} is false when a requested
+ * rendition is not ready yet and the original is served in its place.
+ */
+public record ImageDTO(byte[] data, String eTag, String contentType, boolean immutable) {
+}
@@ -0,0 +1,10 @@
+package com.example.hotelservice.dto.review;
+
+import java.util.Map;
+
+/**
+ * Rating summary for one hotel including how many reviews gave each star
+ * count, keyed 1 to 5.
+ */
+public record RatingHistogramDTO(Long hotelId, double averageRating, long reviewCount, Map<Integer, Long> histogram) {
+}
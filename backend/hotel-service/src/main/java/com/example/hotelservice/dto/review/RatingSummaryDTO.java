@@ -0,0 +1,9 @@
+package com.example.hotelservice.dto.review;
+
+/**
+ * Average rating and number of reviews for a hotel.
+ */
+public record RatingSummaryDTO(double averageRating, long reviewCount) {
+
+    public static final RatingSummaryDTO EMPTY = new RatingSummaryDTO(0, 0);
+}
@@ -0,0 +1,9 @@
+package com.example.hotelservice.dto.room;
+
+/**
+ * Cheapest and most expensive nightly price across a hotel's rooms.
+ */
+public record PriceRangeDTO(double minPrice, double maxPrice) {
+
+    public static final PriceRangeDTO EMPTY = new PriceRangeDTO(0, 0);
+}
@@ -29,6 +29,9 @@ public class CityImage {
     @Column(name = "image_data", columnDefinition = "LONGBLOB")
     private byte[] imageData;
 
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -84,4 +87,12 @@ public class CityImage {
         this.imageData = imageData;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
 }
\ No newline at end of file
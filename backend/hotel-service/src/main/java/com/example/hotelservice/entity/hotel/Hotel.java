@@ -3,18 +3,27 @@ package com.example.hotelservice.entity.hotel;
 import java.time.LocalTime;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.example.hotelservice.entity.room.Room;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_hotel_min_price", columnList = "min_price, id"),
+        @Index(name = "idx_hotel_average_rating", columnList = "average_rating DESC, id") })
 public class Hotel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,9 +40,13 @@ public class Hotel {
     private List<Room> rooms;
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "LONGBLOB")
     private byte[] image;
 
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
     @Lob
     @Column(columnDefinition = "TEXT")
     private String description;
@@ -42,6 +55,16 @@ public class Hotel {
     private LocalTime checkIn;
     private LocalTime checkOut;
 
+    // Cheapest nightly room price, stored so listings can sort and page by price
+    @Column(name = "min_price")
+    private Double minPrice;
+
+    // Copy of the rating summary's average, written only by HotelRatingSummaryRepository
+    // so listings can sort and page by rating through an index
+    @ColumnDefault("0")
+    @Column(name = "average_rating", nullable = false, insertable = false, updatable = false)
+    private double averageRating;
+
     // Getters & Setters
     public Long getId() {
         return id;
@@ -102,6 +125,14 @@ public class Hotel {
         this.image = image;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -149,4 +180,16 @@ public class Hotel {
     public void setCountry(String country) {
         this.country = country;
     }
-}
\ No newline at end of file
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.hotelservice.entity.rendition;
+
+public enum ImageOwnerType {
+    HOTEL,
+    CITY
+}
@@ -0,0 +1,45 @@
+package com.example.hotelservice.entity.rendition;
+
+import java.util.List;
+import java.util.Locale;
+
+public enum ImageSize {
+    THUMBNAIL(320, 0.70f),
+    CARD(800, 0.78f),
+    FULL(1920, 0.85f),
+    ORIGINAL(0, 1f);
+
+    public static final List<ImageSize> RENDITIONS = List.of(THUMBNAIL, CARD, FULL);
+
+    private final int maxWidth;
+    private final float jpegQuality;
+
+    ImageSize(int maxWidth, float jpegQuality) {
+        this.maxWidth = maxWidth;
+        this.jpegQuality = jpegQuality;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    public boolean isRendition() {
+        return this != ORIGINAL;
+    }
+
+    /** Parses the {@code ?size=} query value, e.g. "thumbnail" or "card" */
+    public static ImageSize fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ORIGINAL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported image size: " + value);
+        }
+    }
+}
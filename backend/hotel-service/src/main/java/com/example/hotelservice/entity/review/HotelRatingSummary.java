@@ -0,0 +1,123 @@
+package com.example.hotelservice.entity.review;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Running rating totals for one hotel, kept in step with its reviews so
+ * averages and the star histogram never need a scan of the review table.
+ */
+@Entity
+@Table(name = "hotel_rating_summaries")
+public class HotelRatingSummary {
+
+    @Id
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star_count", nullable = false)
+    private long oneStarCount;
+
+    @Column(name = "two_star_count", nullable = false)
+    private long twoStarCount;
+
+    @Column(name = "three_star_count", nullable = false)
+    private long threeStarCount;
+
+    @Column(name = "four_star_count", nullable = false)
+    private long fourStarCount;
+
+    @Column(name = "five_star_count", nullable = false)
+    private long fiveStarCount;
+
+    public HotelRatingSummary() {
+    }
+
+    public double getAverageRating() {
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : 0;
+    }
+
+    /** Number of reviews with exactly {@code stars} stars (1-5) */
+    public long getStarCount(int stars) {
+        return switch (stars) {
+            case 1 -> oneStarCount;
+            case 2 -> twoStarCount;
+            case 3 -> threeStarCount;
+            case 4 -> fourStarCount;
+            case 5 -> fiveStarCount;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5.");
+        };
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getOneStarCount() {
+        return oneStarCount;
+    }
+
+    public void setOneStarCount(long oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+
+    public long getTwoStarCount() {
+        return twoStarCount;
+    }
+
+    public void setTwoStarCount(long twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+
+    public long getThreeStarCount() {
+        return threeStarCount;
+    }
+
+    public void setThreeStarCount(long threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+
+    public long getFourStarCount() {
+        return fourStarCount;
+    }
+
+    public void setFourStarCount(long fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+
+    public long getFiveStarCount() {
+        return fiveStarCount;
+    }
+
+    public void setFiveStarCount(long fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.hotelservice.event;
+
+/**
+ * Published when a hotel is created, updated or deleted. The previous
+ * location is null for a new hotel and the current one is null after a
+ * delete.
+ */
+public record HotelChangedEvent(
+        Long hotelId,
+        String previousCity,
+        String previousCountry,
+        String city,
+        String country) {
+}
@@ -0,0 +1,10 @@
+package com.example.hotelservice.event;
+
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+
+/**
+ * Published when a hotel or city image is stored, so renditions can be
+ * derived from it once the surrounding transaction commits.
+ */
+public record ImageUploadedEvent(ImageOwnerType ownerType, Long ownerId, byte[] data, String hash) {
+}
@@ -0,0 +1,155 @@
+package com.example.hotelservice.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory uniform grid over latitude/longitude used to answer radius queries
+ * without scanning every hotel. Only hotels in the cells overlapping the
+ * search circle get the exact haversine check.
+ */
+@Component
+public class HotelGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371;
+    private static final double KM_PER_DEGREE_LAT = 111.2;
+    private static final double CELL_SIZE_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_SIZE_DEGREES);
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_SIZE_DEGREES);
+
+    private volatile Map<Long, GeoPoint> positions = new ConcurrentHashMap<>();
+    private volatile Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    /** Adds a hotel or moves it to its new position */
+    public synchronized void put(Long hotelId, double latitude, double longitude) {
+        remove(hotelId);
+        GeoPoint point = new GeoPoint(latitude, longitude);
+        positions.put(hotelId, point);
+        cells.computeIfAbsent(cellKey(latCell(latitude), lonCell(longitude)), key -> ConcurrentHashMap.newKeySet())
+                .add(hotelId);
+    }
+
+    public synchronized void remove(Long hotelId) {
+        GeoPoint previous = positions.remove(hotelId);
+        if (previous == null) {
+            return;
+        }
+        long key = cellKey(latCell(previous.latitude()), lonCell(previous.longitude()));
+        Set<Long> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(hotelId);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        positions.clear();
+        cells.clear();
+    }
+
+    /**
+     * Replaces the whole index with the given hotels. The new grid is built
+     * aside and swapped in, so searches never see a half-filled index.
+     */
+    public void replaceAll(Collection<Entry> entries) {
+        HotelGeoIndex fresh = new HotelGeoIndex();
+        entries.forEach(entry -> fresh.put(entry.hotelId(), entry.latitude(), entry.longitude()));
+        synchronized (this) {
+            positions = fresh.positions;
+            cells = fresh.cells;
+        }
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Returns the IDs of hotels within {@code radiusKm} of the given point,
+     * nearest first, capped at {@code limit}.
+     */
+    public List<Long> findWithin(double latitude, double longitude, double radiusKm, int limit) {
+        double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+        int minLatCell = latCell(Math.max(-90, latitude - latSpan));
+        int maxLatCell = latCell(Math.min(90, latitude + latSpan));
+
+        double maxAbsLat = Math.min(90, Math.abs(latitude) + latSpan);
+        double cosLat = Math.cos(Math.toRadians(maxAbsLat));
+        boolean allLongitudes = cosLat <= 0 || radiusKm / (KM_PER_DEGREE_LAT * cosLat) >= 180;
+        double lonSpan = allLongitudes ? 180 : radiusKm / (KM_PER_DEGREE_LAT * cosLat);
+        int lonCellSpan = allLongitudes ? LON_CELLS : (int) Math.ceil(lonSpan / CELL_SIZE_DEGREES) * 2 + 1;
+        int firstLonCell = allLongitudes ? 0 : lonCell(longitude - lonSpan);
+
+        Map<Long, GeoPoint> positions = this.positions;
+        Map<Long, Set<Long>> cells = this.cells;
+        List<Neighbour> matches = new ArrayList<>();
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int offset = 0; offset < Math.min(lonCellSpan, LON_CELLS); offset++) {
+                Set<Long> cell = cells.get(cellKey(latCell, Math.floorMod(firstLonCell + offset, LON_CELLS)));
+                if (cell == null) {
+                    continue;
+                }
+                for (Long hotelId : cell) {
+                    GeoPoint point = positions.get(hotelId);
+                    if (point == null) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                    if (distance <= radiusKm) {
+                        matches.add(new Neighbour(hotelId, distance));
+                    }
+                }
+            }
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(Neighbour::distanceKm))
+                .limit(limit)
+                .map(Neighbour::hotelId)
+                .toList();
+    }
+
+    /** Haversine distance between two points in kilometres */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_SIZE_DEGREES));
+    }
+
+    private static int lonCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_SIZE_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+
+    /** One hotel's position, as loaded from the database */
+    public record Entry(Long hotelId, double latitude, double longitude) {
+    }
+
+    private record GeoPoint(double latitude, double longitude) {
+    }
+
+    private record Neighbour(Long hotelId, double distanceKm) {
+    }
+}
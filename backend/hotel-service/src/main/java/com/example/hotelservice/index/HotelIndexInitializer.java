@@ -0,0 +1,100 @@
+package com.example.hotelservice.index;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.hotelservice.event.HotelChangedEvent;
+import com.example.hotelservice.repository.HotelRepository;
+
+/**
+ * Fills the in-memory hotel indexes from the database once the application
+ * has started and again on a fixed delay, which brings in changes made
+ * through other instances. Changes made here are applied once their
+ * transaction has committed, from a fresh read of the hotel, so a rolled
+ * back change never reaches the indexes.
+ */
+@Component
+public class HotelIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotelIndexInitializer.class);
+
+    private final HotelRepository hotelRepository;
+    private final HotelGeoIndex geoIndex;
+    private final HotelSearchIndex searchIndex;
+
+    // Hotels changed while a rebuild was reading; re-read once it has swapped in
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public HotelIndexInitializer(HotelRepository hotelRepository, HotelGeoIndex geoIndex,
+            HotelSearchIndex searchIndex) {
+        this.hotelRepository = hotelRepository;
+        this.geoIndex = geoIndex;
+        this.searchIndex = searchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        logger.info("Hotel geo index loaded with {} hotels", geoIndex.size());
+        logger.info("Hotel search index loaded with {} hotels", searchIndex.size());
+    }
+
+    @Scheduled(initialDelayString = "${hotel.index.rebuild-interval:PT5M}",
+            fixedDelayString = "${hotel.index.rebuild-interval:PT5M}")
+    public synchronized void rebuild() {
+        rebuilding = true;
+        try {
+            geoIndex.replaceAll(hotelRepository.findAllCoordinates().stream()
+                    .map(row -> new HotelGeoIndex.Entry((Long) row[0], (Double) row[1], (Double) row[2]))
+                    .toList());
+
+            searchIndex.replaceAll(hotelRepository.findAllSearchableText().stream()
+                    .map(row -> new HotelSearchIndex.Entry((Long) row[0], (String) row[1], (String) row[2],
+                            (String) row[3], (String) row[4]))
+                    .toList());
+        } finally {
+            rebuilding = false;
+        }
+        for (Long hotelId : List.copyOf(changedDuringRebuild)) {
+            changedDuringRebuild.remove(hotelId);
+            reindex(hotelId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.add(event.hotelId());
+        }
+        reindex(event.hotelId());
+    }
+
+    private void reindex(Long hotelId) {
+        List<Object[]> coordinates = hotelRepository.findCoordinatesById(hotelId);
+        if (coordinates.isEmpty()) {
+            geoIndex.remove(hotelId);
+        } else {
+            Object[] row = coordinates.get(0);
+            geoIndex.put(hotelId, (Double) row[1], (Double) row[2]);
+        }
+
+        List<Object[]> text = hotelRepository.findSearchableTextById(hotelId);
+        if (text.isEmpty()) {
+            searchIndex.remove(hotelId);
+        } else {
+            Object[] row = text.get(0);
+            searchIndex.put(hotelId, (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.hotelservice.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory trigram index over hotel name, city, country and address.
+ * Substring queries intersect the posting lists of the query's trigrams and
+ * then confirm the match on the stored text, so a search never scans every
+ * hotel the way {@code LIKE '%x%'} does. Text is compared case- and
+ * accent-insensitively, like the MySQL collation it replaces.
+ */
+@Component
+public class HotelSearchIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int GRAM = 3;
+
+    // Field weights for ranking free-text matches
+    private static final int NAME_WEIGHT = 8;
+    private static final int CITY_WEIGHT = 4;
+    private static final int COUNTRY_WEIGHT = 2;
+    private static final int ADDRESS_WEIGHT = 1;
+
+    private enum Field {
+        NAME, CITY, COUNTRY, ADDRESS
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; replaced wholesale by replaceAll
+    private Map<Long, Integer> docIdsByHotel = new HashMap<>();
+    private List<Document> documents = new ArrayList<>();
+    private List<Integer> freeDocIds = new ArrayList<>();
+    private List<Map<Long, PostingList>> postings = new ArrayList<>();
+
+    public HotelSearchIndex() {
+        for (int i = 0; i < Field.values().length; i++) {
+            postings.add(new HashMap<>());
+        }
+    }
+
+    /** Adds a hotel or replaces its indexed text */
+    public void put(Long hotelId, String name, String city, String country, String address) {
+        Document document = new Document(hotelId,
+                normalize(name), normalize(city), normalize(country), normalize(address));
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByHotel.get(hotelId);
+            if (docId != null) {
+                unindex(docId, documents.get(docId));
+            } else {
+                docId = allocateDocId();
+                docIdsByHotel.put(hotelId, docId);
+            }
+            documents.set(docId, document);
+            index(docId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByHotel.remove(hotelId);
+            if (docId == null) {
+                return;
+            }
+            unindex(docId, documents.get(docId));
+            documents.set(docId, null);
+            freeDocIds.add(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given hotels. The new postings are
+     * built aside and swapped in, so searches block only for the swap.
+     */
+    public void replaceAll(Collection<Entry> entries) {
+        HotelSearchIndex fresh = new HotelSearchIndex();
+        entries.forEach(entry -> fresh.put(entry.hotelId(), entry.name(), entry.city(), entry.country(),
+                entry.address()));
+        lock.writeLock().lock();
+        try {
+            docIdsByHotel = fresh.docIdsByHotel;
+            documents = fresh.documents;
+            freeDocIds = fresh.freeDocIds;
+            postings = fresh.postings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docIdsByHotel.clear();
+            documents.clear();
+            freeDocIds.clear();
+            postings.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByHotel.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Free-text search over all fields. Hotels whose name matches rank above
+     * city, country and address matches; within a field an exact match beats
+     * a prefix, a word prefix and then a plain substring.
+     */
+    public List<Long> search(String query, int limit) {
+        String term = normalize(query);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = new HashMap<>();
+            for (Field field : Field.values()) {
+                int weight = weight(field);
+                forEachMatch(field, term, (docId, text) ->
+                        scores.merge(docId, weight * matchQuality(text, term), Integer::sum));
+            }
+            return rank(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hotels whose city and country contain the given terms; a blank term
+     * matches everything. Exact and prefix city matches come first.
+     */
+    public List<Long> searchLocation(String city, String country, int limit) {
+        String cityTerm = normalize(city);
+        String countryTerm = normalize(country);
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = new HashMap<>();
+            if (!cityTerm.isEmpty()) {
+                forEachMatch(Field.CITY, cityTerm, (docId, text) -> {
+                    Document document = documents.get(docId);
+                    if (document.country().contains(countryTerm)) {
+                        scores.put(docId, CITY_WEIGHT * matchQuality(text, cityTerm)
+                                + COUNTRY_WEIGHT * matchQuality(document.country(), countryTerm));
+                    }
+                });
+            } else {
+                forEachMatch(Field.COUNTRY, countryTerm, (docId, text) ->
+                        scores.put(docId, COUNTRY_WEIGHT * matchQuality(text, countryTerm)));
+            }
+            return rank(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------- Matching ----------------
+
+    @FunctionalInterface
+    private interface MatchConsumer {
+        void accept(int docId, String text);
+    }
+
+    /** Calls back for every live document whose field contains {@code term} */
+    private void forEachMatch(Field field, String term, MatchConsumer consumer) {
+        if (term.length() < GRAM) {
+            // Too short for trigrams; the stored text is still cheaper to scan than the table
+            for (int docId = 0; docId < documents.size(); docId++) {
+                Document document = documents.get(docId);
+                if (document != null && document.field(field).contains(term)) {
+                    consumer.accept(docId, document.field(field));
+                }
+            }
+            return;
+        }
+
+        Map<Long, PostingList> fieldPostings = postings.get(field.ordinal());
+        List<PostingList> lists = new ArrayList<>();
+        for (long gram : grams(term)) {
+            PostingList list = fieldPostings.get(gram);
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList smallest = lists.get(0);
+        for (int i = 0; i < smallest.size(); i++) {
+            int docId = smallest.get(i);
+            if (containsInAll(lists, docId)) {
+                String text = documents.get(docId).field(field);
+                // Trigrams can all be present without the term itself being contiguous
+                if (text.contains(term)) {
+                    consumer.accept(docId, text);
+                }
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, int docId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int matchQuality(String text, String term) {
+        if (term.isEmpty()) {
+            return 0;
+        }
+        if (text.equals(term)) {
+            return 4;
+        }
+        if (text.startsWith(term)) {
+            return 3;
+        }
+        if (text.contains(" " + term)) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /** Best {@code limit} matches by score, then shorter name, then hotel ID */
+    private List<Long> rank(Map<Integer, Integer> scores, int limit) {
+        Comparator<Map.Entry<Integer, Integer>> order = Map.Entry.<Integer, Integer>comparingByValue()
+                .reversed()
+                .thenComparingInt(entry -> documents.get(entry.getKey()).name().length())
+                .thenComparing(entry -> documents.get(entry.getKey()).hotelId());
+
+        // Keep only the top entries in a heap whose head is the worst of them
+        PriorityQueue<Map.Entry<Integer, Integer>> top = new PriorityQueue<>(order.reversed());
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            if (top.size() < limit) {
+                top.add(entry);
+            } else if (order.compare(entry, top.peek()) < 0) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(top);
+        ranked.sort(order);
+        return ranked.stream()
+                .map(entry -> documents.get(entry.getKey()).hotelId())
+                .toList();
+    }
+
+    private static int weight(Field field) {
+        return switch (field) {
+            case NAME -> NAME_WEIGHT;
+            case CITY -> CITY_WEIGHT;
+            case COUNTRY -> COUNTRY_WEIGHT;
+            case ADDRESS -> ADDRESS_WEIGHT;
+        };
+    }
+
+    // ---------------- Index maintenance ----------------
+
+    private int allocateDocId() {
+        if (!freeDocIds.isEmpty()) {
+            return freeDocIds.remove(freeDocIds.size() - 1);
+        }
+        documents.add(null);
+        return documents.size() - 1;
+    }
+
+    private void index(int docId, Document document) {
+        for (Field field : Field.values()) {
+            Map<Long, PostingList> fieldPostings = postings.get(field.ordinal());
+            for (long gram : grams(document.field(field))) {
+                fieldPostings.computeIfAbsent(gram, key -> new PostingList()).add(docId);
+            }
+        }
+    }
+
+    private void unindex(int docId, Document document) {
+        for (Field field : Field.values()) {
+            Map<Long, PostingList> fieldPostings = postings.get(field.ordinal());
+            for (long gram : grams(document.field(field))) {
+                PostingList list = fieldPostings.get(gram);
+                if (list != null && list.remove(docId) && list.size() == 0) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /** Distinct trigrams of the text, each packed into a long as three UTF-16 chars */
+    private static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == grams.length ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        if (Normalizer.isNormalized(trimmed, Normalizer.Form.NFD)
+                && !COMBINING_MARKS.matcher(trimmed).find()) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(trimmed, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /** One hotel's searchable text, as loaded from the database */
+    public record Entry(Long hotelId, String name, String city, String country, String address) {
+    }
+
+    private record Document(Long hotelId, String name, String city, String country, String address) {
+
+        String field(Field field) {
+            return switch (field) {
+                case NAME -> name;
+                case CITY -> city;
+                case COUNTRY -> country;
+                case ADDRESS -> address;
+            };
+        }
+    }
+
+    /** Sorted, growable list of doc IDs */
+    private static final class PostingList {
+        private int[] docIds = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return docIds[index];
+        }
+
+        boolean contains(int docId) {
+            return Arrays.binarySearch(docIds, 0, size, docId) >= 0;
+        }
+
+        void add(int docId) {
+            // Bulk loads append in doc ID order, so check the tail before searching
+            int position = size == 0 || docIds[size - 1] < docId ? size
+                    : Arrays.binarySearch(docIds, 0, size, docId);
+            if (position >= 0 && position < size) {
+                return;
+            }
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            System.arraycopy(docIds, insertAt, docIds, insertAt + 1, size - insertAt);
+            docIds[insertAt] = docId;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -1,11 +1,34 @@
 package com.example.hotelservice.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.hotelservice.entity.cityimage.CityImage;
 
 public interface CityImageRepository extends JpaRepository<CityImage, Long> {
     Optional<CityImage> findByCity(String city);
+
+    @Query("SELECT c.id FROM CityImage c WHERE c.city = :city")
+    Optional<Long> findIdByCity(@Param("city") String city);
+
+    @Query("SELECT c.imageHash FROM CityImage c WHERE c.city = :city")
+    Optional<String> findImageHashByCity(@Param("city") String city);
+
+    @Query("SELECT c.city, c.imageHash FROM CityImage c")
+    List<Object[]> findAllCityImageHashes();
+
+    @Query("SELECT c.imageData FROM CityImage c WHERE c.id = :id")
+    Optional<byte[]> findImageDataById(@Param("id") Long id);
+
+    @Query("SELECT c.id FROM CityImage c WHERE c.imageHash IS NULL AND c.imageData IS NOT NULL")
+    List<Long> findIdsWithUnhashedImage();
+
+    @Modifying
+    @Query("UPDATE CityImage c SET c.imageHash = :imageHash WHERE c.id = :id")
+    void updateImageHash(@Param("id") Long id, @Param("imageHash") String imageHash);
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.hotelservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.hotelservice.entity.review.HotelRatingSummary;
+
+@Repository
+public interface HotelRatingSummaryRepository extends JpaRepository<HotelRatingSummary, Long> {
+
+    List<HotelRatingSummary> findByHotelIdIn(Collection<Long> hotelIds);
+
+    // Adds the deltas in a single upsert, so concurrent review writes never lose an update
+    @Modifying
+    @Query(value = """
+            INSERT INTO hotel_rating_summaries (hotel_id, review_count, rating_sum,
+                one_star_count, two_star_count, three_star_count, four_star_count, five_star_count)
+            VALUES (:hotelId, :countDelta, :sumDelta, :oneStar, :twoStar, :threeStar, :fourStar, :fiveStar)
+            ON DUPLICATE KEY UPDATE
+                review_count = review_count + :countDelta,
+                rating_sum = rating_sum + :sumDelta,
+                one_star_count = one_star_count + :oneStar,
+                two_star_count = two_star_count + :twoStar,
+                three_star_count = three_star_count + :threeStar,
+                four_star_count = four_star_count + :fourStar,
+                five_star_count = five_star_count + :fiveStar
+            """, nativeQuery = true)
+    void applyDelta(@Param("hotelId") Long hotelId,
+            @Param("countDelta") long countDelta,
+            @Param("sumDelta") long sumDelta,
+            @Param("oneStar") long oneStar,
+            @Param("twoStar") long twoStar,
+            @Param("threeStar") long threeStar,
+            @Param("fourStar") long fourStar,
+            @Param("fiveStar") long fiveStar);
+
+    // Builds summaries for hotels whose reviews predate this table
+    @Modifying
+    @Query(value = """
+            INSERT INTO hotel_rating_summaries (hotel_id, review_count, rating_sum,
+                one_star_count, two_star_count, three_star_count, four_star_count, five_star_count)
+            SELECT r.hotel_id, COUNT(*), SUM(r.rating),
+                SUM(r.rating = 1), SUM(r.rating = 2), SUM(r.rating = 3), SUM(r.rating = 4), SUM(r.rating = 5)
+            FROM review r
+            WHERE r.hotel_id IS NOT NULL
+              AND r.hotel_id NOT IN (SELECT s.hotel_id FROM hotel_rating_summaries s)
+            GROUP BY r.hotel_id
+            """, nativeQuery = true)
+    int backfillMissing();
+
+    // Copies the summary's average into hotel.average_rating, which rating listings sort on
+    @Modifying
+    @Query(value = """
+            UPDATE hotel h
+            LEFT JOIN hotel_rating_summaries s ON s.hotel_id = h.id
+            SET h.average_rating = COALESCE(CAST(s.rating_sum AS DOUBLE) / NULLIF(s.review_count, 0), 0)
+            WHERE h.id = :hotelId
+            """, nativeQuery = true)
+    void syncHotelRating(@Param("hotelId") Long hotelId);
+
+    // Same for every hotel whose copy differs, e.g. hotels rated before the column existed
+    @Modifying
+    @Query(value = """
+            UPDATE hotel h
+            LEFT JOIN hotel_rating_summaries s ON s.hotel_id = h.id
+            SET h.average_rating = COALESCE(CAST(s.rating_sum AS DOUBLE) / NULLIF(s.review_count, 0), 0)
+            WHERE h.average_rating <> COALESCE(CAST(s.rating_sum AS DOUBLE) / NULLIF(s.review_count, 0), 0)
+            """, nativeQuery = true)
+    int syncAllHotelRatings();
+
+    @Modifying
+    @Query("DELETE FROM HotelRatingSummary s WHERE s.hotelId = :hotelId")
+    void deleteByHotelId(@Param("hotelId") Long hotelId);
+}
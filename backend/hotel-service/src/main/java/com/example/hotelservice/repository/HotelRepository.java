@@ -1,21 +1,80 @@
 package com.example.hotelservice.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.hotelservice.dto.hotel.HotelListingRow;
 import com.example.hotelservice.entity.hotel.Hotel;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
 
-    List<Hotel> findByNameContaining(String name);
-
-    List<Hotel> findByCityIgnoreCaseContainingAndCountryIgnoreCaseContaining(String city, String country);
-
     @Query("SELECT h.city, h.country, COUNT(h) FROM Hotel h GROUP BY h.city, h.country ORDER BY COUNT(h) DESC")
     List<Object[]> countHotelsByCityAndCountry();
 
-}
\ No newline at end of file
+    @Query("SELECT COUNT(h) FROM Hotel h WHERE h.city = :city "
+            + "AND (h.country = :country OR (:country IS NULL AND h.country IS NULL))")
+    long countByCityAndCountry(@Param("city") String city, @Param("country") String country);
+
+    @Query("SELECT h.id, h.latitude, h.longitude FROM Hotel h")
+    List<Object[]> findAllCoordinates();
+
+    @Query("SELECT h.id, h.latitude, h.longitude FROM Hotel h WHERE h.id = :id")
+    List<Object[]> findCoordinatesById(@Param("id") Long id);
+
+    @Query("SELECT h.id, h.name, h.city, h.country, h.address FROM Hotel h")
+    List<Object[]> findAllSearchableText();
+
+    @Query("SELECT h.id, h.name, h.city, h.country, h.address FROM Hotel h WHERE h.id = :id")
+    List<Object[]> findSearchableTextById(@Param("id") Long id);
+
+    @Query("SELECT h.imageHash FROM Hotel h WHERE h.id = :id")
+    Optional<String> findImageHashById(@Param("id") Long id);
+
+    @Query("SELECT h.image FROM Hotel h WHERE h.id = :id")
+    Optional<byte[]> findImageById(@Param("id") Long id);
+
+    @Query("SELECT h.id FROM Hotel h WHERE h.imageHash IS NULL AND h.image IS NOT NULL")
+    List<Long> findIdsWithUnhashedImage();
+
+    @Modifying
+    @Query("UPDATE Hotel h SET h.imageHash = :imageHash WHERE h.id = :id")
+    void updateImageHash(@Param("id") Long id, @Param("imageHash") String imageHash);
+
+    // ---------------- Keyset listing ----------------
+
+    String LISTING_SELECT = "SELECT new com.example.hotelservice.dto.hotel.HotelListingRow("
+            + "h.id, h.name, h.address, h.city, h.country, h.latitude, h.longitude, h.imageHash, "
+            + "h.contact, h.checkIn, h.checkOut, h.minPrice, h.averageRating, s.reviewCount) "
+            + "FROM Hotel h LEFT JOIN HotelRatingSummary s ON s.hotelId = h.id ";
+
+    @Query(LISTING_SELECT + "WHERE h.id > :afterId ORDER BY h.id")
+    List<HotelListingRow> findListingPageById(@Param("afterId") long afterId, Limit limit);
+
+    @Query(LISTING_SELECT
+            + "WHERE h.minPrice > :afterPrice OR (h.minPrice = :afterPrice AND h.id > :afterId) "
+            + "ORDER BY h.minPrice, h.id")
+    List<HotelListingRow> findListingPageByPrice(
+            @Param("afterPrice") double afterPrice, @Param("afterId") long afterId, Limit limit);
+
+    // Served by idx_hotel_average_rating (average_rating DESC, id)
+    @Query(LISTING_SELECT
+            + "WHERE h.averageRating < :afterRating OR (h.averageRating = :afterRating AND h.id > :afterId) "
+            + "ORDER BY h.averageRating DESC, h.id")
+    List<HotelListingRow> findListingPageByRating(
+            @Param("afterRating") double afterRating, @Param("afterId") long afterId, Limit limit);
+
+    // Hotels saved before min_price existed get it from their rooms
+    @Modifying
+    @Query("UPDATE Hotel h SET h.minPrice = COALESCE("
+            + "(SELECT MIN(r.pricePerNight) FROM Room r WHERE r.id.hotelId = h.id), 0) "
+            + "WHERE h.minPrice IS NULL")
+    int backfillMinPrices();
+}
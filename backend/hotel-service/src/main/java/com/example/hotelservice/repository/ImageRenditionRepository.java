@@ -0,0 +1,26 @@
+package com.example.hotelservice.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+import com.example.hotelservice.entity.rendition.ImageRendition;
+import com.example.hotelservice.entity.rendition.ImageSize;
+
+@Repository
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+
+    Optional<ImageRendition> findByOwnerTypeAndOwnerIdAndSize(ImageOwnerType ownerType, Long ownerId, ImageSize size);
+
+    Optional<ImageRendition> findByOwnerTypeAndOwnerIdAndSizeAndSourceHash(
+            ImageOwnerType ownerType, Long ownerId, ImageSize size, String sourceHash);
+
+    @Modifying
+    @Query("DELETE FROM ImageRendition r WHERE r.ownerType = :ownerType AND r.ownerId = :ownerId")
+    void deleteByOwner(@Param("ownerType") ImageOwnerType ownerType, @Param("ownerId") Long ownerId);
+}
@@ -1,5 +1,6 @@
 package com.example.hotelservice.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,4 +20,17 @@ public interface RoomRepository extends JpaRepository<Room, RoomId> {
     @Query("SELECT r FROM Room r WHERE r.id.hotelId = :hotelId")
     List<Room> findByHotelId(@Param("hotelId") Long hotelId);
 
+    /**
+     * Get all rooms of the given hotels
+     */
+    @Query("SELECT r FROM Room r WHERE r.id.hotelId IN :hotelIds")
+    List<Room> findByHotelIdIn(@Param("hotelIds") Collection<Long> hotelIds);
+
+    /**
+     * Min and max nightly price per hotel as [hotelId, minPrice, maxPrice] rows
+     */
+    @Query("SELECT r.id.hotelId, MIN(r.pricePerNight), MAX(r.pricePerNight) FROM Room r "
+            + "WHERE r.id.hotelId IN :hotelIds GROUP BY r.id.hotelId")
+    List<Object[]> findPriceRangeByHotelIds(@Param("hotelIds") Collection<Long> hotelIds);
+
 }
\ No newline at end of file
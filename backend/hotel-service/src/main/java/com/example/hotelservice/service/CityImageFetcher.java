@@ -0,0 +1,161 @@
+package com.example.hotelservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.example.hotelservice.client.PixabayClient;
+import com.example.hotelservice.entity.cityimage.CityImage;
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+import com.example.hotelservice.event.ImageUploadedEvent;
+import com.example.hotelservice.repository.CityImageRepository;
+import com.example.hotelservice.util.ImageUtils;
+
+/**
+ * Fetches missing city images in the background. Concurrent requests for the
+ * same city share one fetch, fetches run on a small bounded pool, and cities
+ * the provider has no photo for are not retried until the negative TTL ends.
+ * Misses are kept for at most {@value #MAX_MISSES} cities, least recently
+ * missed first out.
+ */
+@Service
+public class CityImageFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CityImageFetcher.class);
+    private static final int MAX_MISSES = 1000;
+
+    private final PixabayClient pixabayClient;
+    private final CityImageRepository cityImageRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor executor;
+    private final Duration negativeTtl;
+
+    private final Map<String, CompletableFuture<Optional<String>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Instant> misses = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+            return size() > MAX_MISSES;
+        }
+    };
+
+    public CityImageFetcher(PixabayClient pixabayClient,
+            CityImageRepository cityImageRepo,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("cityImageFetchExecutor") Executor executor,
+            @Value("${city-image.negative-ttl:PT10M}") Duration negativeTtl) {
+        this.pixabayClient = pixabayClient;
+        this.cityImageRepo = cityImageRepo;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.negativeTtl = negativeTtl;
+    }
+
+    /**
+     * Starts fetching the image for a city unless a fetch is already running
+     * or the city recently came back empty. The future completes with the
+     * stored image hash, or empty when no image could be stored.
+     */
+    public CompletableFuture<Optional<String>> fetch(String city, String country) {
+        String key = normalize(city);
+        if (key.isEmpty() || isRecentMiss(key)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        CompletableFuture<Optional<String>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<String>> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> complete(key, created, city, country));
+        } catch (RejectedExecutionException e) {
+            // Pool is saturated: leave the city to a later request instead of blocking this one
+            logger.warn("City image fetch queue is full, skipping {}", city);
+            inFlight.remove(key, created);
+            created.complete(Optional.empty());
+        }
+        return created;
+    }
+
+    private void complete(String key, CompletableFuture<Optional<String>> future, String city, String country) {
+        Optional<String> result;
+        try {
+            result = fetchAndStore(city, country);
+        } catch (RuntimeException e) {
+            logger.warn("City image fetch failed for {}: {}", key, e.getMessage());
+            result = Optional.empty();
+        }
+        if (result.isEmpty()) {
+            synchronized (misses) {
+                misses.put(key, Instant.now().plus(negativeTtl));
+            }
+        }
+        inFlight.remove(key, future);
+        future.complete(result);
+    }
+
+    private Optional<String> fetchAndStore(String city, String country) {
+        // Another instance may have stored it while this fetch was queued
+        Optional<String> stored = cityImageRepo.findImageHashByCity(city);
+        if (stored.isPresent()) {
+            return stored;
+        }
+
+        Optional<byte[]> data = pixabayClient.fetchCityImage(city, country);
+        if (data.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(save(city, country, data.get()));
+    }
+
+    private String save(String city, String country, byte[] data) {
+        CityImage entry = new CityImage();
+        entry.setCity(city);
+        entry.setCountry(country);
+        entry.setImageData(data);
+        entry.setImageHash(ImageUtils.hash(data));
+        try {
+            CityImage saved = cityImageRepo.save(entry);
+            eventPublisher.publishEvent(new ImageUploadedEvent(
+                    ImageOwnerType.CITY, saved.getId(), data, saved.getImageHash()));
+            return saved.getImageHash();
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race on the unique city column, keep the winner's image
+            return cityImageRepo.findImageHashByCity(city).orElse(entry.getImageHash());
+        }
+    }
+
+    private boolean isRecentMiss(String key) {
+        synchronized (misses) {
+            Instant until = misses.get(key);
+            if (until == null) {
+                return false;
+            }
+            if (Instant.now().isBefore(until)) {
+                return true;
+            }
+            misses.remove(key);
+            return false;
+        }
+    }
+
+    private static String normalize(String city) {
+        return city == null ? "" : city.trim().toLowerCase(Locale.ROOT);
+    }
+}
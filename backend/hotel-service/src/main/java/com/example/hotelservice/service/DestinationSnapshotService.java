@@ -0,0 +1,224 @@
+package com.example.hotelservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.util.UriUtils;
+
+import com.example.hotelservice.dto.hotel.DestinationSnapshotDTO;
+import com.example.hotelservice.dto.hotel.HotelDestinationDTO;
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+import com.example.hotelservice.entity.rendition.ImageSize;
+import com.example.hotelservice.event.HotelChangedEvent;
+import com.example.hotelservice.event.ImageUploadedEvent;
+import com.example.hotelservice.repository.CityImageRepository;
+import com.example.hotelservice.repository.HotelRepository;
+
+/**
+ * Keeps the homepage destinations list in memory. Hotel counts are loaded
+ * with a GROUP BY and adjusted on every local hotel change in between; the
+ * full reload on a fixed delay brings in changes made through other
+ * instances and corrects any drift. City images are referenced by URL, so
+ * serving the list costs no queries.
+ */
+@Service
+public class DestinationSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DestinationSnapshotService.class);
+    private static final String DESTINATION_IMAGE_PATH = "/hotels/destinations/%s/image";
+
+    private final HotelRepository hotelRepository;
+    private final CityImageRepository cityImageRepository;
+
+    private volatile Map<String, Destination> destinations = new ConcurrentHashMap<>();
+    private volatile Map<String, String> cityImageHashes = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // Destinations changed while a reload was reading; recounted once it has swapped in
+    private final Set<Place> changedDuringReload = ConcurrentHashMap.newKeySet();
+    private volatile boolean reloading;
+    private volatile DestinationSnapshotDTO snapshot = new DestinationSnapshotDTO(List.of(), "\"empty\"");
+
+    public DestinationSnapshotService(HotelRepository hotelRepository, CityImageRepository cityImageRepository) {
+        this.hotelRepository = hotelRepository;
+        this.cityImageRepository = cityImageRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+        logger.info("Destinations snapshot loaded with {} destinations", destinations.size());
+    }
+
+    @Scheduled(initialDelayString = "${hotel.destinations.reload-interval:PT5M}",
+            fixedDelayString = "${hotel.destinations.reload-interval:PT5M}")
+    public synchronized void reload() {
+        reloading = true;
+        try {
+            Map<String, Destination> loaded = new ConcurrentHashMap<>();
+            for (Object[] row : hotelRepository.countHotelsByCityAndCountry()) {
+                adjust(loaded, (String) row[0], (String) row[1], (Long) row[2]);
+            }
+            destinations = loaded;
+        } finally {
+            reloading = false;
+        }
+        for (Place place : List.copyOf(changedDuringReload)) {
+            changedDuringReload.remove(place);
+            recount(place);
+        }
+        reloadCityImageHashes();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (reloading) {
+            changedDuringReload.add(new Place(event.previousCity(), event.previousCountry()));
+            changedDuringReload.add(new Place(event.city(), event.country()));
+        }
+        if (event.previousCity() != null || event.previousCountry() != null) {
+            adjust(destinations, event.previousCity(), event.previousCountry(), -1);
+        }
+        if (event.city() != null || event.country() != null) {
+            adjust(destinations, event.city(), event.country(), 1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImageUploaded(ImageUploadedEvent event) {
+        if (event.ownerType() == ImageOwnerType.CITY) {
+            reloadCityImageHashes();
+        }
+    }
+
+    /** Whether the city has hotels, matched the way MySQL groups city names */
+    public boolean isDestination(String city) {
+        String key = normalize(city);
+        if (key.isEmpty()) {
+            return false;
+        }
+        return destinations.values().stream().anyMatch(destination -> normalize(destination.city()).equals(key));
+    }
+
+    /** Current snapshot, rebuilt from the in-memory counts only when something changed */
+    public DestinationSnapshotDTO getSnapshot() {
+        if (dirty.compareAndSet(true, false)) {
+            rebuild();
+        }
+        return snapshot;
+    }
+
+    private void reloadCityImageHashes() {
+        Map<String, String> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : cityImageRepository.findAllCityImageHashes()) {
+            if (row[0] != null && row[1] != null) {
+                loaded.put(normalize((String) row[0]), (String) row[1]);
+            }
+        }
+        cityImageHashes = loaded;
+        dirty.set(true);
+    }
+
+    private void adjust(Map<String, Destination> target, String city, String country, long delta) {
+        if (city == null || city.isBlank()) {
+            return;
+        }
+        target.compute(key(city, country), (key, existing) -> {
+            long count = (existing != null ? existing.count() : 0) + delta;
+            if (count <= 0) {
+                return null;
+            }
+            return existing != null ? new Destination(existing.city(), existing.country(), count)
+                    : new Destination(city, country, count);
+        });
+        dirty.set(true);
+    }
+
+    /** Replaces one destination's count with a fresh read, so it is right whichever map a change went to */
+    private void recount(Place place) {
+        if (place.city() == null || place.city().isBlank()) {
+            return;
+        }
+        long count = hotelRepository.countByCityAndCountry(place.city(), place.country());
+        destinations.compute(key(place.city(), place.country()), (key, existing) -> {
+            if (count <= 0) {
+                return null;
+            }
+            return existing != null ? new Destination(existing.city(), existing.country(), count)
+                    : new Destination(place.city(), place.country(), count);
+        });
+        dirty.set(true);
+    }
+
+    private synchronized void rebuild() {
+        List<HotelDestinationDTO> list = destinations.values().stream()
+                .sorted(Comparator.comparingLong(Destination::count).reversed()
+                        .thenComparing(Destination::city))
+                .map(destination -> new HotelDestinationDTO(
+                        destination.city(),
+                        destination.country(),
+                        destination.count(),
+                        imageUrl(destination)))
+                .toList();
+        snapshot = new DestinationSnapshotDTO(list, computeETag(list));
+    }
+
+    private String imageUrl(Destination destination) {
+        StringBuilder url = new StringBuilder(String.format(DESTINATION_IMAGE_PATH,
+                UriUtils.encodePathSegment(destination.city(), StandardCharsets.UTF_8)));
+        url.append("?size=").append(ImageSize.CARD.name().toLowerCase(Locale.ROOT));
+        if (destination.country() != null) {
+            url.append("&country=").append(UriUtils.encodeQueryParam(destination.country(), StandardCharsets.UTF_8));
+        }
+        String hash = cityImageHashes.get(normalize(destination.city()));
+        if (hash != null) {
+            url.append("&v=").append(hash);
+        }
+        return url.toString();
+    }
+
+    private static String computeETag(List<HotelDestinationDTO> list) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (HotelDestinationDTO destination : list) {
+                String line = destination.getCity() + '|' + destination.getCountry() + '|'
+                        + destination.getCount() + '|' + destination.getImageUrl() + '\n';
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // MySQL groups city/country case-insensitively, so the in-memory keys do too
+    private static String key(String city, String country) {
+        return normalize(city) + "|" + normalize(country);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Destination(String city, String country, long count) {
+    }
+
+    private record Place(String city, String country) {
+    }
+}
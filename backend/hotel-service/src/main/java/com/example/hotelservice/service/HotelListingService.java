@@ -0,0 +1,225 @@
+package com.example.hotelservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hotelservice.dto.hotel.HotelListingRow;
+import com.example.hotelservice.dto.hotel.HotelListingSort;
+import com.example.hotelservice.dto.hotel.HotelPageDTO;
+import com.example.hotelservice.dto.room.PriceRangeDTO;
+import com.example.hotelservice.repository.HotelRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cursor-paginated hotel listing. Pages are read with keyset queries over
+ * a column projection, so each request holds at most one page of hotels
+ * and never loads images, descriptions or rooms.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HotelListingService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final List<String> LISTING_FIELDS = List.of(
+            "id", "name", "address", "city", "country", "latitude", "longitude", "imageUrl", "imageHash",
+            "contact", "checkIn", "checkOut", "averageRating", "reviewCount", "minPrice", "maxPrice");
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor";
+
+    private final HotelRepository hotelRepository;
+    private final RoomService roomService;
+    private final ObjectMapper objectMapper;
+    private final int exportChunkSize;
+
+    public HotelListingService(HotelRepository hotelRepository,
+            RoomService roomService,
+            ObjectMapper objectMapper,
+            @Value("${hotel.export.chunk-size:500}") int exportChunkSize) {
+        this.hotelRepository = hotelRepository;
+        this.roomService = roomService;
+        this.objectMapper = objectMapper;
+        this.exportChunkSize = exportChunkSize;
+    }
+
+    /**
+     * Hotels saved before the min_price column existed get it computed once
+     * at startup so they can be paged by price.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillMinPrices() {
+        hotelRepository.backfillMinPrices();
+    }
+
+    /**
+     * Returns the page after {@code cursor} (or the first page when null),
+     * limited to the requested {@code fields} (all fields when blank).
+     */
+    public HotelPageDTO getHotelPage(String cursor, int limit, String sort, String fields) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        HotelListingSort listingSort = HotelListingSort.fromParam(sort);
+        Set<String> selectedFields = parseFields(fields);
+        Cursor after = cursor == null || cursor.isBlank() ? Cursor.first(listingSort) : decode(cursor, listingSort);
+
+        // Ask for one extra row to learn whether another page exists
+        Limit pageLimit = Limit.of(limit + 1);
+        List<HotelListingRow> rows = switch (listingSort) {
+            case ID -> hotelRepository.findListingPageById(after.id(), pageLimit);
+            case PRICE -> hotelRepository.findListingPageByPrice(after.value(), after.id(), pageLimit);
+            case RATING -> hotelRepository.findListingPageByRating(after.value(), after.id(), pageLimit);
+        };
+
+        boolean hasMore = rows.size() > limit;
+        List<HotelListingRow> page = hasMore ? rows.subList(0, limit) : rows;
+
+        Map<Long, PriceRangeDTO> priceRanges = selectedFields.contains("maxPrice")
+                ? roomService.getPriceRangesByHotelIds(page.stream().map(HotelListingRow::id).toList())
+                : Map.of();
+
+        List<Map<String, Object>> items = new ArrayList<>(page.size());
+        for (HotelListingRow row : page) {
+            items.add(toItem(row, selectedFields, priceRanges));
+        }
+
+        String nextCursor = hasMore ? encode(listingSort, page.get(page.size() - 1)) : null;
+        return new HotelPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Writes the whole catalog as newline-delimited JSON, one hotel per line
+     * with every listing field. Hotels are read in ID order, one chunk per
+     * query, and each chunk is flushed before the next is read. Each chunk
+     * runs in its own short read instead of one transaction for the whole
+     * export.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportCatalog(OutputStream out) throws IOException {
+        Set<String> allFields = parseFields(null);
+        long afterId = 0;
+        while (true) {
+            List<HotelListingRow> chunk = hotelRepository.findListingPageById(afterId, Limit.of(exportChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            Map<Long, PriceRangeDTO> priceRanges = roomService.getPriceRangesByHotelIds(
+                    chunk.stream().map(HotelListingRow::id).toList());
+            for (HotelListingRow row : chunk) {
+                out.write(objectMapper.writeValueAsBytes(toItem(row, allFields, priceRanges)));
+                out.write('\n');
+            }
+            out.flush();
+
+            if (chunk.size() < exportChunkSize) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return new LinkedHashSet<>(LISTING_FIELDS);
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!LISTING_FIELDS.contains(trimmed)) {
+                throw new IllegalArgumentException("Unsupported field: " + trimmed);
+            }
+            selected.add(trimmed);
+        }
+        return selected;
+    }
+
+    private static Map<String, Object> toItem(HotelListingRow row, Set<String> fields,
+            Map<Long, PriceRangeDTO> priceRanges) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (String field : fields) {
+            item.put(field, switch (field) {
+                case "id" -> row.id();
+                case "name" -> row.name();
+                case "address" -> row.address();
+                case "city" -> row.city();
+                case "country" -> row.country();
+                case "latitude" -> row.latitude();
+                case "longitude" -> row.longitude();
+                case "imageUrl" -> row.imageHash() != null
+                        ? "/hotels/" + row.id() + "/image?v=" + row.imageHash()
+                        : null;
+                case "imageHash" -> row.imageHash();
+                case "contact" -> row.contact();
+                case "checkIn" -> row.checkIn();
+                case "checkOut" -> row.checkOut();
+                case "averageRating" -> row.averageRating() != null ? row.averageRating() : 0.0;
+                case "reviewCount" -> row.reviewCount() != null ? row.reviewCount() : 0L;
+                case "minPrice" -> row.minPrice() != null ? row.minPrice() : 0.0;
+                case "maxPrice" -> priceRanges.getOrDefault(row.id(), PriceRangeDTO.EMPTY).maxPrice();
+                default -> throw new IllegalArgumentException("Unsupported field: " + field);
+            });
+        }
+        return item;
+    }
+
+    // ---------------- Cursor ----------------
+
+    /** Position after the last row of a page: the sort value and hotel ID */
+    private record Cursor(double value, long id) {
+
+        static Cursor first(HotelListingSort sort) {
+            return switch (sort) {
+                case ID -> new Cursor(0, 0);
+                case PRICE -> new Cursor(-Double.MAX_VALUE, 0);
+                case RATING -> new Cursor(Double.MAX_VALUE, 0);
+            };
+        }
+    }
+
+    private static String encode(HotelListingSort sort, HotelListingRow row) {
+        double value = switch (sort) {
+            case ID -> 0;
+            case PRICE -> row.minPrice() != null ? row.minPrice() : 0;
+            case RATING -> row.averageRating() != null ? row.averageRating() : 0;
+        };
+        String raw = sort.name() + CURSOR_SEPARATOR + value + CURSOR_SEPARATOR + row.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor, HotelListingSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + CURSOR_SEPARATOR);
+            // A cursor only continues the ordering it was issued for
+            if (parts.length != 3 || !sort.name().equals(parts[0])) {
+                throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+            }
+            return new Cursor(Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+}
@@ -2,22 +2,37 @@ package com.example.hotelservice.service;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
 import org.springframework.util.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.hotelservice.dto.hotel.DestinationSnapshotDTO;
 import com.example.hotelservice.dto.hotel.HotelRequestDTO;
 import com.example.hotelservice.dto.hotel.HotelSearchDTO;
+import com.example.hotelservice.dto.image.ImageDTO;
+import com.example.hotelservice.dto.review.RatingSummaryDTO;
+import com.example.hotelservice.dto.room.PriceRangeDTO;
 import com.example.hotelservice.entity.hotel.Hotel;
-import com.example.hotelservice.entity.review.Review;
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+import com.example.hotelservice.entity.rendition.ImageSize;
+import com.example.hotelservice.event.HotelChangedEvent;
+import com.example.hotelservice.event.ImageUploadedEvent;
 import com.example.hotelservice.entity.room.Room;
 import com.example.hotelservice.exception.ResourceNotFoundException;
+import com.example.hotelservice.index.HotelGeoIndex;
+import com.example.hotelservice.index.HotelSearchIndex;
 import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.util.ImageUtils;
 
 @Service
 public class HotelService {
@@ -29,32 +44,42 @@ public class HotelService {
     private static final String LATITUDE_NULL_MESSAGE = "Latitude must not be null";
     private static final String LONGITUDE_NULL_MESSAGE = "Longitude must not be null";
     private static final String HOTEL_NAME_REQUIRED = "Hotel name is required";
-    private static final double SEARCH_RADIUS_KM = 15;
+    private static final String IMAGE_NOT_FOUND_MESSAGE = "Image not found for hotel with ID ";
+    private static final double MAX_SEARCH_RADIUS_KM = 500;
+    private static final int MAX_NEARBY_LIMIT = 500;
+    private static final int MAX_SEARCH_LIMIT = 1000;
 
     private final HotelRepository hotelRepository;
-    private final ImageService imageService;
     private final RoomService roomService;
     private final ReviewService reviewService;
+    private final HotelGeoIndex geoIndex;
+    private final HotelSearchIndex searchIndex;
+    private final ImageRenditionService renditionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DestinationSnapshotService destinationSnapshotService;
 
     public HotelService(
             @NonNull HotelRepository hotelRepository,
-            ImageService imageService,
             RoomService roomService,
-            ReviewService reviewService) {
+            ReviewService reviewService,
+            HotelGeoIndex geoIndex,
+            HotelSearchIndex searchIndex,
+            ImageRenditionService renditionService,
+            ApplicationEventPublisher eventPublisher,
+            DestinationSnapshotService destinationSnapshotService) {
         this.hotelRepository = Objects.requireNonNull(hotelRepository, HOTEL_REPOSITORY_NULL_MESSAGE);
-        this.imageService = imageService;
         this.roomService = roomService;
         this.reviewService = reviewService;
+        this.geoIndex = geoIndex;
+        this.searchIndex = searchIndex;
+        this.renditionService = renditionService;
+        this.eventPublisher = eventPublisher;
+        this.destinationSnapshotService = destinationSnapshotService;
     }
 
     public List<HotelSearchDTO> getHotelsByIds(List<Long> ids) {
         List<Hotel> hotels = hotelRepository.findAllById(ids);
-        return hotels.stream().map(this::toHotelSearchDTO).toList();
-    }
-
-    public List<HotelSearchDTO> getAllHotels() {
-        List<Hotel> hotels = hotelRepository.findAll();
-        return hotels.stream().map(this::toHotelSearchDTO).toList();
+        return toHotelSearchDTOs(hotels);
     }
 
     public Hotel getHotelEntityById(Long id) {
@@ -67,7 +92,46 @@ public class HotelService {
 
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with ID " + id));
-        return toHotelSearchDTO(hotel);
+        return toHotelSearchDTOs(List.of(hotel)).get(0);
+    }
+
+    /**
+     * ETag of the hotel image in the requested size. Only reads the hash
+     * column, so conditional requests never touch the blob.
+     */
+    public String getHotelImageETag(@NonNull Long id, ImageSize size) {
+        Objects.requireNonNull(id, HOTEL_ID_NULL_MESSAGE);
+        String hash = hotelRepository.findImageHashById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(IMAGE_NOT_FOUND_MESSAGE + id));
+        return ImageRenditionService.eTag(hash, size);
+    }
+
+    /**
+     * Returns the requested rendition, or the original when the rendition has
+     * not been generated yet (in which case generation is queued).
+     */
+    public ImageDTO getHotelImage(@NonNull Long id, ImageSize size) {
+        Objects.requireNonNull(id, HOTEL_ID_NULL_MESSAGE);
+        String hash = hotelRepository.findImageHashById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(IMAGE_NOT_FOUND_MESSAGE + id));
+
+        return renditionService.resolve(ImageOwnerType.HOTEL, id, hash, size,
+                () -> hotelRepository.findImageById(id)
+                        .filter(bytes -> bytes.length > 0)
+                        .orElseThrow(() -> new ResourceNotFoundException(IMAGE_NOT_FOUND_MESSAGE + id)));
+    }
+
+    /**
+     * Hotels saved before image hashes existed get theirs computed once at
+     * startup so their search DTOs can point at the image endpoint.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillImageHashes() {
+        for (Long id : hotelRepository.findIdsWithUnhashedImage()) {
+            hotelRepository.findImageById(id)
+                    .ifPresent(data -> hotelRepository.updateImageHash(id, ImageUtils.hash(data)));
+        }
     }
 
     public Hotel saveHotel(@NonNull Hotel hotel) {
@@ -82,12 +146,16 @@ public class HotelService {
         Hotel hotel = new Hotel();
         applyHotelDetails(hotel, request);
         if (imageBytes != null) {
-            hotel.setImage(imageBytes);
+            applyImage(hotel, imageBytes);
         }
 
         Hotel savedHotel = saveHotel(hotel);
         List<Room> rooms = roomService.createRoomsForHotel(savedHotel, request.getRooms());
         savedHotel.setRooms(rooms);
+        savedHotel.setMinPrice(rooms.stream().mapToDouble(Room::getPricePerNight).min().orElse(0));
+        publishImageUploaded(savedHotel, imageBytes);
+        eventPublisher.publishEvent(new HotelChangedEvent(
+                savedHotel.getId(), null, null, savedHotel.getCity(), savedHotel.getCountry()));
         return savedHotel;
     }
 
@@ -97,12 +165,18 @@ public class HotelService {
         validateHotelRequest(request);
 
         Hotel existingHotel = getHotelEntityById(id);
+        String previousCity = existingHotel.getCity();
+        String previousCountry = existingHotel.getCountry();
         applyHotelDetails(existingHotel, request);
         if (imageBytes != null) {
-            existingHotel.setImage(imageBytes);
+            applyImage(existingHotel, imageBytes);
         }
 
-        return saveHotel(existingHotel);
+        Hotel savedHotel = saveHotel(existingHotel);
+        publishImageUploaded(savedHotel, imageBytes);
+        eventPublisher.publishEvent(new HotelChangedEvent(
+                savedHotel.getId(), previousCity, previousCountry, savedHotel.getCity(), savedHotel.getCountry()));
+        return savedHotel;
     }
 
     @Transactional
@@ -113,16 +187,18 @@ public class HotelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found for deletion with ID " + id));
 
         reviewService.deleteReviewsByHotelId(id);
+        renditionService.deleteRenditions(ImageOwnerType.HOTEL, id);
         hotelRepository.delete(hotel);
+        eventPublisher.publishEvent(new HotelChangedEvent(id, hotel.getCity(), hotel.getCountry(), null, null));
     }
 
-    public List<HotelSearchDTO> findHotelsByName(@NonNull String name) {
+    public List<HotelSearchDTO> findHotelsByName(@NonNull String name, int limit) {
         Objects.requireNonNull(name, NAME_NULL_MESSAGE);
         if (!StringUtils.hasText(name)) {
             throw new IllegalArgumentException("Search query cannot be empty");
         }
-        List<Hotel> hotels = hotelRepository.findByNameContaining(name.trim());
-        return hotels.stream().map(this::toHotelSearchDTO).toList();
+        validateSearchLimit(limit);
+        return toHotelSearchDTOs(findAllInOrder(searchIndex.search(name, limit)));
     }
 
     public List<Room> getRoomsByHotel(@NonNull Long hotelId) {
@@ -133,83 +209,89 @@ public class HotelService {
                 .orElse(Collections.emptyList());
     }
 
-    private static double calculateDistance(
-            @NonNull Double lat1,
-            @NonNull Double lon1,
-            @NonNull Double lat2,
-            @NonNull Double lon2) {
-        Objects.requireNonNull(lat1, "lat1 must not be null");
-        Objects.requireNonNull(lon1, "lon1 must not be null");
-        Objects.requireNonNull(lat2, "lat2 must not be null");
-        Objects.requireNonNull(lon2, "lon2 must not be null");
-
-        final double R = 6371;
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                        * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
-
-    public List<Hotel> getNearbyHotels(@NonNull Double latitude, @NonNull Double longitude) {
+    public List<HotelSearchDTO> getNearbyHotels(
+            @NonNull Double latitude,
+            @NonNull Double longitude,
+            double radiusKm,
+            int limit) {
         Objects.requireNonNull(latitude, LATITUDE_NULL_MESSAGE);
         Objects.requireNonNull(longitude, LONGITUDE_NULL_MESSAGE);
+        if (radiusKm <= 0 || radiusKm > MAX_SEARCH_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_SEARCH_RADIUS_KM + " km");
+        }
+        if (limit <= 0 || limit > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_NEARBY_LIMIT);
+        }
 
-        return hotelRepository.findAll().stream()
-                .filter(hotel -> {
-                    Double hotelLat = hotel.getLatitude();
-                    Double hotelLon = hotel.getLongitude();
-                    return hotelLat != null && hotelLon != null
-                            && calculateDistance(latitude, longitude, hotelLat, hotelLon) <= SEARCH_RADIUS_KM;
-                })
-                .toList();
+        List<Long> nearestIds = geoIndex.findWithin(latitude, longitude, radiusKm, limit);
+        return toHotelSearchDTOs(findAllInOrder(nearestIds));
     }
 
-    public List<HotelSearchDTO> findHotelsByCityAndCountry(String city, String country) {
-        String normalizedCity = city == null ? "" : city;
-        String normalizedCountry = country == null ? "" : country;
+    public List<HotelSearchDTO> findHotelsByCityAndCountry(String city, String country, int limit) {
+        validateSearchLimit(limit);
+        return toHotelSearchDTOs(findAllInOrder(searchIndex.searchLocation(city, country, limit)));
+    }
 
-        List<Hotel> hotels = hotelRepository.findByCityIgnoreCaseContainingAndCountryIgnoreCaseContaining(
-                normalizedCity,
-                normalizedCountry);
-        return hotels.stream().map(this::toHotelSearchDTO).toList();
+    public DestinationSnapshotDTO getDestinationsSnapshot() {
+        return destinationSnapshotService.getSnapshot();
     }
 
-    public List<Map<String, Object>> getHotelCountsByCityCountry() {
-        List<Object[]> results = hotelRepository.countHotelsByCityAndCountry();
-        List<Map<String, Object>> destinations = new ArrayList<>();
+    private static void validateSearchLimit(int limit) {
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+    }
 
-        for (Object[] row : results) {
-            String city = (String) row[0];
-            String country = (String) row[1];
-            Long count = (Long) row[2];
+    /** Loads hotels by ID keeping the ranked order the indexes returned */
+    private List<Hotel> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            String imageBase64 = imageService.getDestinationImageBase64(city, country);
+        // findAllById does not keep the order of the IDs
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return hotelRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(hotel -> rank.get(hotel.getId())))
+                .toList();
+    }
 
-            Map<String, Object> dest = Map.of(
-                    "city", city,
-                    "country", country,
-                    "count", count,
-                    "imageBase64", imageBase64);
-            destinations.add(dest);
+    /**
+     * Builds search DTOs with three queries (rooms, room prices and review
+     * ratings) for the whole page instead of per-hotel lookups; the hotels'
+     * lazy room collections are never touched.
+     */
+    private List<HotelSearchDTO> toHotelSearchDTOs(List<Hotel> hotels) {
+        if (hotels.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return destinations;
+        List<Long> hotelIds = hotels.stream().map(Hotel::getId).toList();
+        Map<Long, PriceRangeDTO> priceRanges = roomService.getPriceRangesByHotelIds(hotelIds);
+        Map<Long, RatingSummaryDTO> ratings = reviewService.getRatingSummariesByHotelIds(hotelIds);
+        Map<Long, List<Room>> rooms = roomService.getRoomsGroupedByHotelIds(hotelIds);
+
+        return hotels.stream()
+                .map(hotel -> new HotelSearchDTO(
+                        hotel,
+                        rooms.getOrDefault(hotel.getId(), List.of()),
+                        ratings.getOrDefault(hotel.getId(), RatingSummaryDTO.EMPTY),
+                        priceRanges.getOrDefault(hotel.getId(), PriceRangeDTO.EMPTY)))
+                .toList();
     }
 
-    private HotelSearchDTO toHotelSearchDTO(Hotel hotel) {
-        List<Room> rooms = roomService.getHotelRooms(hotel.getId());
-        double minPrice = rooms.stream().mapToDouble(Room::getPricePerNight).min().orElse(0);
-        double maxPrice = rooms.stream().mapToDouble(Room::getPricePerNight).max().orElse(0);
-
-        List<Review> reviews = reviewService.findReviewsByHotelId(hotel.getId());
-        double avgRating = reviews.stream().mapToInt(Review::getRating).average().orElse(0);
+    private void applyImage(Hotel hotel, byte[] imageBytes) {
+        hotel.setImage(imageBytes);
+        hotel.setImageHash(ImageUtils.hash(imageBytes));
+    }
 
-        return new HotelSearchDTO(hotel, avgRating, minPrice, maxPrice);
+    private void publishImageUploaded(Hotel hotel, byte[] imageBytes) {
+        if (imageBytes != null) {
+            eventPublisher.publishEvent(new ImageUploadedEvent(
+                    ImageOwnerType.HOTEL, hotel.getId(), imageBytes, hotel.getImageHash()));
+        }
     }
 
     private void validateHotelRequest(HotelRequestDTO request) {
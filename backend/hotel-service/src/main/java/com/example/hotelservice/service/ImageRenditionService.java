@@ -0,0 +1,287 @@
+package com.example.hotelservice.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.hotelservice.dto.image.ImageDTO;
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+import com.example.hotelservice.entity.rendition.ImageRendition;
+import com.example.hotelservice.entity.rendition.ImageSize;
+import com.example.hotelservice.event.ImageUploadedEvent;
+import com.example.hotelservice.repository.ImageRenditionRepository;
+import com.example.hotelservice.util.ImageUtils;
+
+/**
+ * Derives thumbnail, card and full-size JPEG renditions from uploaded images
+ * on a background pool, so list and destination views can download
+ * kilobytes instead of the multi-megabyte original.
+ *
+ * <p>Each (owner, original) is queued at most once at a time. Originals that
+ * cannot be rendered — unsupported, corrupt, or larger than
+ * {@value #MAX_SOURCE_PIXELS} pixels — are remembered, for at most
+ * {@value #MAX_FAILED} images, and keep being served as they are instead of
+ * being queued again on every request.
+ */
+@Service
+public class ImageRenditionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageRenditionService.class);
+    private static final String RENDITION_CONTENT_TYPE = "image/jpeg";
+    // Decoding allocates 4 bytes per pixel, so 40 MP is about 160 MB of heap
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+    private static final int MAX_FAILED = 1000;
+
+    private final ImageRenditionRepository renditionRepository;
+    private final Executor renditionExecutor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> failed = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_FAILED;
+        }
+    });
+
+    public ImageRenditionService(
+            ImageRenditionRepository renditionRepository,
+            @Qualifier("imageRenditionExecutor") Executor renditionExecutor) {
+        this.renditionRepository = renditionRepository;
+        this.renditionExecutor = renditionExecutor;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImageUploaded(ImageUploadedEvent event) {
+        scheduleRenditions(event.ownerType(), event.ownerId(), event.data(), event.hash());
+    }
+
+    /**
+     * Queues rendition generation for an image. Repeated calls for the same
+     * image while a job is pending, or after it failed, are ignored.
+     */
+    public void scheduleRenditions(ImageOwnerType ownerType, Long ownerId, byte[] data, String sourceHash) {
+        String key = ownerType + ":" + ownerId + ":" + sourceHash;
+        if (hasFailed(key) || !inFlight.add(key)) {
+            return;
+        }
+
+        try {
+            renditionExecutor.execute(() -> {
+                try {
+                    if (!generateRenditions(ownerType, ownerId, data, sourceHash)) {
+                        markFailed(key);
+                    }
+                } catch (Exception e) {
+                    markFailed(key);
+                    logger.warn("Rendition generation failed for {} {}: {}", ownerType, ownerId, e.getMessage());
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            logger.warn("Rendition queue full, skipping {} {}", ownerType, ownerId);
+        }
+    }
+
+    /**
+     * Resolves the image to serve for a size. Uses the stored rendition when
+     * one exists for the current original; otherwise serves the original
+     * (marked mutable so it is not cached under the rendition URL) and
+     * queues generation.
+     */
+    public ImageDTO resolve(
+            ImageOwnerType ownerType,
+            Long ownerId,
+            String sourceHash,
+            ImageSize size,
+            Supplier<byte[]> originalLoader) {
+        if (size.isRendition()) {
+            Optional<ImageRendition> rendition = renditionRepository.findByOwnerTypeAndOwnerIdAndSizeAndSourceHash(
+                    ownerType, ownerId, size, sourceHash);
+            if (rendition.isPresent()) {
+                return new ImageDTO(rendition.get().getImageData(), eTag(sourceHash, size),
+                        rendition.get().getContentType(), true);
+            }
+        }
+
+        byte[] original = originalLoader.get();
+        if (size.isRendition()) {
+            scheduleRenditions(ownerType, ownerId, original, sourceHash);
+        }
+        return new ImageDTO(original, eTag(sourceHash, ImageSize.ORIGINAL), ImageUtils.detectContentType(original),
+                !size.isRendition());
+    }
+
+    /** ETag of an image in a given size, derived from the original's hash */
+    public static String eTag(String sourceHash, ImageSize size) {
+        return size.isRendition() ? sourceHash + "-" + size.name().toLowerCase(Locale.ROOT) : sourceHash;
+    }
+
+    public void deleteRenditions(ImageOwnerType ownerType, Long ownerId) {
+        renditionRepository.deleteByOwner(ownerType, ownerId);
+    }
+
+    private boolean hasFailed(String key) {
+        synchronized (failed) {
+            return failed.contains(key);
+        }
+    }
+
+    private void markFailed(String key) {
+        synchronized (failed) {
+            failed.add(key);
+        }
+    }
+
+    /** Returns false when the original cannot be rendered and should not be tried again */
+    private boolean generateRenditions(ImageOwnerType ownerType, Long ownerId, byte[] data, String sourceHash)
+            throws IOException {
+        BufferedImage source = decode(data);
+        if (source == null) {
+            logger.warn("Unsupported or oversized image for {} {}, no renditions generated", ownerType, ownerId);
+            return false;
+        }
+
+        for (ImageSize size : ImageSize.RENDITIONS) {
+            byte[] encoded = encodeJpeg(scaleToWidth(source, size.getMaxWidth()), size.getJpegQuality());
+            saveRendition(ownerType, ownerId, size, sourceHash, encoded);
+        }
+        logger.info("Generated renditions for {} {}", ownerType, ownerId);
+        return true;
+    }
+
+    /**
+     * Decodes the image after checking its header dimensions, so a small file
+     * declaring a huge canvas is rejected before any pixels are allocated.
+     * Returns null for unsupported formats and oversized images.
+     */
+    static BufferedImage decode(byte[] data) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void saveRendition(
+            ImageOwnerType ownerType, Long ownerId, ImageSize size, String sourceHash, byte[] encoded) {
+        ImageRendition rendition = renditionRepository.findByOwnerTypeAndOwnerIdAndSize(ownerType, ownerId, size)
+                .orElseGet(ImageRendition::new);
+        rendition.setOwnerType(ownerType);
+        rendition.setOwnerId(ownerId);
+        rendition.setSize(size);
+        rendition.setSourceHash(sourceHash);
+        rendition.setContentType(RENDITION_CONTENT_TYPE);
+        rendition.setImageData(encoded);
+        try {
+            renditionRepository.save(rendition);
+        } catch (DataIntegrityViolationException e) {
+            // Another job stored this rendition first
+            logger.debug("Rendition {} for {} {} already stored", size, ownerType, ownerId);
+        }
+    }
+
+    /**
+     * Downscales in halving steps before the final resize, which keeps
+     * bilinear filtering sharp for large reductions. Always returns an RGB
+     * image since JPEG has no alpha channel.
+     */
+    private static BufferedImage scaleToWidth(BufferedImage source, int maxWidth) {
+        BufferedImage current = toRgb(source);
+        if (current.getWidth() <= maxWidth) {
+            return current;
+        }
+
+        int targetHeight = Math.max(1, Math.round(current.getHeight() * (maxWidth / (float) current.getWidth())));
+        while (current.getWidth() / 2 >= maxWidth) {
+            current = resize(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        return resize(current, maxWidth, targetHeight);
+    }
+
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(source, 0, 0, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
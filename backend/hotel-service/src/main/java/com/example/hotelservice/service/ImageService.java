@@ -1,136 +1,94 @@
 package com.example.hotelservice.service;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.util.Base64;
-import java.util.Random;
+import java.util.Optional;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.example.hotelservice.entity.cityimage.CityImage;
+import com.example.hotelservice.dto.image.ImageDTO;
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+import com.example.hotelservice.entity.rendition.ImageSize;
+import com.example.hotelservice.exception.ResourceNotFoundException;
 import com.example.hotelservice.repository.CityImageRepository;
+import com.example.hotelservice.util.ImageUtils;
 
 @Service
 public class ImageService {
 
-    private final CityImageRepository cityImageRepo;
-    private final String PIXABAY_API_KEY;
+    public static final String PLACEHOLDER_ETAG = "placeholder";
+
+    private static final String CITY_IMAGE_NOT_FOUND = "Image not found for city ";
+    private static final byte[] PLACEHOLDER_IMAGE = ImageUtils.placeholder(800, 450);
 
-    public ImageService(CityImageRepository repo, @Value("${pixabay.api.key}") String apiKey) {
+    private final CityImageRepository cityImageRepo;
+    private final ImageRenditionService renditionService;
+    private final CityImageFetcher cityImageFetcher;
+    private final DestinationSnapshotService destinationSnapshotService;
+
+    public ImageService(CityImageRepository repo,
+            ImageRenditionService renditionService,
+            CityImageFetcher cityImageFetcher,
+            DestinationSnapshotService destinationSnapshotService) {
         this.cityImageRepo = repo;
-        this.PIXABAY_API_KEY = apiKey;
+        this.renditionService = renditionService;
+        this.cityImageFetcher = cityImageFetcher;
+        this.destinationSnapshotService = destinationSnapshotService;
     }
 
     /**
-     * Returns cached image bytes or fetches from Pixabay if not cached.
+     * Hash of the stored image of a destination city, or empty while it is
+     * still being fetched; the fetch is started here. Only cities with hotels
+     * have images, so anything else is not found and never reaches the image
+     * provider.
      */
-    public byte[] getDestinationImage(String city, String country) {
-        if (city == null || city.isBlank()) {
-            return fetchDefaultImageBytes();
+    public Optional<String> findCityImageHash(String city, String country) {
+        if (!destinationSnapshotService.isDestination(city)) {
+            throw new ResourceNotFoundException(CITY_IMAGE_NOT_FOUND + city);
         }
-
-        return cityImageRepo.findByCity(city)
-                .map(CityImage::getImageData)
-                .orElseGet(() -> fetchAndSaveImage(city, country));
-    }
-
-    /**
-     * Returns Base64 string for frontend usage.
-     */
-    public String getDestinationImageBase64(String city, String country) {
-        byte[] imageBytes = getDestinationImage(city, country);
-        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(imageBytes);
-    }
-
-    /**
-     * Fetches image from Pixabay and saves to DB in a separate transaction.
-     */
-    private byte[] fetchAndSaveImage(String city, String country) {
-        byte[] data = fetchImageBytes(city, country);
-
-        if (data == null || data.length == 0) {
-            data = fetchDefaultImageBytes();
+        Optional<String> hash = cityImageRepo.findImageHashByCity(city);
+        if (hash.isEmpty()) {
+            cityImageFetcher.fetch(city, country);
         }
-
-        saveImage(city, country, data); // transactional save
-
-        return data;
+        return hash;
     }
 
-    /**
-     * Save image data to DB in a transactional context.
-     */
-    @Transactional
-    protected void saveImage(String city, String country, byte[] data) {
-        CityImage entry = new CityImage();
-        entry.setCity(city);
-        entry.setCountry(country);
-        entry.setImageData(data);
-        cityImageRepo.save(entry);
+    /** ETag of the city image in the requested size, or the placeholder ETag while it is being fetched */
+    public static String cityImageETag(Optional<String> storedHash, ImageSize size) {
+        return storedHash.map(hash -> ImageRenditionService.eTag(hash, size)).orElse(PLACEHOLDER_ETAG);
     }
 
     /**
-     * Fetch image from Pixabay API.
+     * Returns the city image with the hash found by {@link #findCityImageHash}
+     * in the requested size, falling back to the original (and queueing
+     * generation) when the rendition is not ready. Cities without a stored
+     * image get a placeholder while the image is fetched in the background.
      */
-    private byte[] fetchImageBytes(String city, String country) {
-        try {
-            String query = city + " skyline " + country + " landmark";
-            String apiUrl = "https://pixabay.com/api/?key=" + PIXABAY_API_KEY
-                    + "&q=" + URLEncoder.encode(query, "UTF-8")
-                    + "&image_type=photo&orientation=horizontal&category=places&per_page=5";
-
-            HttpURLConnection conn = (HttpURLConnection) new URL(apiUrl).openConnection();
-            conn.setRequestMethod("GET");
-            conn.setConnectTimeout(5000);
-            conn.setReadTimeout(5000);
-
-            if (conn.getResponseCode() == 200) {
-                try (BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = in.readLine()) != null)
-                        response.append(line);
-
-                    JSONObject json = new JSONObject(response.toString());
-                    JSONArray hits = json.optJSONArray("hits");
-                    if (hits != null && hits.length() > 0) {
-                        int randomIndex = new Random().nextInt(hits.length());
-                        String imageUrl = hits.getJSONObject(randomIndex).optString("largeImageURL");
-                        return downloadImageBytes(imageUrl);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("Pixabay fetch failed: " + e.getMessage());
+    public ImageDTO getCityImage(String city, Optional<String> storedHash, ImageSize size) {
+        if (storedHash.isEmpty()) {
+            return new ImageDTO(PLACEHOLDER_IMAGE, PLACEHOLDER_ETAG, ImageUtils.DEFAULT_CONTENT_TYPE, false);
         }
-
-        return null;
+        String hash = storedHash.get();
+        Long id = cityImageRepo.findIdByCity(city)
+                .orElseThrow(() -> new ResourceNotFoundException(CITY_IMAGE_NOT_FOUND + city));
+
+        return renditionService.resolve(ImageOwnerType.CITY, id, hash, size,
+                () -> cityImageRepo.findImageDataById(id)
+                        .filter(bytes -> bytes.length > 0)
+                        .orElseThrow(() -> new ResourceNotFoundException(CITY_IMAGE_NOT_FOUND + city)));
     }
 
     /**
-     * Downloads raw bytes from a URL.
+     * City images cached before hashes existed get theirs computed once at
+     * startup.
      */
-    private byte[] downloadImageBytes(String urlStr) {
-        try (InputStream in = new URL(urlStr).openStream()) {
-            return in.readAllBytes();
-        } catch (Exception e) {
-            return null;
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillImageHashes() {
+        for (Long id : cityImageRepo.findIdsWithUnhashedImage()) {
+            cityImageRepo.findImageDataById(id)
+                    .ifPresent(data -> cityImageRepo.updateImageHash(id, ImageUtils.hash(data)));
         }
     }
-
-    /**
-     * Default fallback image.
-     */
-    private byte[] fetchDefaultImageBytes() {
-        return downloadImageBytes(
-                "https://images.unsplash.com/photo-1493558103817-58b2924bce98?auto=format&fit=crop&w=1200&q=80");
-    }
-}
\ No newline at end of file
+}
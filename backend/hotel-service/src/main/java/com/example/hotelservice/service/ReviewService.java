@@ -1,15 +1,25 @@
 package com.example.hotelservice.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.hotelservice.dto.review.RatingHistogramDTO;
+import com.example.hotelservice.dto.review.RatingSummaryDTO;
 import com.example.hotelservice.dto.review.ReviewDTO;
+import com.example.hotelservice.entity.review.HotelRatingSummary;
 import com.example.hotelservice.entity.review.Review;
 import com.example.hotelservice.exception.ResourceNotFoundException;
+import com.example.hotelservice.repository.HotelRatingSummaryRepository;
 import com.example.hotelservice.repository.ReviewRepository;
 
 @Service
@@ -17,18 +27,34 @@ import com.example.hotelservice.repository.ReviewRepository;
 public class ReviewService {
     private static final String HOTEL_ID_REQUIRED_MESSAGE = "Hotel ID must be provided.";
     private static final String REVIEW_NOT_FOUND_PREFIX = "Review not found with id: ";
+    private static final int MIN_RATING = 1;
+    private static final int MAX_RATING = 5;
 
     private final ReviewRepository reviewRepository;
+    private final HotelRatingSummaryRepository ratingSummaryRepository;
 
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(ReviewRepository reviewRepository, HotelRatingSummaryRepository ratingSummaryRepository) {
         this.reviewRepository = reviewRepository;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+    }
+
+    /**
+     * Hotels reviewed before rating summaries existed get theirs built once
+     * at startup, and every hotel's stored average is brought in line.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRatingSummaries() {
+        ratingSummaryRepository.backfillMissing();
+        ratingSummaryRepository.syncAllHotelRatings();
     }
 
     // ==================== CREATE ====================
 
     public Review createReview(ReviewDTO dto) {
         validateDTO(dto);
-        return reviewRepository.save(buildReviewFromDTO(dto));
+        Review savedReview = reviewRepository.save(buildReviewFromDTO(dto));
+        applyRatingChange(savedReview.getHotelId(), 1, 0, savedReview.getRating());
+        return savedReview;
     }
 
     // ==================== UPDATE ====================
@@ -37,12 +63,17 @@ public class ReviewService {
         validateDTO(dto);
 
         Review existingReview = getExistingReviewById(id);
+        int previousRating = existingReview.getRating();
 
         // Update only allowed fields
         existingReview.setComment(dto.getComment());
         existingReview.setRating(dto.getRating());
 
-        return reviewRepository.save(existingReview);
+        Review savedReview = reviewRepository.save(existingReview);
+        if (previousRating != savedReview.getRating()) {
+            applyRatingChange(savedReview.getHotelId(), 0, previousRating, savedReview.getRating());
+        }
+        return savedReview;
     }
 
     // ==================== READ ====================
@@ -62,11 +93,13 @@ public class ReviewService {
     public void deleteReview(Long id) {
         Review review = getExistingReviewById(id);
         reviewRepository.delete(review);
+        applyRatingChange(review.getHotelId(), -1, review.getRating(), 0);
     }
 
     public void deleteReviewsByHotelId(Long hotelId) {
         Objects.requireNonNull(hotelId, HOTEL_ID_REQUIRED_MESSAGE);
         reviewRepository.deleteByHotelId(hotelId);
+        ratingSummaryRepository.deleteByHotelId(hotelId);
     }
 
     // ==================== FILTERS ====================
@@ -77,6 +110,34 @@ public class ReviewService {
         return reviewRepository.findByHotelId(hotelId);
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, RatingSummaryDTO> getRatingSummariesByHotelIds(Collection<Long> hotelIds) {
+        if (hotelIds == null || hotelIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, RatingSummaryDTO> summaries = new HashMap<>();
+        for (HotelRatingSummary summary : ratingSummaryRepository.findByHotelIdIn(hotelIds)) {
+            if (summary.getReviewCount() > 0) {
+                summaries.put(summary.getHotelId(),
+                        new RatingSummaryDTO(summary.getAverageRating(), summary.getReviewCount()));
+            }
+        }
+        return summaries;
+    }
+
+    @Transactional(readOnly = true)
+    public RatingHistogramDTO getRatingHistogram(Long hotelId) {
+        Objects.requireNonNull(hotelId, HOTEL_ID_REQUIRED_MESSAGE);
+
+        HotelRatingSummary summary = ratingSummaryRepository.findById(hotelId).orElseGet(HotelRatingSummary::new);
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int stars = MIN_RATING; stars <= MAX_RATING; stars++) {
+            histogram.put(stars, summary.getStarCount(stars));
+        }
+        return new RatingHistogramDTO(hotelId, summary.getAverageRating(), summary.getReviewCount(), histogram);
+    }
+
     @Transactional(readOnly = true)
     public List<Review> findReviewsByUserId(Long userId) {
         Objects.requireNonNull(userId, "User ID must be provided.");
@@ -90,11 +151,27 @@ public class ReviewService {
         Objects.requireNonNull(dto.getHotelId(), HOTEL_ID_REQUIRED_MESSAGE);
         Objects.requireNonNull(dto.getUserId(), "User ID must be provided.");
 
-        if (dto.getRating() < 1 || dto.getRating() > 5) {
+        if (dto.getRating() < MIN_RATING || dto.getRating() > MAX_RATING) {
             throw new IllegalArgumentException("Rating must be between 1 and 5.");
         }
     }
 
+    // ==================== RATING SUMMARY ====================
+
+    /**
+     * Moves one review between star buckets; 0 stands for "no rating" so
+     * creates and deletes only touch one bucket. The hotel's stored average
+     * is refreshed in the same transaction.
+     */
+    private void applyRatingChange(Long hotelId, long countDelta, int removedRating, int addedRating) {
+        long[] stars = new long[MAX_RATING + 1];
+        stars[removedRating]--;
+        stars[addedRating]++;
+        ratingSummaryRepository.applyDelta(hotelId, countDelta, (long) addedRating - removedRating,
+                stars[1], stars[2], stars[3], stars[4], stars[5]);
+        ratingSummaryRepository.syncHotelRating(hotelId);
+    }
+
     private Review getExistingReviewById(Long id) {
         Objects.requireNonNull(id, "Review ID must be provided.");
         return reviewRepository.findById(id)
@@ -0,0 +1,28 @@
+package com.example.hotelservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.hotelservice.client.BookingClient;
+import com.example.hotelservice.event.HotelChangedEvent;
+
+/**
+ * Keeps booking-service's room catalog in step with this service: rooms
+ * are created and removed together with their hotel, so every committed
+ * hotel change drops that hotel's cached rooms.
+ */
+@Component
+public class RoomCatalogSync {
+
+    private final BookingClient bookingClient;
+
+    public RoomCatalogSync(BookingClient bookingClient) {
+        this.bookingClient = bookingClient;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        bookingClient.invalidateRoomCatalog(event.hotelId());
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.hotelservice.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
+import com.example.hotelservice.dto.room.PriceRangeDTO;
 import com.example.hotelservice.dto.room.RoomRequestDTO;
 import com.example.hotelservice.entity.hotel.Hotel;
 import com.example.hotelservice.entity.room.Room;
@@ -26,6 +32,7 @@ public class RoomService {
     private static final String HOTEL_ID_NOT_NULL = "Hotel ID must not be null";
     private static final String ROOM_ID_NOT_NULL = "Room ID must not be null";
     private static final String ROOM_QUANTITY_INVALID = "Room quantity must be greater than zero";
+    private static final int MAX_BATCH_HOTELS = 100;
 
     public RoomService(RoomRepository roomRepository, HotelRepository hotelRepository) {
         this.roomRepository = roomRepository;
@@ -83,6 +90,51 @@ public class RoomService {
         return roomRepository.findByHotelId(safeHotelId);
     }
 
+    /**
+     * Get all rooms of many hotels in one query. Unknown hotels simply have
+     * no rooms in the result.
+     */
+    public List<Room> getRoomsByHotelIds(Collection<Long> hotelIds) {
+        if (hotelIds == null || hotelIds.isEmpty()) {
+            return List.of();
+        }
+        if (hotelIds.size() > MAX_BATCH_HOTELS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_HOTELS + " hotels can be fetched at once");
+        }
+
+        Set<Long> safeHotelIds = new HashSet<>();
+        for (Long hotelId : hotelIds) {
+            safeHotelIds.add(validateHotelId(hotelId));
+        }
+        return roomRepository.findByHotelIdIn(safeHotelIds);
+    }
+
+    /** Get the rooms of each hotel in one query; hotels without rooms are missing from the map */
+    public Map<Long, List<Room>> getRoomsGroupedByHotelIds(Collection<Long> hotelIds) {
+        if (hotelIds == null || hotelIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<Room>> rooms = new HashMap<>();
+        for (Room room : roomRepository.findByHotelIdIn(hotelIds)) {
+            rooms.computeIfAbsent(room.getId().getHotelId(), id -> new ArrayList<>()).add(room);
+        }
+        return rooms;
+    }
+
+    /** Get the nightly price range of each hotel in one grouped query */
+    public Map<Long, PriceRangeDTO> getPriceRangesByHotelIds(Collection<Long> hotelIds) {
+        if (hotelIds == null || hotelIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, PriceRangeDTO> priceRanges = new HashMap<>();
+        for (Object[] row : roomRepository.findPriceRangeByHotelIds(hotelIds)) {
+            priceRanges.put((Long) row[0], new PriceRangeDTO((Double) row[1], (Double) row[2]));
+        }
+        return priceRanges;
+    }
+
     /** Get a single room by hotelId and roomId */
     public Room getRoomById(Long hotelId, Long roomId) {
         Long safeHotelId = validateHotelId(hotelId);
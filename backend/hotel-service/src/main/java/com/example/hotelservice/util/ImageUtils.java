@@ -0,0 +1,62 @@
+package com.example.hotelservice.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import javax.imageio.ImageIO;
+
+public final class ImageUtils {
+
+    public static final String DEFAULT_CONTENT_TYPE = "image/jpeg";
+
+    // Private constructor to prevent instantiation
+    private ImageUtils() {
+        throw new UnsupportedOperationException("ImageUtils cannot be instantiated");
+    }
+
+    /** SHA-256 of the image bytes as lowercase hex, used as ETag and cache key */
+    public static String hash(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Sniffs the content type from the image header, defaulting to JPEG */
+    public static String detectContentType(byte[] data) {
+        try {
+            String contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(data));
+            return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+        } catch (IOException e) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+    }
+
+    /** Plain light-grey JPEG served while the real image is still being fetched */
+    public static byte[] placeholder(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(new Color(0xE5, 0xE7, 0xEB));
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "jpeg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hotelservice.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.hotelservice.dto.hotel.DestinationSnapshotDTO;
+import com.example.hotelservice.dto.image.ImageDTO;
+import com.example.hotelservice.service.HotelListingService;
+import com.example.hotelservice.service.HotelService;
+import com.example.hotelservice.service.ImageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HotelControllerTest {
+
+    private static final String IMAGE_ETAG = "abc123";
+    private static final String DESTINATIONS_ETAG = "\"dest456\"";
+
+    private HotelService hotelService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        hotelService = mock(HotelService.class);
+        when(hotelService.getHotelImageETag(any(), any())).thenReturn(IMAGE_ETAG);
+        when(hotelService.getHotelImage(any(), any()))
+                .thenReturn(new ImageDTO(new byte[] { 1, 2, 3 }, IMAGE_ETAG, "image/png", true));
+        when(hotelService.getDestinationsSnapshot()).thenReturn(new DestinationSnapshotDTO(List.of(), DESTINATIONS_ETAG));
+        HotelController controller = new HotelController(hotelService, mock(HotelListingService.class),
+                mock(ImageService.class), new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void imageIsNotModifiedForStrongWeakListedAndWildcardETags() throws Exception {
+        // A compressing proxy turns "abc123" into W/"abc123"; browsers may send several ETags
+        for (String ifNoneMatch : List.of("\"abc123\"", "W/\"abc123\"", "\"old\", W/\"abc123\"", "*")) {
+            mockMvc.perform(get("/hotels/1/image").header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""));
+        }
+        verify(hotelService, never()).getHotelImage(any(), any());
+    }
+
+    @Test
+    void imageIsServedWhenNoETagMatches() throws Exception {
+        mockMvc.perform(get("/hotels/1/image").header(HttpHeaders.IF_NONE_MATCH, "\"old\", W/\"older\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""));
+    }
+
+    @Test
+    void destinationsAreNotModifiedForAWeakOrListedETag() throws Exception {
+        for (String ifNoneMatch : List.of("W/\"dest456\"", "\"old\", \"dest456\"")) {
+            mockMvc.perform(get("/hotels/destinations").header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(status().isNotModified());
+        }
+        mockMvc.perform(get("/hotels/destinations").header(HttpHeaders.IF_NONE_MATCH, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, DESTINATIONS_ETAG));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.hotelservice.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Radius searches over 100k hotels: the grid index against the full scan
+ * with a haversine check per hotel that it replaced. Hotels are clustered
+ * around a few dozen cities, as real listings are. Not run by the test
+ * phase; after {@code mvn -pl hotel-service test-compile} run {@link #main}
+ * from the IDE, or {@code org.openjdk.jmh.Main} with the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotelGeoIndexBenchmark {
+
+    private static final int HOTELS = 100_000;
+    private static final int CITIES = 40;
+    private static final int LIMIT = 50;
+
+    @Param({ "5", "25", "100" })
+    private double radiusKm;
+
+    private List<HotelGeoIndex.Entry> entries;
+    private HotelGeoIndex index;
+    private double latitude;
+    private double longitude;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[][] cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new double[] { random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180 };
+        }
+        entries = new ArrayList<>(HOTELS);
+        for (long id = 1; id <= HOTELS; id++) {
+            double[] city = cities[random.nextInt(CITIES)];
+            // Most hotels within a few dozen kilometres of their city center
+            double lat = Math.max(-90, Math.min(90, city[0] + random.nextGaussian() * 0.3));
+            double lon = city[1] + random.nextGaussian() * 0.3;
+            entries.add(new HotelGeoIndex.Entry(id, lat, lon));
+        }
+        index = new HotelGeoIndex();
+        index.replaceAll(entries);
+        latitude = cities[0][0];
+        longitude = cities[0][1];
+    }
+
+    @Benchmark
+    public List<Long> gridIndex() {
+        return index.findWithin(latitude, longitude, radiusKm, LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> bruteForceScan() {
+        record Match(Long hotelId, double distanceKm) {
+        }
+        List<Match> matches = new ArrayList<>();
+        for (HotelGeoIndex.Entry entry : entries) {
+            double distance = HotelGeoIndex.distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance <= radiusKm) {
+                matches.add(new Match(entry.hotelId(), distance));
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(Match::distanceKm))
+                .limit(LIMIT)
+                .map(Match::hotelId)
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HotelGeoIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.hotelservice.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class HotelGeoIndexTest {
+
+    private static final double[][] CENTERS = {
+            { 0, 0 }, { 13.75, 100.5 }, { 51.5, -0.12 }, { -33.9, 151.2 },
+            { 0.3, 179.95 }, { -0.2, -179.9 }, { 89.9, 45 }, { -89.95, -120 } };
+    private static final double[] RADII_KM = { 0.5, 5, 25, 120, 499 };
+
+    @Test
+    void findWithinMatchesBruteForce() {
+        Random random = new Random(42);
+        List<HotelGeoIndex.Entry> entries = new ArrayList<>();
+        long id = 1;
+        for (double[] center : CENTERS) {
+            // A dense cluster around each center plus a uniform sprinkle
+            for (int i = 0; i < 400; i++) {
+                double latitude = clamp(center[0] + random.nextGaussian() * 2, -90, 90);
+                double longitude = wrap(center[1] + random.nextGaussian() * 2);
+                entries.add(new HotelGeoIndex.Entry(id++, latitude, longitude));
+            }
+        }
+        for (int i = 0; i < 2000; i++) {
+            entries.add(new HotelGeoIndex.Entry(id++, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        HotelGeoIndex index = new HotelGeoIndex();
+        index.replaceAll(entries);
+        Map<Long, HotelGeoIndex.Entry> byId = entries.stream()
+                .collect(Collectors.toMap(HotelGeoIndex.Entry::hotelId, Function.identity()));
+
+        for (double[] center : CENTERS) {
+            for (double radiusKm : RADII_KM) {
+                String query = "center " + center[0] + "," + center[1] + " radius " + radiusKm;
+                List<Long> found = index.findWithin(center[0], center[1], radiusKm, Integer.MAX_VALUE);
+
+                // Points clamped onto a pole tie on distance, so compare membership and order separately
+                assertEquals(Set.copyOf(bruteForce(entries, center[0], center[1], radiusKm)), Set.copyOf(found), query);
+                assertEquals(found.size(), Set.copyOf(found).size(), query);
+                for (int i = 1; i < found.size(); i++) {
+                    assertTrue(distance(byId.get(found.get(i - 1)), center[0], center[1])
+                            <= distance(byId.get(found.get(i)), center[0], center[1]), query);
+                }
+            }
+        }
+    }
+
+    @Test
+    void limitKeepsTheNearest() {
+        HotelGeoIndex index = new HotelGeoIndex();
+        index.put(1L, 10.0, 10.0);
+        index.put(2L, 10.01, 10.0);
+        index.put(3L, 10.2, 10.0);
+
+        assertEquals(List.of(1L, 2L), index.findWithin(10.0, 10.0, 50, 2));
+    }
+
+    @Test
+    void putMovesAndRemoveDropsHotel() {
+        HotelGeoIndex index = new HotelGeoIndex();
+        index.put(1L, 10.0, 10.0);
+        index.put(1L, -10.0, -10.0);
+
+        assertTrue(index.findWithin(10.0, 10.0, 10, 10).isEmpty());
+        assertEquals(List.of(1L), index.findWithin(-10.0, -10.0, 10, 10));
+
+        index.remove(1L);
+        assertTrue(index.findWithin(-10.0, -10.0, 10, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void replaceAllDropsHotelsMissingFromTheNewSet() {
+        HotelGeoIndex index = new HotelGeoIndex();
+        index.put(1L, 10.0, 10.0);
+
+        index.replaceAll(List.of(new HotelGeoIndex.Entry(2L, 10.0, 10.0)));
+
+        assertEquals(List.of(2L), index.findWithin(10.0, 10.0, 10, 10));
+        assertEquals(1, index.size());
+    }
+
+    private static List<Long> bruteForce(List<HotelGeoIndex.Entry> entries, double latitude, double longitude,
+            double radiusKm) {
+        return entries.stream()
+                .filter(entry -> distance(entry, latitude, longitude) <= radiusKm)
+                .map(HotelGeoIndex.Entry::hotelId)
+                .toList();
+    }
+
+    private static double distance(HotelGeoIndex.Entry entry, double latitude, double longitude) {
+        return HotelGeoIndex.distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double wrap(double longitude) {
+        return ((longitude + 180) % 360 + 360) % 360 - 180;
+    }
+}
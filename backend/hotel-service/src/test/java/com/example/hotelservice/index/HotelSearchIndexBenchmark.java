@@ -0,0 +1,109 @@
+package com.example.hotelservice.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Free-text searches over 100k hotels: the trigram index against a linear
+ * {@code contains} scan of the same lower-cased text, the in-memory
+ * equivalent of the {@code LIKE '%x%'} queries it replaced. The scan is
+ * given pre-lower-cased text and a plain field weight, so it is the
+ * cheapest version of that scan. Not run by the test phase; after
+ * {@code mvn -pl hotel-service test-compile} run {@link #main} from the IDE,
+ * or {@code org.openjdk.jmh.Main} with the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotelSearchIndexBenchmark {
+
+    private static final int HOTELS = 100_000;
+    private static final int LIMIT = 20;
+    private static final String[] WORDS = {
+            "grand", "royal", "plaza", "harbour", "garden", "palace", "central", "sunset", "riverside",
+            "park", "ocean", "city", "boutique", "mountain", "lake", "old", "town", "bay", "star", "view",
+            "tower", "heritage", "villa", "lodge", "inn", "suites", "resort", "lotus", "coral", "pearl" };
+    private static final String[] COUNTRIES = {
+            "thailand", "france", "japan", "spain", "italy", "portugal", "germany", "vietnam", "greece", "peru" };
+
+    // A rare name word, a common word, a city and a two-letter term that cannot use trigrams
+    @Param({ "lotus pearl", "grand", "city017", "ba" })
+    private String query;
+
+    private HotelSearchIndex index;
+    private List<HotelSearchIndex.Entry> entries;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entries = new ArrayList<>(HOTELS);
+        for (long id = 1; id <= HOTELS; id++) {
+            String name = word(random) + " " + word(random) + " hotel";
+            String city = String.format(Locale.ROOT, "city%03d", random.nextInt(500));
+            String country = COUNTRIES[random.nextInt(COUNTRIES.length)];
+            String address = (1 + random.nextInt(400)) + " " + word(random) + " street";
+            entries.add(new HotelSearchIndex.Entry(id, name, city, country, address));
+        }
+        index = new HotelSearchIndex();
+        index.replaceAll(entries);
+    }
+
+    @Benchmark
+    public List<Long> trigramIndex() {
+        return index.search(query, LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> linearScan() {
+        record Match(Long hotelId, int score) {
+        }
+        String term = query.toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+        for (HotelSearchIndex.Entry entry : entries) {
+            int score = (entry.name().contains(term) ? 8 : 0)
+                    + (entry.city().contains(term) ? 4 : 0)
+                    + (entry.country().contains(term) ? 2 : 0)
+                    + (entry.address().contains(term) ? 1 : 0);
+            if (score > 0) {
+                matches.add(new Match(entry.hotelId(), score));
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::score).reversed().thenComparing(Match::hotelId))
+                .limit(LIMIT)
+                .map(Match::hotelId)
+                .toList();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HotelSearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hotelservice.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HotelSearchIndexTest {
+
+    private HotelSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelSearchIndex();
+        index.put(1L, "Hôtel Le Méridien", "Paris", "France", "12 Rue de Rivoli");
+        index.put(2L, "Riverside Inn", "São Paulo", "Brazil", "Avenida Paulista 1000");
+        index.put(3L, "Grand Palace", "Bangkok", "Thailand", "4 Na Phra Lan Road");
+        index.put(4L, "Palace Lodge", "Zürich", "Switzerland", "Bahnhofstrasse 7");
+    }
+
+    @Test
+    void normalizeDropsAccentsAndCase() {
+        assertEquals("sao paulo", HotelSearchIndex.normalize("  São Paulo "));
+        assertEquals("zurich", HotelSearchIndex.normalize("ZÜRICH"));
+        assertEquals("", HotelSearchIndex.normalize(null));
+    }
+
+    @Test
+    void searchIgnoresAccentsInTextAndQuery() {
+        assertEquals(List.of(1L), index.search("meridien", 10));
+        assertEquals(List.of(1L), index.search("MÉRIDIEN", 10));
+        assertEquals(List.of(2L), index.search("sao", 10));
+        assertEquals(List.of(4L), index.search("Zürich", 10));
+    }
+
+    @Test
+    void trigramsMustBeContiguousInTheText() {
+        // "ace" and "pal" are both trigrams of "palace", but "acepal" is not a substring
+        assertTrue(index.search("acepal", 10).isEmpty());
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void shortTermsFallBackToScanningStoredText() {
+        assertEquals(List.of(4L), index.search("zü", 10));
+        // Name prefix, then name and address matches, then the city "zurich"
+        assertEquals(List.of(2L, 1L, 4L), index.search("ri", 10));
+    }
+
+    @Test
+    void nameMatchesRankAboveOtherFieldsAndPrefixesAboveSubstrings() {
+        index.put(5L, "Seaview", "Palace City", "Nowhere", "");
+
+        // Prefix name match, then word-prefix name match, then the city match
+        assertEquals(List.of(4L, 3L, 5L), index.search("palace", 10));
+        assertEquals(List.of(4L), index.search("palace", 1));
+    }
+
+    @Test
+    void searchLocationMatchesCityAndCountry() {
+        assertEquals(List.of(2L), index.searchLocation("sao paulo", "brazil", 10));
+        assertTrue(index.searchLocation("sao paulo", "france", 10).isEmpty());
+        assertEquals(List.of(4L), index.searchLocation("", "switz", 10));
+    }
+
+    @Test
+    void putReplacesTextAndRemoveDropsHotel() {
+        index.put(3L, "Riverside Hostel", "Bangkok", "Thailand", "");
+        assertEquals(List.of(4L), index.search("palace", 10));
+        // Equal scores, so the shorter name comes first
+        assertEquals(List.of(2L, 3L), index.search("riverside", 10));
+
+        index.remove(3L);
+        assertEquals(List.of(2L), index.search("riverside", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void replaceAllSwapsInTheNewSet() {
+        index.replaceAll(List.of(new HotelSearchIndex.Entry(9L, "Café Nöel", "Köln", "Germany", null)));
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("palace", 10).isEmpty());
+        assertEquals(List.of(9L), index.search("cafe noel", 10));
+        assertEquals(List.of(9L), index.searchLocation("koln", "", 10));
+    }
+}
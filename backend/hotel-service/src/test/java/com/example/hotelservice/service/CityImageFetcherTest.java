@@ -0,0 +1,186 @@
+package com.example.hotelservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.hotelservice.client.PixabayClient;
+import com.example.hotelservice.entity.cityimage.CityImage;
+import com.example.hotelservice.repository.CityImageRepository;
+import com.example.hotelservice.util.ImageUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the fetcher against a local stub of the Pixabay API, so the real
+ * client and HTTP calls are exercised and every request can be counted.
+ */
+class CityImageFetcherTest {
+
+    private static final byte[] IMAGE = "fake-jpeg-bytes".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private CityImageRepository cityImageRepo;
+    private final AtomicInteger searches = new AtomicInteger();
+    private final AtomicInteger downloads = new AtomicInteger();
+    // Holds search responses back until released, so concurrent fetches overlap
+    private volatile CountDownLatch searchGate = new CountDownLatch(0);
+    private volatile int searchStatus = 200;
+    private volatile boolean searchHasHits = true;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/", this::handleSearch);
+        server.createContext("/images/", exchange -> {
+            downloads.incrementAndGet();
+            respond(exchange, 200, IMAGE);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        cityImageRepo = mock(CityImageRepository.class);
+        when(cityImageRepo.findImageHashByCity(anyString())).thenReturn(Optional.empty());
+        when(cityImageRepo.save(any(CityImage.class))).thenAnswer(invocation -> {
+            CityImage saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchGate.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentFetchesOfOneCityShareOneRequest() throws Exception {
+        CityImageFetcher fetcher = fetcher(Duration.ofMinutes(10));
+        searchGate = new CountDownLatch(1);
+
+        List<CompletableFuture<Optional<String>>> futures = new ArrayList<>();
+        for (String city : List.of("Paris", "paris", " PARIS ", "Paris", "Paris")) {
+            futures.add(fetcher.fetch(city, "France"));
+        }
+        for (CompletableFuture<Optional<String>> future : futures) {
+            assertSame(futures.get(0), future);
+        }
+        searchGate.countDown();
+
+        assertEquals(Optional.of(ImageUtils.hash(IMAGE)), futures.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals(1, searches.get());
+        assertEquals(1, downloads.get());
+        verify(cityImageRepo, times(1)).save(any(CityImage.class));
+    }
+
+    @Test
+    void differentCitiesFetchIndependently() throws Exception {
+        CityImageFetcher fetcher = fetcher(Duration.ofMinutes(10));
+
+        CompletableFuture<Optional<String>> paris = fetcher.fetch("Paris", "France");
+        CompletableFuture<Optional<String>> rome = fetcher.fetch("Rome", "Italy");
+
+        assertTrue(paris.get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(rome.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void cityWithoutPhotoIsNotRetriedWithinTheNegativeTtl() throws Exception {
+        CityImageFetcher fetcher = fetcher(Duration.ofMinutes(10));
+        searchHasHits = false;
+
+        assertEquals(Optional.empty(), fetcher.fetch("Nowhere", null).get(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<String>> again = fetcher.fetch("nowhere", null);
+
+        assertTrue(again.isDone());
+        assertEquals(Optional.empty(), again.get());
+        assertEquals(1, searches.get());
+        assertEquals(0, downloads.get());
+    }
+
+    @Test
+    void failedRequestCountsAsAMiss() throws Exception {
+        CityImageFetcher fetcher = fetcher(Duration.ofMinutes(10));
+        searchStatus = 500;
+
+        assertEquals(Optional.empty(), fetcher.fetch("Paris", "France").get(5, TimeUnit.SECONDS));
+        assertTrue(fetcher.fetch("Paris", "France").isDone());
+        assertEquals(1, searches.get());
+    }
+
+    @Test
+    void missIsRetriedOnceTheNegativeTtlHasPassed() throws Exception {
+        CityImageFetcher fetcher = fetcher(Duration.ZERO);
+        searchHasHits = false;
+        assertEquals(Optional.empty(), fetcher.fetch("Paris", "France").get(5, TimeUnit.SECONDS));
+
+        searchHasHits = true;
+        assertEquals(Optional.of(ImageUtils.hash(IMAGE)), fetcher.fetch("Paris", "France").get(5, TimeUnit.SECONDS));
+        assertEquals(2, searches.get());
+        assertEquals(1, downloads.get());
+    }
+
+    private CityImageFetcher fetcher(Duration negativeTtl) {
+        String apiUrl = "http://localhost:" + server.getAddress().getPort() + "/api/";
+        PixabayClient client = new PixabayClient(new RestTemplate(), apiUrl, "test-key");
+        return new CityImageFetcher(client, cityImageRepo, mock(ApplicationEventPublisher.class), executor,
+                negativeTtl);
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        searches.incrementAndGet();
+        try {
+            searchGate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (searchStatus != 200) {
+            respond(exchange, searchStatus, new byte[0]);
+            return;
+        }
+        String imageUrl = "http://localhost:" + server.getAddress().getPort() + "/images/1.jpg";
+        String body = searchHasHits
+                ? "{\"hits\":[{\"largeImageURL\":\"" + imageUrl + "\"}]}"
+                : "{\"hits\":[]}";
+        respond(exchange, 200, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.hotelservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.hotelservice.dto.hotel.HotelDestinationDTO;
+import com.example.hotelservice.event.HotelChangedEvent;
+import com.example.hotelservice.repository.CityImageRepository;
+import com.example.hotelservice.repository.HotelRepository;
+
+class DestinationSnapshotServiceTest {
+
+    private HotelRepository hotelRepository;
+    private DestinationSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        hotelRepository = mock(HotelRepository.class);
+        CityImageRepository cityImageRepository = mock(CityImageRepository.class);
+        when(cityImageRepository.findAllCityImageHashes()).thenReturn(List.of());
+        service = new DestinationSnapshotService(hotelRepository, cityImageRepository);
+    }
+
+    @Test
+    void reloadReplacesCounts() {
+        when(hotelRepository.countHotelsByCityAndCountry()).thenReturn(rows(
+                new Object[] { "Paris", "France", 3L },
+                new Object[] { "Rome", "Italy", 1L }));
+        service.reload();
+
+        assertEquals(Map.of("Paris", 3L, "Rome", 1L), counts());
+        assertTrue(service.isDestination(" paris "));
+        assertFalse(service.isDestination("Nowhere"));
+    }
+
+    @Test
+    void localChangesAdjustCountsBetweenReloads() {
+        when(hotelRepository.countHotelsByCityAndCountry()).thenReturn(rows(
+                new Object[] { "Paris", "France", 1L }));
+        service.reload();
+
+        service.onHotelChanged(new HotelChangedEvent(2L, null, null, "Rome", "Italy"));
+        service.onHotelChanged(new HotelChangedEvent(1L, "Paris", "France", "Rome", "Italy"));
+
+        assertEquals(Map.of("Rome", 2L), counts());
+    }
+
+    @Test
+    void changeCommittedDuringAReloadIsNotLost() {
+        // The change commits after the GROUP BY has read Paris, so the loaded counts miss it
+        when(hotelRepository.countHotelsByCityAndCountry()).thenAnswer(invocation -> {
+            service.onHotelChanged(new HotelChangedEvent(9L, null, null, "Paris", "France"));
+            return rows(new Object[] { "Paris", "France", 1L });
+        });
+        when(hotelRepository.countByCityAndCountry("Paris", "France")).thenReturn(2L);
+
+        service.reload();
+
+        assertEquals(Map.of("Paris", 2L), counts());
+    }
+
+    private Map<String, Long> counts() {
+        return service.getSnapshot().destinations().stream()
+                .collect(Collectors.toMap(HotelDestinationDTO::getCity, HotelDestinationDTO::getCount));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+}
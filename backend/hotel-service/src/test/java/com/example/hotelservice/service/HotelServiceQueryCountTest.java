@@ -0,0 +1,153 @@
+package com.example.hotelservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hotelservice.dto.hotel.HotelSearchDTO;
+import com.example.hotelservice.entity.hotel.Hotel;
+import com.example.hotelservice.entity.room.DoubleRoom;
+import com.example.hotelservice.entity.room.SingleRoom;
+import com.example.hotelservice.index.HotelGeoIndex;
+import com.example.hotelservice.index.HotelSearchIndex;
+import com.example.hotelservice.repository.HotelRatingSummaryRepository;
+import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.ReviewRepository;
+import com.example.hotelservice.repository.RoomRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the statements a hotel lookup runs, serialization included, inside
+ * one transaction as open-in-view would. The count must not grow with the
+ * number of hotels.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotel;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotelServiceQueryCountTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private HotelRatingSummaryRepository ratingSummaryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private HotelService hotelService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        hotelService = new HotelService(
+                hotelRepository,
+                new RoomService(roomRepository, hotelRepository),
+                new ReviewService(reviewRepository, ratingSummaryRepository),
+                mock(HotelGeoIndex.class),
+                mock(HotelSearchIndex.class),
+                mock(ImageRenditionService.class),
+                mock(ApplicationEventPublisher.class),
+                mock(DestinationSnapshotService.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM hotel_rating_summaries");
+        jdbcTemplate.update("DELETE FROM room");
+        jdbcTemplate.update("DELETE FROM hotel");
+    }
+
+    @Test
+    void getHotelsByIdsRunsAFixedNumberOfStatements() {
+        // More hotels than hibernate.default_batch_fetch_size, so lazy batches would show up
+        List<Long> ids = createHotels(150);
+
+        long few = statementsFor(ids.subList(0, 2));
+        long many = statementsFor(ids);
+
+        assertEquals(few, many);
+        assertEquals(4, many);
+    }
+
+    @Test
+    void getHotelsByIdsStillReturnsEachHotelsRooms() {
+        List<Long> ids = createHotels(3);
+
+        List<HotelSearchDTO> hotels = new TransactionTemplate(transactionManager)
+                .execute(status -> hotelService.getHotelsByIds(ids));
+
+        for (HotelSearchDTO hotel : hotels) {
+            assertEquals(2, hotel.getRooms().size());
+            hotel.getRooms().forEach(room -> assertEquals(hotel.getId(), room.getHotelId()));
+            assertEquals(100.0, hotel.getMinPrice());
+            assertEquals(4.0, hotel.getAverageRating());
+        }
+    }
+
+    /** Statements run to load the hotels and write them out as JSON */
+    private long statementsFor(List<Long> ids) {
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                objectMapper.writeValueAsString(hotelService.getHotelsByIds(ids));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> createHotels(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setName("Hotel " + i);
+            hotel.setCity("Bangkok");
+            hotel.setCountry("Thailand");
+            hotel = hotelRepository.save(hotel);
+            roomRepository.save(new SingleRoom(hotel, 1L, 100, 1));
+            roomRepository.save(new DoubleRoom(hotel, 2L, 150, 2));
+            jdbcTemplate.update("INSERT INTO hotel_rating_summaries (hotel_id, review_count, rating_sum, "
+                    + "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count) "
+                    + "VALUES (?, 2, 8, 0, 0, 0, 2, 0)", hotel.getId());
+            ids.add(hotel.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hotelservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.hotelservice.entity.rendition.ImageOwnerType;
+import com.example.hotelservice.entity.rendition.ImageSize;
+import com.example.hotelservice.repository.ImageRenditionRepository;
+
+class ImageRenditionServiceTest {
+
+    private ImageRenditionRepository renditionRepository;
+    // Jobs are held here until run, so the test controls when they execute
+    private final List<Runnable> queued = new ArrayList<>();
+    private ImageRenditionService service;
+
+    @BeforeEach
+    void setUp() {
+        renditionRepository = mock(ImageRenditionRepository.class);
+        when(renditionRepository.findByOwnerTypeAndOwnerIdAndSize(any(), any(), any())).thenReturn(Optional.empty());
+        service = new ImageRenditionService(renditionRepository, queued::add);
+    }
+
+    @Test
+    void queuesAnImageOnceWhileItsJobIsPending() throws IOException {
+        byte[] png = png(40, 30);
+        for (int i = 0; i < 50; i++) {
+            service.scheduleRenditions(ImageOwnerType.HOTEL, 1L, png, "hash");
+        }
+        assertEquals(1, queued.size());
+
+        runQueued();
+        verify(renditionRepository, times(ImageSize.RENDITIONS.size())).save(any());
+
+        // A new original is a new job
+        service.scheduleRenditions(ImageOwnerType.HOTEL, 1L, png, "other-hash");
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void doesNotRetryImagesThatCannotBeRendered() {
+        byte[] notAnImage = "not an image".getBytes(StandardCharsets.UTF_8);
+        service.scheduleRenditions(ImageOwnerType.CITY, 2L, notAnImage, "hash");
+        runQueued();
+
+        service.scheduleRenditions(ImageOwnerType.CITY, 2L, notAnImage, "hash");
+        service.resolve(ImageOwnerType.CITY, 2L, "hash", ImageSize.CARD, () -> notAnImage);
+
+        assertEquals(0, queued.size());
+        verify(renditionRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectsOversizedImagesFromTheirHeader() throws IOException {
+        assertNotNull(ImageRenditionService.decode(png(40, 30)));
+        // 1x1 pixels on disk, 100000x100000 declared: would need 40 GB to decode
+        assertNull(ImageRenditionService.decode(withDeclaredSize(png(1, 1), 100_000, 100_000)));
+    }
+
+    private void runQueued() {
+        List<Runnable> jobs = new ArrayList<>(queued);
+        queued.clear();
+        jobs.forEach(Runnable::run);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    /** Rewrites the width and height in the PNG's IHDR chunk, right after the 8-byte signature and chunk header */
+    private static byte[] withDeclaredSize(byte[] png, int width, int height) {
+        byte[] patched = png.clone();
+        ByteBuffer.wrap(patched, 16, 8).putInt(width).putInt(height);
+        return patched;
+    }
+}
@@ -78,13 +78,18 @@ CREATE TABLE IF NOT EXISTS hotel (
     city VARCHAR(255) DEFAULT NULL,
     country VARCHAR(255) DEFAULT NULL,
     image LONGBLOB DEFAULT NULL,
+    image_hash VARCHAR(64) DEFAULT NULL,
     description TEXT DEFAULT NULL,
     contact VARCHAR(255) DEFAULT NULL,
     check_in TIME DEFAULT NULL,
     check_out TIME DEFAULT NULL,
+    min_price DOUBLE DEFAULT NULL,
+    average_rating DOUBLE NOT NULL DEFAULT 0,
     PRIMARY KEY (id),
     KEY idx_hotel_city (city),
-    KEY idx_hotel_country (country)
+    KEY idx_hotel_country (country),
+    KEY idx_hotel_min_price (min_price, id),
+    KEY idx_hotel_average_rating (average_rating DESC, id)
 ) ENGINE=InnoDB;
 
 -- Sample hotels with location and check-in/out variations
@@ -141,16 +146,42 @@ CREATE TABLE IF NOT EXISTS review (
     CONSTRAINT fk_review_hotel FOREIGN KEY (hotel_id) REFERENCES hotel(id) ON DELETE SET NULL
 ) ENGINE=InnoDB;
 
+CREATE TABLE IF NOT EXISTS hotel_rating_summaries (
+    hotel_id BIGINT NOT NULL,
+    review_count BIGINT NOT NULL,
+    rating_sum BIGINT NOT NULL,
+    one_star_count BIGINT NOT NULL,
+    two_star_count BIGINT NOT NULL,
+    three_star_count BIGINT NOT NULL,
+    four_star_count BIGINT NOT NULL,
+    five_star_count BIGINT NOT NULL,
+    PRIMARY KEY (hotel_id)
+) ENGINE=InnoDB;
+
 CREATE TABLE IF NOT EXISTS city_images (
     id BIGINT NOT NULL AUTO_INCREMENT,
     city VARCHAR(100) NOT NULL,
     country VARCHAR(100),
     image_data LONGBLOB,
+    image_hash VARCHAR(64) DEFAULT NULL,
     created_at DATETIME(6) NOT NULL,
     PRIMARY KEY (id),
     UNIQUE KEY uk_city_images_city (city)
 ) ENGINE=InnoDB;
 
+CREATE TABLE IF NOT EXISTS image_renditions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    owner_type VARCHAR(20) NOT NULL,
+    owner_id BIGINT NOT NULL,
+    size VARCHAR(20) NOT NULL,
+    source_hash VARCHAR(64) NOT NULL,
+    content_type VARCHAR(50) NOT NULL,
+    image_data MEDIUMBLOB,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_image_renditions_owner_size (owner_type, owner_id, size)
+) ENGINE=InnoDB;
+
 -- ============================================================
 -- StayMate_Booking (booking-service)
 -- ============================================================
@@ -166,12 +197,57 @@ CREATE TABLE IF NOT EXISTS booking (
     total_amount DECIMAL(19,2) DEFAULT NULL,
     status ENUM('PENDING','CONFIRMED','CANCELLED') DEFAULT NULL,
     booking_date DATE DEFAULT NULL,
+    room_type VARCHAR(20) DEFAULT NULL,
     PRIMARY KEY (id),
     KEY idx_booking_user_id (user_id),
     KEY idx_booking_hotel_room (hotel_id, room_id),
     KEY idx_booking_status (status)
 ) ENGINE=InnoDB;
 
+CREATE TABLE IF NOT EXISTS room_inventory (
+    hotel_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    PRIMARY KEY (hotel_id, room_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS room_night (
+    hotel_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    night DATE NOT NULL,
+    booking_id BIGINT NOT NULL,
+    PRIMARY KEY (hotel_id, room_id, night),
+    KEY idx_room_night_booking_id (booking_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500) DEFAULT NULL,
+    parked_at DATETIME(6) DEFAULT NULL,
+    PRIMARY KEY (id),
+    KEY idx_notification_outbox_due (parked_at, next_attempt_at, id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS hotel_daily_stats (
+    hotel_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    room_type VARCHAR(20) NOT NULL,
+    nights_sold INT NOT NULL,
+    revenue DECIMAL(19,2) NOT NULL,
+    cancellations INT NOT NULL,
+    PRIMARY KEY (hotel_id, stat_date, room_type)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS stats_backfill (
+    name VARCHAR(64) NOT NULL,
+    completed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
+
 -- ============================================================
 -- StayMate_Notification (notification-service)
 -- ============================================================
@@ -201,7 +277,16 @@ CREATE TABLE IF NOT EXISTS payment (
     amount DOUBLE NOT NULL,
     transaction_date DATETIME(6) DEFAULT NULL,
     status ENUM('PENDING','SUCCESS','FAILED') DEFAULT NULL,
+    processing_heartbeat DATETIME(6) DEFAULT NULL,
     PRIMARY KEY (id),
     KEY idx_payment_booking_id (booking_id),
     KEY idx_payment_status (status)
 ) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS booking_balance (
+    booking_id BIGINT NOT NULL,
+    total_due DOUBLE NOT NULL,
+    total_paid DOUBLE NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (booking_id)
+) ENGINE=InnoDB;
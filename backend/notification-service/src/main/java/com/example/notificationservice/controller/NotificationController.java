@@ -41,6 +41,14 @@ public class NotificationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    // Create notifications for several users in one call
+    @PostMapping("/batch")
+    public ResponseEntity<List<Notification>> createNotifications(
+            @RequestBody List<NotificationRequestDTO> requests) {
+        List<Notification> saved = notificationService.createNotifications(requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
     // Get all notifications for a user
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Notification>> getNotificationsByUserId(@PathVariable Long userId) {
@@ -16,6 +16,8 @@ import com.example.notificationservice.repository.NotificationRepository;
 @Service
 public class NotificationService {
 
+    private static final int MAX_BATCH_NOTIFICATIONS = 500;
+
     private final NotificationRepository notificationRepository;
     private final UserClient userClient;
 
@@ -34,6 +36,24 @@ public class NotificationService {
         return notificationRepository.save(notification);
     }
 
+    // Create many notifications in one transaction, all or none
+    @Transactional
+    public List<Notification> createNotifications(List<NotificationRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one notification is required.");
+        }
+        if (requests.size() > MAX_BATCH_NOTIFICATIONS) {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_BATCH_NOTIFICATIONS + " notifications can be created at once.");
+        }
+        requests.forEach(this::validateCreateRequest);
+
+        List<Notification> notifications = requests.stream()
+                .map(request -> buildNotification(request.getUserId(), request.getMessage().trim(), request.getType()))
+                .toList();
+        return notificationRepository.saveAll(notifications);
+    }
+
     // Get all notifications for a user
     public List<Notification> getNotificationsByUserId(Long userId) {
         validateUserId(userId);
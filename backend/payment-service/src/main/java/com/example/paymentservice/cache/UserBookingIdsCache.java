@@ -0,0 +1,71 @@
+package com.example.paymentservice.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recently looked up user to booking IDs mappings, so repeat views of a
+ * user's payment history skip the call to booking-service. Entries expire
+ * after {@code ttl}; payments made through this instance add their booking
+ * to the owner's entry right away, so a new booking's payments never go
+ * missing here while the entry is live.
+ */
+@Component
+public class UserBookingIdsCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<Long, Entry> entries;
+
+    public UserBookingIdsCache(
+            @Value("${payment.user-bookings-cache.max-size:10000}") int maxSize,
+            @Value("${payment.user-bookings-cache.ttl:PT5M}") Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > UserBookingIdsCache.this.maxSize;
+            }
+        };
+    }
+
+    /** The user's booking IDs in ascending order, if cached and not expired */
+    public synchronized Optional<List<Long>> get(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(userId);
+            return Optional.empty();
+        }
+        return Optional.of(List.copyOf(entry.bookingIds()));
+    }
+
+    public synchronized void put(Long userId, List<Long> bookingIds) {
+        entries.put(userId, new Entry(new TreeSet<>(bookingIds), System.currentTimeMillis() + ttlMillis));
+    }
+
+    /** Adds a booking to the user's entry when one is cached; otherwise the next lookup fetches it anyway */
+    public synchronized void addBooking(Long userId, Long bookingId) {
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            entry.bookingIds().add(bookingId);
+        }
+    }
+
+    private record Entry(Set<Long> bookingIds, long expiresAt) {
+    }
+}
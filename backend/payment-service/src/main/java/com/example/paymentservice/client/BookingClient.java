@@ -5,43 +5,41 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import com.example.paymentservice.dto.booking.BookingDTO;
-import com.example.paymentservice.dto.booking.UserBookingDTO;
+import com.example.paymentservice.dto.booking.BookingServiceResponse;
 import com.example.paymentservice.exception.BookingClientException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 @Component
 public class BookingClient {
     private static final String DISCOVERY_BASE_PREFIX = "http://";
     private static final String BOOKING_BY_ID_PATH = "/bookings/%d";
-    private static final String BOOKINGS_BY_USER_PATH = "/bookings/user/%d";
+    private static final String BOOKING_IDS_BY_USER_PATH = "/bookings/user/%d/ids";
     private static final String BOOKING_STATUS_PATH = "/bookings/%d/status";
     private static final String STATUS_PARAM = "status";
-    private static final String DATA_KEY = "data";
 
-    private static final TypeReference<List<UserBookingDTO>> USER_BOOKING_LIST_TYPE = new TypeReference<>() {
-    };
+    // Responses are decoded straight from the body into these types
+    private static final ParameterizedTypeReference<BookingServiceResponse<BookingDTO>> BOOKING_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<BookingServiceResponse<List<Long>>> ID_LIST_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
 
     private final RestTemplate restTemplate;
     private final String bookingServiceName;
 
-    private final ObjectMapper mapper;
-
     public BookingClient(
             RestTemplate restTemplate,
             @Value("${booking.service.name:booking-service}") String bookingServiceName) {
         this.restTemplate = restTemplate;
         this.bookingServiceName = bookingServiceName;
-        this.mapper = new ObjectMapper();
-        this.mapper.registerModule(new JavaTimeModule()); // Support for LocalDate / LocalDateTime
     }
 
     /**
@@ -50,15 +48,7 @@ public class BookingClient {
     public Optional<BookingDTO> getBookingById(Long bookingId) {
         try {
             String url = buildUrl(BOOKING_BY_ID_PATH, bookingId);
-            String responseStr = restTemplate.getForObject(url, String.class);
-
-            JsonNode dataNode = extractDataNode(responseStr);
-            if (dataNode.isMissingNode() || dataNode.isNull()) {
-                return Optional.empty();
-            }
-
-            BookingDTO booking = mapper.treeToValue(dataNode, BookingDTO.class);
-            return Optional.of(booking);
+            return Optional.ofNullable(get(url, BOOKING_TYPE));
 
         } catch (HttpClientErrorException.NotFound e) {
             return Optional.empty();
@@ -69,23 +59,19 @@ public class BookingClient {
     }
 
     /**
-     * Fetch bookings for a user
+     * Fetch only the IDs of a user's bookings
      */
-    public List<UserBookingDTO> getBookingsByUserId(Long userId) {
+    public List<Long> getBookingIdsByUserId(Long userId) {
         try {
-            String url = buildUrl(BOOKINGS_BY_USER_PATH, userId);
-            String responseStr = restTemplate.getForObject(url, String.class);
-            JsonNode dataNode = extractDataNode(responseStr);
-            if (dataNode.isMissingNode() || dataNode.isNull()) {
-                return Collections.emptyList();
-            }
-            return mapper.readValue(dataNode.toString(), USER_BOOKING_LIST_TYPE);
+            String url = buildUrl(BOOKING_IDS_BY_USER_PATH, userId);
+            List<Long> bookingIds = get(url, ID_LIST_TYPE);
+            return bookingIds != null ? bookingIds : Collections.emptyList();
 
         } catch (HttpClientErrorException.NotFound e) {
             return Collections.emptyList();
         } catch (Exception e) {
             throw new BookingClientException(
-                    "Failed to fetch bookings for user ID: " + userId + ". " + e.getMessage(), e);
+                    "Failed to fetch booking IDs for user ID: " + userId + ". " + e.getMessage(), e);
         }
     }
 
@@ -118,8 +104,10 @@ public class BookingClient {
                 .toUriString();
     }
 
-    private JsonNode extractDataNode(String responseStr) throws Exception {
-        return mapper.readTree(responseStr).path(DATA_KEY);
+    /** The {@code data} of a GET response; null when the body or its data is missing */
+    private <T> T get(String url, ParameterizedTypeReference<BookingServiceResponse<T>> type) {
+        BookingServiceResponse<T> response = restTemplate.exchange(url, HttpMethod.GET, null, type).getBody();
+        return response != null ? response.data() : null;
     }
 
     private String resolveBaseUrl() {
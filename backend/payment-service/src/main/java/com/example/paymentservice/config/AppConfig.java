@@ -1,8 +1,12 @@
 package com.example.paymentservice.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -15,4 +19,49 @@ public class AppConfig {
         factory.setReadTimeout(5000);
         return new RestTemplate(factory);
     }
+
+    /** Credit card gateway calls of async payments; a full queue rejects new payments */
+    @Bean
+    public ThreadPoolTaskExecutor creditCardGatewayExecutor(
+            @Value("${payment.gateway.credit-card.pool-size:8}") int poolSize,
+            @Value("${payment.gateway.credit-card.queue-capacity:100}") int queueCapacity) {
+        return gatewayExecutor("gateway-credit-card-", poolSize, queueCapacity);
+    }
+
+    /** PayPal gateway calls of async payments; a full queue rejects new payments */
+    @Bean
+    public ThreadPoolTaskExecutor paypalGatewayExecutor(
+            @Value("${payment.gateway.paypal.pool-size:8}") int poolSize,
+            @Value("${payment.gateway.paypal.queue-capacity:100}") int queueCapacity) {
+        return gatewayExecutor("gateway-paypal-", poolSize, queueCapacity);
+    }
+
+    /** Stripe gateway calls of async payments; a full queue rejects new payments */
+    @Bean
+    public ThreadPoolTaskExecutor stripeGatewayExecutor(
+            @Value("${payment.gateway.stripe.pool-size:8}") int poolSize,
+            @Value("${payment.gateway.stripe.queue-capacity:100}") int queueCapacity) {
+        return gatewayExecutor("gateway-stripe-", poolSize, queueCapacity);
+    }
+
+    /** Stores gateway outcomes and notifies users; a full queue runs the work on the caller */
+    @Bean
+    public ThreadPoolTaskExecutor paymentCompletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("payment-completion-");
+        return executor;
+    }
+
+    private static ThreadPoolTaskExecutor gatewayExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
 }
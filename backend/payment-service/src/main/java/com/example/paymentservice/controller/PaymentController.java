@@ -1,5 +1,6 @@
 package com.example.paymentservice.controller;
 
+import java.net.URI;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
@@ -13,11 +14,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.paymentservice.dto.custom.CursorPageResponse;
 import com.example.paymentservice.dto.custom.CustomResponse;
 import com.example.paymentservice.dto.payment.PaymentIdResponseDTO;
+import com.example.paymentservice.dto.payment.PaymentPage;
 import com.example.paymentservice.dto.payment.PaymentRequestDTO;
 import com.example.paymentservice.entity.Payment;
 import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.service.AsyncPaymentProcessor;
 import com.example.paymentservice.service.PaymentService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,9 +34,11 @@ import jakarta.validation.Valid;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final AsyncPaymentProcessor asyncPaymentProcessor;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, AsyncPaymentProcessor asyncPaymentProcessor) {
         this.paymentService = paymentService;
+        this.asyncPaymentProcessor = asyncPaymentProcessor;
     }
 
     /**
@@ -55,6 +61,27 @@ public class PaymentController {
                         null));
     }
 
+    /**
+     * Accept a payment and process it in the background
+     */
+    @Operation(summary = "Accept a payment for asynchronous processing",
+            description = "Returns 202 with the payment's URL in Location; poll it until the status leaves PENDING")
+    @PostMapping("/async")
+    public ResponseEntity<CustomResponse<PaymentIdResponseDTO>> acceptPayment(
+            @Parameter(description = "Payment details") @Valid @RequestBody PaymentRequestDTO paymentRequestDTO,
+            @RequestParam PaymentMethod paymentMethod) {
+
+        Payment payment = asyncPaymentProcessor.accept(
+                paymentRequestDTO.getBookingId(),
+                paymentMethod,
+                paymentRequestDTO.getAmount());
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/payments/" + payment.getId()))
+                .body(new CustomResponse<>("Payment accepted for processing",
+                        new PaymentIdResponseDTO(payment)));
+    }
+
     /**
      * Get payment by ID
      */
@@ -78,13 +105,20 @@ public class PaymentController {
     }
 
     /**
-     * Get payments by user ID
+     * Get payments by user ID, one page at a time
      */
-    @Operation(summary = "Get payments by user ID")
+    @Operation(summary = "Get payments by user ID", description = "Cursor-paginated in payment ID order")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<CustomResponse<List<PaymentIdResponseDTO>>> getPaymentsByUserId(
-            @PathVariable Long userId) {
-        return buildPaymentListResponse(paymentService.getPaymentsByUserId(userId));
+    public ResponseEntity<CursorPageResponse<PaymentIdResponseDTO>> getPaymentsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PaymentService.DEFAULT_PAGE_SIZE) int limit) {
+        PaymentPage page = paymentService.getPaymentsByUserId(userId, cursor, limit);
+        List<PaymentIdResponseDTO> paymentDTOs = page.payments().stream()
+                .map(PaymentIdResponseDTO::new)
+                .toList();
+        return ResponseEntity.ok(
+                new CursorPageResponse<>("Payments retrieved successfully", paymentDTOs, page.nextCursor()));
     }
 
     /**
@@ -0,0 +1,11 @@
+package com.example.paymentservice.dto.booking;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Envelope of booking-service's read endpoints, which return their payload
+ * under {@code data}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BookingServiceResponse<T>(T data) {
+}
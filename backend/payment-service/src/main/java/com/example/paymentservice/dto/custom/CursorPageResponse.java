@@ -0,0 +1,24 @@
+package com.example.paymentservice.dto.custom;
+
+import java.util.List;
+
+/**
+ * A {@link CustomResponse} holding one page of items. {@code nextCursor} is
+ * null on the last page.
+ */
+public class CursorPageResponse<T> extends CustomResponse<List<T>> {
+    private String nextCursor;
+
+    public CursorPageResponse(String message, List<T> data, String nextCursor) {
+        super(message, data);
+        this.nextCursor = nextCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.paymentservice.dto.payment;
+
+import java.util.List;
+
+import com.example.paymentservice.entity.Payment;
+
+/**
+ * One page of payments in ID order. {@code nextCursor} is null on the last page.
+ */
+public record PaymentPage(List<Payment> payments, String nextCursor) {
+}
@@ -0,0 +1,80 @@
+package com.example.paymentservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * Running balance of one booking: what is due and what successful payments
+ * have covered so far. Updates are guarded by {@code version}, so two
+ * payments for the same booking cannot both spend the same remaining amount.
+ */
+@Entity
+@Table(name = "booking_balance")
+public class BookingBalance {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "total_due", nullable = false)
+    private double totalDue;
+
+    @Column(name = "total_paid", nullable = false)
+    private double totalPaid;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    protected BookingBalance() {
+    }
+
+    public BookingBalance(Long bookingId, double totalDue, double totalPaid) {
+        this.bookingId = bookingId;
+        this.totalDue = totalDue;
+        this.totalPaid = totalPaid;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public double getTotalDue() {
+        return totalDue;
+    }
+
+    public double getTotalPaid() {
+        return totalPaid;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public double getRemaining() {
+        return totalDue - totalPaid;
+    }
+
+    public boolean isFullyPaid() {
+        return totalPaid >= totalDue;
+    }
+
+    public void setTotalDue(double totalDue) {
+        this.totalDue = totalDue;
+    }
+
+    // --- Balance state methods ---
+    public void recordPayment(double amount) {
+        if (amount > getRemaining()) {
+            throw new IllegalArgumentException("Payment exceeds remaining balance. Remaining amount: " + getRemaining());
+        }
+        this.totalPaid += amount;
+    }
+
+    public void reversePayment(double amount) {
+        this.totalPaid -= amount;
+    }
+}
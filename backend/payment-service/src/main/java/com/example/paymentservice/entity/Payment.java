@@ -8,8 +8,14 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(name = "payment", indexes = {
+        @Index(name = "idx_payment_booking_id", columnList = "booking_id"),
+        @Index(name = "idx_payment_status", columnList = "status")
+})
 public class Payment {
 
     @Id
@@ -27,6 +33,9 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentStatus status; // PENDING, SUCCESS, FAILED
 
+    // Last time an instance reported this payment's gateway call as still running
+    private LocalDateTime processingHeartbeat;
+
     public Long getId() {
         return id;
     }
@@ -75,6 +84,14 @@ public class Payment {
         this.status = status;
     }
 
+    public LocalDateTime getProcessingHeartbeat() {
+        return processingHeartbeat;
+    }
+
+    public void setProcessingHeartbeat(LocalDateTime processingHeartbeat) {
+        this.processingHeartbeat = processingHeartbeat;
+    }
+
     // --- Payment state methods ---
     public void markAsPaid() {
         if (this.status == PaymentStatus.FAILED) {
@@ -0,0 +1,10 @@
+package com.example.paymentservice.event;
+
+import com.example.paymentservice.entity.PaymentMethod;
+
+/**
+ * Published when a payment is accepted for asynchronous processing, so its
+ * gateway is charged once the surrounding transaction commits.
+ */
+public record PaymentAcceptedEvent(Long paymentId, Long userId, PaymentMethod paymentMethod, double amount) {
+}
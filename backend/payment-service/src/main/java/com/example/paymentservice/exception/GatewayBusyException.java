@@ -0,0 +1,7 @@
+package com.example.paymentservice.exception;
+
+public class GatewayBusyException extends RuntimeException {
+    public GatewayBusyException(String message) {
+        super(message);
+    }
+}
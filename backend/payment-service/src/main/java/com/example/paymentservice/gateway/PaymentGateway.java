@@ -0,0 +1,169 @@
+package com.example.paymentservice.gateway;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.exception.GatewayBusyException;
+import com.example.paymentservice.exception.PaymentGatewayException;
+import com.example.paymentservice.strategy.PaymentStrategy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Long-lived adapter in front of one gateway's strategy, with its own
+ * bounded pool, timeout and circuit breaker. Calls are measured as
+ * {@code payment.gateway.calls{gateway}} (latency histogram) and
+ * {@code payment.gateway.results{gateway, outcome=success|declined|error|timeout|rejected}};
+ * the breaker's state is {@code payment.gateway.circuit.state{gateway}}
+ * (0 closed, 1 open, 2 half-open).
+ *
+ * <p>Each call settles the breaker once: with its result, or with a failure
+ * when it is still running at the timeout. A call that returns after its
+ * timeout leaves the breaker alone, so a gateway whose calls all answer
+ * late still trips it.
+ */
+public class PaymentGateway {
+
+    private final PaymentMethod method;
+    private final PaymentStrategy strategy;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+    private final Timer calls;
+    private final Counter successes;
+    private final Counter declines;
+    private final Counter errors;
+    private final Counter timeouts;
+    private final Counter rejections;
+
+    PaymentGateway(PaymentStrategy strategy, CircuitBreaker circuitBreaker, ThreadPoolTaskExecutor executor,
+            Duration timeout, MeterRegistry meterRegistry) {
+        this.method = strategy.method();
+        this.strategy = strategy;
+        this.circuitBreaker = circuitBreaker;
+        this.executor = executor;
+        this.timeout = timeout;
+        String gateway = method.name();
+        this.calls = Timer.builder("payment.gateway.calls")
+                .tag("gateway", gateway)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.successes = resultCounter(meterRegistry, gateway, "success");
+        this.declines = resultCounter(meterRegistry, gateway, "declined");
+        this.errors = resultCounter(meterRegistry, gateway, "error");
+        this.timeouts = resultCounter(meterRegistry, gateway, "timeout");
+        this.rejections = resultCounter(meterRegistry, gateway, "rejected");
+        Gauge.builder("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .tag("gateway", gateway)
+                .register(meterRegistry);
+    }
+
+    public PaymentMethod method() {
+        return method;
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * Charges the amount on the calling thread; true when the gateway
+     * accepted it, false when it declined. A call slower than the timeout
+     * still returns its result but counts as a breaker failure. Fails with
+     * {@link GatewayBusyException} while the circuit is open and with
+     * {@link PaymentGatewayException} when the call fails.
+     */
+    public boolean charge(double amount) {
+        return invoke(amount, new AtomicBoolean());
+    }
+
+    /**
+     * Charges the amount on the gateway's pool. The future completes with
+     * the call's own result however long it takes; the timeout only settles
+     * the breaker. Throws {@link java.util.concurrent.RejectedExecutionException}
+     * when the pool's queue is full.
+     */
+    public CompletableFuture<Boolean> chargeAsync(double amount) {
+        AtomicBoolean settled = new AtomicBoolean();
+        CompletableFuture<Boolean> call = CompletableFuture.supplyAsync(() -> invoke(amount, settled), executor);
+        call.copy()
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((accepted, error) -> {
+                    if (error instanceof TimeoutException) {
+                        settleAsTimeout(settled);
+                    }
+                });
+        return call;
+    }
+
+    /**
+     * Fails fast, before a payment is taken on, when every thread and queue
+     * slot of the pool is taken or the circuit is open.
+     */
+    public void checkAvailable() {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        if (pool.getActiveCount() >= pool.getMaximumPoolSize() && pool.getQueue().remainingCapacity() == 0) {
+            rejections.increment();
+            throw new GatewayBusyException("The " + method + " gateway is busy. Please retry shortly.");
+        }
+        if (!circuitBreaker.isCallPermitted()) {
+            rejections.increment();
+            throw unavailable();
+        }
+    }
+
+    private boolean invoke(double amount, AtomicBoolean settled) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejections.increment();
+            throw unavailable();
+        }
+        long start = System.nanoTime();
+        try {
+            boolean accepted = strategy.processPayment(amount);
+            if (System.nanoTime() - start > timeout.toNanos()) {
+                settleAsTimeout(settled);
+            } else if (settled.compareAndSet(false, true)) {
+                circuitBreaker.onSuccess();
+            }
+            (accepted ? successes : declines).increment();
+            return accepted;
+        } catch (RuntimeException e) {
+            if (settled.compareAndSet(false, true)) {
+                circuitBreaker.onFailure();
+            }
+            errors.increment();
+            throw e instanceof PaymentGatewayException ? e
+                    : new PaymentGatewayException(method + " gateway call failed: " + e.getMessage(), e);
+        } finally {
+            calls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void settleAsTimeout(AtomicBoolean settled) {
+        if (settled.compareAndSet(false, true)) {
+            circuitBreaker.onFailure();
+            timeouts.increment();
+        }
+    }
+
+    private GatewayBusyException unavailable() {
+        return new GatewayBusyException("The " + method + " gateway is temporarily unavailable. Please retry shortly.");
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String gateway, String outcome) {
+        return Counter.builder("payment.gateway.results")
+                .tag("gateway", gateway)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.paymentservice.gateway;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.strategy.PaymentStrategy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link PaymentGateway} per payment method, built at startup from the
+ * strategy beans and shared by every payment, so each gateway keeps a
+ * single pool, circuit breaker and set of meters.
+ */
+@Component
+public class PaymentGatewayRegistry {
+
+    private final Map<PaymentMethod, PaymentGateway> gateways = new EnumMap<>(PaymentMethod.class);
+
+    public PaymentGatewayRegistry(List<PaymentStrategy> strategies,
+            MeterRegistry meterRegistry,
+            @Qualifier("creditCardGatewayExecutor") ThreadPoolTaskExecutor creditCardExecutor,
+            @Qualifier("paypalGatewayExecutor") ThreadPoolTaskExecutor paypalExecutor,
+            @Qualifier("stripeGatewayExecutor") ThreadPoolTaskExecutor stripeExecutor,
+            @Value("${payment.gateway.credit-card.timeout:PT10S}") Duration creditCardTimeout,
+            @Value("${payment.gateway.paypal.timeout:PT10S}") Duration paypalTimeout,
+            @Value("${payment.gateway.stripe.timeout:PT10S}") Duration stripeTimeout,
+            @Value("${payment.gateway.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${payment.gateway.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        this(strategies, meterRegistry,
+                Map.of(PaymentMethod.CREDIT_CARD, creditCardExecutor,
+                        PaymentMethod.PAYPAL, paypalExecutor,
+                        PaymentMethod.STRIPE, stripeExecutor),
+                Map.of(PaymentMethod.CREDIT_CARD, creditCardTimeout,
+                        PaymentMethod.PAYPAL, paypalTimeout,
+                        PaymentMethod.STRIPE, stripeTimeout),
+                failureThreshold, openDuration);
+    }
+
+    PaymentGatewayRegistry(List<PaymentStrategy> strategies,
+            MeterRegistry meterRegistry,
+            Map<PaymentMethod, ThreadPoolTaskExecutor> executors,
+            Map<PaymentMethod, Duration> timeouts,
+            int failureThreshold,
+            Duration openDuration) {
+        for (PaymentStrategy strategy : strategies) {
+            PaymentMethod method = strategy.method();
+            if (!executors.containsKey(method) || !timeouts.containsKey(method)) {
+                throw new IllegalStateException("No pool or timeout configured for payment method " + method);
+            }
+            CircuitBreaker circuitBreaker = new CircuitBreaker(failureThreshold, openDuration.toMillis());
+            PaymentGateway gateway = new PaymentGateway(strategy, circuitBreaker, executors.get(method),
+                    timeouts.get(method), meterRegistry);
+            if (gateways.putIfAbsent(method, gateway) != null) {
+                throw new IllegalStateException("More than one gateway for payment method " + method);
+            }
+        }
+        for (PaymentMethod method : PaymentMethod.values()) {
+            if (!gateways.containsKey(method)) {
+                throw new IllegalStateException("No gateway for payment method " + method);
+            }
+        }
+    }
+
+    public PaymentGateway get(PaymentMethod method) {
+        if (method == null) {
+            throw new IllegalArgumentException("Payment method must not be null.");
+        }
+        return gateways.get(method);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.paymentservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.paymentservice.entity.BookingBalance;
+
+@Repository
+public interface BookingBalanceRepository extends JpaRepository<BookingBalance, Long> {
+
+    // Gives a failed payment's amount back in place; bumping the version fails concurrent entity updates
+    @Modifying
+    @Query("UPDATE BookingBalance b SET b.totalPaid = b.totalPaid - :amount, b.version = b.version + 1 WHERE b.bookingId = :bookingId")
+    int reversePayment(@Param("bookingId") Long bookingId, @Param("amount") double amount);
+}
@@ -1,14 +1,20 @@
 package com.example.paymentservice.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.entity.PaymentStatus;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -16,8 +22,37 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Find payments by booking ID
     List<Payment> findByBookingId(Long bookingId);
 
+    // Payments of any of the bookings with an ID greater than afterId, in ID order
+    @Query("SELECT p FROM Payment p WHERE p.bookingId IN :bookingIds AND p.id > :afterId ORDER BY p.id")
+    List<Payment> findByBookingIdInAfter(@Param("bookingIds") Collection<Long> bookingIds,
+            @Param("afterId") long afterId,
+            Limit limit);
+
     // Sum of successful payments for a booking
     @Query("SELECT COALESCE(SUM(p.amount), 0.0) FROM Payment p WHERE p.bookingId = :bookingId AND p.status = 'SUCCESS'")
     Optional<Double> findTotalPaidAmountByBookingId(@Param("bookingId") Long bookingId);
 
-}
\ No newline at end of file
+    boolean existsByBookingIdAndStatus(Long bookingId, PaymentStatus status);
+
+    // Pending payments that no instance has reported as still processing since the cutoff
+    @Query("""
+        SELECT p FROM Payment p
+        WHERE p.status = 'PENDING'
+          AND COALESCE(p.processingHeartbeat, p.transactionDate) < :cutoff
+        ORDER BY p.id
+        """)
+    List<Payment> findStalePending(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Marks pending payments as still being processed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Payment p SET p.processingHeartbeat = :now WHERE p.id IN :ids AND p.status = 'PENDING'")
+    int touchProcessing(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Moves a payment out of PENDING; returns 0 when it was already completed
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :status, p.transactionDate = :completedAt WHERE p.id = :id AND p.status = 'PENDING'")
+    int completePending(@Param("id") Long id,
+            @Param("status") PaymentStatus status,
+            @Param("completedAt") LocalDateTime completedAt);
+}
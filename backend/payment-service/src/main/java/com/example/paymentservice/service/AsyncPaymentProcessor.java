@@ -0,0 +1,148 @@
+package com.example.paymentservice.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.event.PaymentAcceptedEvent;
+import com.example.paymentservice.exception.GatewayBusyException;
+import com.example.paymentservice.gateway.PaymentGateway;
+import com.example.paymentservice.gateway.PaymentGatewayRegistry;
+import com.example.paymentservice.repository.PaymentRepository;
+
+/**
+ * Charges accepted payments off the request thread, on the pool of their
+ * {@link PaymentGateway}. Each gateway has its own bounded pool and
+ * timeout, so a slow gateway only ties up its own threads: once its queue
+ * is full new payments for it are turned away with 503 while the other
+ * gateways keep going.
+ *
+ * <p>A gateway call that outlives its timeout has not been declined: it may
+ * still charge the customer. The gateway counts it against its circuit
+ * breaker, but the payment stays PENDING with its amount claimed until the
+ * call returns. Only payments whose call never returns, e.g. because the
+ * instance running it stopped, are failed by the stale sweep.
+ */
+@Service
+public class AsyncPaymentProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncPaymentProcessor.class);
+    private static final int STALE_SWEEP_BATCH_SIZE = 100;
+
+    private final PaymentService paymentService;
+    private final PaymentRepository paymentRepository;
+    private final PaymentGatewayRegistry gatewayRegistry;
+    private final Executor completionExecutor;
+    private final Duration staleAfter;
+    // Payments whose gateway call is running on this instance
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public AsyncPaymentProcessor(PaymentService paymentService,
+            PaymentRepository paymentRepository,
+            PaymentGatewayRegistry gatewayRegistry,
+            @Qualifier("paymentCompletionExecutor") Executor completionExecutor,
+            @Value("${payment.async.stale-after:PT15M}") Duration staleAfter) {
+        this.paymentService = paymentService;
+        this.paymentRepository = paymentRepository;
+        this.gatewayRegistry = gatewayRegistry;
+        this.completionExecutor = completionExecutor;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Accepts a payment as PENDING and queues its gateway call. Fails with
+     * {@link GatewayBusyException} before anything is stored when the
+     * gateway's pool and queue are full or its circuit is open.
+     */
+    public Payment accept(Long bookingId, PaymentMethod paymentMethod, double amount) {
+        if (paymentMethod != null) {
+            gatewayRegistry.get(paymentMethod).checkAvailable();
+        }
+        return paymentService.acceptPayment(bookingId, paymentMethod, amount);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentAccepted(PaymentAcceptedEvent event) {
+        PaymentGateway gateway = gatewayRegistry.get(event.paymentMethod());
+        Long paymentId = event.paymentId();
+        inFlight.add(paymentId);
+        CompletableFuture<Boolean> call;
+        try {
+            call = gateway.chargeAsync(event.amount());
+        } catch (RejectedExecutionException e) {
+            // Filled up between accepting and committing; the gateway was never called
+            inFlight.remove(paymentId);
+            logger.warn("{} gateway queue full, failing payment {}", event.paymentMethod(), paymentId);
+            complete(event, false);
+            return;
+        }
+
+        // Only the call's own result completes the payment, however late it arrives
+        call.whenCompleteAsync((success, error) -> {
+            inFlight.remove(paymentId);
+            if (error != null) {
+                logger.warn("Gateway call for payment {} failed: {}", paymentId, unwrap(error).toString());
+            }
+            complete(event, error == null && Boolean.TRUE.equals(success));
+        }, completionExecutor);
+    }
+
+    /**
+     * Fails payments whose gateway call never returned, so their amount does
+     * not stay claimed on the balance. Each instance first marks the
+     * payments it is still waiting on as alive; a payment nobody has marked
+     * for {@code stale-after} belonged to an instance that stopped.
+     */
+    @Scheduled(fixedDelayString = "${payment.async.sweep-interval:PT1M}")
+    public void failStalePayments() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!inFlight.isEmpty()) {
+            paymentRepository.touchProcessing(List.copyOf(inFlight), now);
+        }
+        List<Payment> stale = paymentRepository.findStalePending(now.minus(staleAfter),
+                Limit.of(STALE_SWEEP_BATCH_SIZE));
+        for (Payment payment : stale) {
+            paymentService.completeAcceptedPayment(payment.getId(), false)
+                    .ifPresent(failed -> logger.warn("Failed payment {} left pending since {}",
+                            failed.getId(), payment.getTransactionDate()));
+        }
+    }
+
+    private void complete(PaymentAcceptedEvent event, boolean success) {
+        try {
+            Optional<Payment> completed = paymentService.completeAcceptedPayment(event.paymentId(), success);
+            if (completed.isPresent()) {
+                paymentService.announcePaymentOutcome(completed.get(), event.userId());
+            } else if (success) {
+                // Only possible when the stale sweep failed it first; the charge needs a manual refund
+                logger.error("Payment {} was charged after it had already been failed", event.paymentId());
+            }
+        } catch (RuntimeException e) {
+            // The payment stays PENDING until the stale sweep fails it
+            logger.error("Could not store the outcome of payment {} (success={})", event.paymentId(), success, e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
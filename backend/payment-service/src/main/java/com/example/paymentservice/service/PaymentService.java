@@ -1,48 +1,79 @@
 package com.example.paymentservice.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.paymentservice.cache.UserBookingIdsCache;
 import com.example.paymentservice.client.BookingClient;
 import com.example.paymentservice.client.NotificationClient;
 import com.example.paymentservice.dto.booking.BookingDTO;
-import com.example.paymentservice.dto.booking.UserBookingDTO;
+import com.example.paymentservice.dto.payment.PaymentPage;
+import com.example.paymentservice.entity.BookingBalance;
 import com.example.paymentservice.entity.Payment;
 import com.example.paymentservice.entity.PaymentMethod;
 import com.example.paymentservice.entity.PaymentStatus;
+import com.example.paymentservice.event.PaymentAcceptedEvent;
+import com.example.paymentservice.exception.BookingClientException;
 import com.example.paymentservice.exception.PaymentNotFoundException;
+import com.example.paymentservice.gateway.PaymentGatewayRegistry;
+import com.example.paymentservice.repository.BookingBalanceRepository;
 import com.example.paymentservice.repository.PaymentRepository;
-import com.example.paymentservice.strategy.CreditCardPaymentStrategy;
-import com.example.paymentservice.strategy.PaymentContext;
-import com.example.paymentservice.strategy.PaymentStrategy;
-import com.example.paymentservice.strategy.PaypalPaymentStrategy;
-import com.example.paymentservice.strategy.StripePaymentStrategy;
 
 @Service
 public class PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    // Keeps each IN list well below what MySQL plans efficiently
+    private static final int BOOKING_ID_CHUNK_SIZE = 1000;
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor";
+
     private final PaymentRepository paymentRepository;
+    private final BookingBalanceRepository balanceRepository;
     private final BookingClient bookingClient;
     private final NotificationClient notificationClient;
+    private final UserBookingIdsCache userBookingIdsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaymentGatewayRegistry gatewayRegistry;
 
     public PaymentService(PaymentRepository paymentRepository,
+                          BookingBalanceRepository balanceRepository,
                           BookingClient bookingClient,
-                          NotificationClient notificationClient) {
+                          NotificationClient notificationClient,
+                          UserBookingIdsCache userBookingIdsCache,
+                          ApplicationEventPublisher eventPublisher,
+                          PaymentGatewayRegistry gatewayRegistry) {
         this.paymentRepository = paymentRepository;
+        this.balanceRepository = balanceRepository;
         this.bookingClient = bookingClient;
         this.notificationClient = notificationClient;
+        this.userBookingIdsCache = userBookingIdsCache;
+        this.eventPublisher = eventPublisher;
+        this.gatewayRegistry = gatewayRegistry;
     }
 
     /**
-     * Creates and processes a payment.
+     * Creates and processes a payment. The booking is fetched once and used
+     * for the balance, the notification and the confirmation. Its balance
+     * row is a single primary-key read, and the amount is claimed on it
+     * before the gateway is charged, so a concurrent payment for the same
+     * booking fails instead of overpaying.
      */
     @Transactional
     public Payment createAndProcessPayment(Long bookingId, PaymentMethod paymentMethod, double amount) {
@@ -51,43 +82,104 @@ public class PaymentService {
         validateAmount(amount);
 
         BookingDTO booking = fetchBooking(bookingId);
-        Double totalAmount = requireTotalAmount(booking);
-        validatePaymentAmount(booking.getId(), totalAmount, amount);
+        BookingBalance balance = loadBalance(booking.getId(), requireTotalAmount(booking));
+        validatePaymentAmount(balance, amount);
 
         Payment payment = createPayment(booking, paymentMethod, amount);
-        Payment processedPayment = processPaymentInternal(payment, paymentMethod);
+        Payment processedPayment = processPaymentInternal(payment, paymentMethod, balance, booking);
 
         if (processedPayment.getStatus() == PaymentStatus.SUCCESS) {
-            updateBookingIfFullyPaid(booking.getId(), totalAmount);
+            updateBookingIfFullyPaid(balance);
         }
 
         return processedPayment;
     }
 
     /**
-     * Process payment using Strategy pattern and notify user
+     * Accepts a payment for asynchronous processing. The amount is claimed on
+     * the booking's balance and the payment stored as PENDING; its gateway is
+     * charged once this transaction commits.
      */
-    public void processPayment(Long paymentId, PaymentMethod paymentMethod) {
-        Payment payment = getPaymentById(paymentId);
+    @Transactional
+    public Payment acceptPayment(Long bookingId, PaymentMethod paymentMethod, double amount) {
+        validateBookingId(bookingId);
         validatePaymentMethod(paymentMethod);
-        processPaymentInternal(payment, paymentMethod);
+        validateAmount(amount);
+
+        BookingDTO booking = fetchBooking(bookingId);
+        BookingBalance balance = loadBalance(booking.getId(), requireTotalAmount(booking));
+        validatePaymentAmount(balance, amount);
+
+        balance.recordPayment(amount);
+        flushBalance(balance);
+        Payment payment = createPayment(booking, paymentMethod, amount);
+
+        eventPublisher.publishEvent(
+                new PaymentAcceptedEvent(payment.getId(), booking.getUserId(), paymentMethod, amount));
+        return payment;
     }
 
-    private Payment processPaymentInternal(Payment payment, PaymentMethod paymentMethod) {
+    /** Charges the amount through the payment method's gateway; true when it went through */
+    public boolean charge(PaymentMethod paymentMethod, double amount) {
+        return gatewayRegistry.get(paymentMethod).charge(amount);
+    }
+
+    /**
+     * Records the gateway outcome of an accepted payment. Only the first
+     * outcome counts, so a payment already failed by its timeout stays
+     * failed. A failed payment gives its amount back to the balance. Returns
+     * the payment when this call completed it.
+     */
+    @Transactional
+    public Optional<Payment> completeAcceptedPayment(Long paymentId, boolean success) {
+        PaymentStatus status = success ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+        if (paymentRepository.completePending(paymentId, status, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        Payment payment = getPaymentById(paymentId);
+        if (!success) {
+            balanceRepository.reversePayment(payment.getBookingId(), payment.getAmount());
+        }
+        logger.info("Payment {} processed with status: {}", paymentId, status);
+        return Optional.of(payment);
+    }
+
+    /**
+     * Confirms the booking when a completed payment leaves it fully paid and
+     * tells the user. Both calls are best effort: the payment's status is
+     * already stored.
+     */
+    public void announcePaymentOutcome(Payment payment, Long userId) {
         if (payment.getStatus() == PaymentStatus.SUCCESS) {
-            throw new IllegalStateException("Payment has already been successfully processed.");
+            try {
+                balanceRepository.findById(payment.getBookingId()).ifPresent(this::updateBookingIfFullyPaid);
+            } catch (BookingClientException e) {
+                logger.warn("Could not confirm booking {}: {}", payment.getBookingId(), e.getMessage());
+            }
+        }
+        try {
+            notifyUser(userId, payment);
+        } catch (RuntimeException e) {
+            logger.warn("Could not send notification for payment {}: {}", payment.getId(), e.getMessage());
         }
+    }
 
-        PaymentContext context = new PaymentContext();
-        context.setPaymentStrategy(getStrategy(paymentMethod));
+    private Payment processPaymentInternal(Payment payment, PaymentMethod paymentMethod, BookingBalance balance,
+            BookingDTO booking) {
+        // Claim the amount first: a concurrent payment for the booking fails here, before its gateway call
+        balance.recordPayment(payment.getAmount());
+        flushBalance(balance);
 
-        boolean success = context.executePayment(payment.getAmount());
+        boolean success = charge(paymentMethod, payment.getAmount());
+        if (!success) {
+            balance.reversePayment(payment.getAmount());
+        }
         payment.setStatus(success ? PaymentStatus.SUCCESS : PaymentStatus.FAILED);
         Payment savedPayment = paymentRepository.save(payment);
 
         logger.info("Payment {} processed with status: {}", payment.getId(), payment.getStatus());
 
-        sendNotification(savedPayment);
+        notifyUser(booking.getUserId(), savedPayment);
         return savedPayment;
     }
 
@@ -106,19 +198,38 @@ public class PaymentService {
         return paymentRepository.findByBookingId(bookingId);
     }
 
-    public List<Payment> getPaymentsByUserId(Long userId) {
+    /**
+     * Returns the user's payments after {@code cursor} (from the start when
+     * null), in ID order. The user's booking IDs come from the cache or one
+     * call to booking-service; payments are then read with one keyset query
+     * per chunk of booking IDs, and the chunks' results merged.
+     */
+    public PaymentPage getPaymentsByUserId(Long userId, String cursor, int limit) {
         if (userId == null)
             throw new IllegalArgumentException("User ID must not be null.");
-        List<UserBookingDTO> bookings = bookingClient.getBookingsByUserId(userId);
-        return bookings.stream()
-                .map(UserBookingDTO::getBookingId)
-                .filter(Objects::nonNull)
-                .flatMap(bookingId -> paymentRepository.findByBookingId(bookingId).stream())
-                .toList();
-    }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        long afterId = decodeCursor(cursor);
+
+        List<Long> bookingIds = userBookingIdsCache.get(userId).orElseGet(() -> {
+            List<Long> fetched = bookingClient.getBookingIdsByUserId(userId);
+            userBookingIdsCache.put(userId, fetched);
+            return fetched;
+        });
+
+        // Ask every chunk for one extra row to learn whether another page exists
+        Limit chunkLimit = Limit.of(limit + 1);
+        List<Payment> rows = new ArrayList<>();
+        for (int from = 0; from < bookingIds.size(); from += BOOKING_ID_CHUNK_SIZE) {
+            List<Long> chunk = bookingIds.subList(from, Math.min(from + BOOKING_ID_CHUNK_SIZE, bookingIds.size()));
+            rows.addAll(paymentRepository.findByBookingIdInAfter(chunk, afterId, chunkLimit));
+        }
+        rows.sort(Comparator.comparing(Payment::getId));
 
-    public double getTotalPaidAmount(Long bookingId) {
-        return paymentRepository.findTotalPaidAmountByBookingId(bookingId).orElse(0.0);
+        boolean hasMore = rows.size() > limit;
+        List<Payment> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+        return new PaymentPage(List.copyOf(page), nextCursor);
     }
 
     public List<Payment> getAllPayments() {
@@ -137,13 +248,47 @@ public class PaymentService {
                 .orElseThrow(() -> new PaymentNotFoundException("Booking not found with ID: " + bookingId));
     }
 
-    private void validatePaymentAmount(Long bookingId, double totalAmount, double amount) {
-        double remaining = totalAmount - getTotalPaidAmount(bookingId);
-        if (amount > remaining) {
-            throw new IllegalArgumentException("Payment exceeds remaining balance. Remaining amount: " + remaining);
+    private void validatePaymentAmount(BookingBalance balance, double amount) {
+        if (amount > balance.getRemaining()) {
+            throw new IllegalArgumentException(
+                    "Payment exceeds remaining balance. Remaining amount: " + balance.getRemaining());
+        }
+    }
+
+    /**
+     * The booking's balance row, created on its first payment. Payments made
+     * before balances existed are summed once to seed it.
+     */
+    private BookingBalance loadBalance(Long bookingId, double totalDue) {
+        BookingBalance balance = balanceRepository.findById(bookingId).orElse(null);
+        if (balance == null) {
+            double alreadyPaid = paymentRepository.findTotalPaidAmountByBookingId(bookingId).orElse(0.0);
+            balance = new BookingBalance(bookingId, totalDue, alreadyPaid);
+            try {
+                return balanceRepository.saveAndFlush(balance);
+            } catch (DataIntegrityViolationException e) {
+                throw concurrentPayment(bookingId, e);
+            }
+        }
+        if (balance.getTotalDue() != totalDue) {
+            balance.setTotalDue(totalDue);
+        }
+        return balance;
+    }
+
+    private void flushBalance(BookingBalance balance) {
+        try {
+            balanceRepository.saveAndFlush(balance);
+        } catch (OptimisticLockingFailureException e) {
+            throw concurrentPayment(balance.getBookingId(), e);
         }
     }
 
+    private static IllegalStateException concurrentPayment(Long bookingId, RuntimeException cause) {
+        return new IllegalStateException(
+                "Another payment for booking " + bookingId + " is being processed. Please retry.", cause);
+    }
+
     private Payment createPayment(BookingDTO booking, PaymentMethod method, double amount) {
         Payment payment = new Payment();
         payment.setBookingId(booking.getId());
@@ -153,38 +298,42 @@ public class PaymentService {
         payment.setStatus(PaymentStatus.PENDING);
 
         payment = paymentRepository.save(payment);
+        userBookingIdsCache.addBooking(booking.getUserId(), booking.getId());
         logger.info("Created payment {} for booking {} with amount ${}", payment.getId(), booking.getId(), amount);
 
         return payment;
     }
 
-    private void updateBookingIfFullyPaid(Long bookingId, double totalAmount) {
-        double updatedTotalPaid = getTotalPaidAmount(bookingId);
-        if (updatedTotalPaid >= totalAmount) {
-            bookingClient.updateBookingStatus(bookingId, "CONFIRMED");
-            logger.info("Booking {} fully paid. Status update requested via BookingClient.", bookingId);
+    private void updateBookingIfFullyPaid(BookingBalance balance) {
+        // Accepted payments still waiting on their gateway count towards the balance until they complete
+        if (balance.isFullyPaid()
+                && !paymentRepository.existsByBookingIdAndStatus(balance.getBookingId(), PaymentStatus.PENDING)) {
+            bookingClient.updateBookingStatus(balance.getBookingId(), "CONFIRMED");
+            logger.info("Booking {} fully paid. Status update requested via BookingClient.", balance.getBookingId());
         }
     }
 
-    private void sendNotification(Payment payment) {
-        BookingDTO booking = fetchBooking(payment.getBookingId());
+    private void notifyUser(Long userId, Payment payment) {
         notificationClient.sendNotification(
-                booking.getUserId(),
+                userId,
                 "Your payment of $" + payment.getAmount() + " was " + payment.getStatus());
         logger.info("Notification sent for payment {}", payment.getId());
     }
 
-    private PaymentStrategy getStrategy(PaymentMethod method) {
-        if (method == PaymentMethod.CREDIT_CARD) {
-            return new CreditCardPaymentStrategy();
-        }
-        if (method == PaymentMethod.PAYPAL) {
-            return new PaypalPaymentStrategy();
+    private static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
         }
-        if (method == PaymentMethod.STRIPE) {
-            return new StripePaymentStrategy();
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
         }
-        throw new IllegalArgumentException("Unsupported payment method: " + method);
     }
 
     private void validateBookingId(Long bookingId) {
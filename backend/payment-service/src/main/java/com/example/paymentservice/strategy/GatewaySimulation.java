@@ -0,0 +1,42 @@
+package com.example.paymentservice.strategy;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.example.paymentservice.exception.PaymentGatewayException;
+
+/**
+ * Stand-in for a gateway's network behaviour: every call waits
+ * {@code latency} and fails with the given probability. Both default to
+ * zero, and are set per gateway to exercise timeouts and the circuit
+ * breaker locally.
+ */
+final class GatewaySimulation {
+
+    private final String gatewayName;
+    private final long latencyMillis;
+    private final double failureRate;
+
+    GatewaySimulation(String gatewayName, Duration latency, double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Simulated failure rate must be between 0 and 1");
+        }
+        this.gatewayName = gatewayName;
+        this.latencyMillis = latency.toMillis();
+        this.failureRate = failureRate;
+    }
+
+    void call() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayException(gatewayName + " call interrupted", e);
+            }
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new PaymentGatewayException(gatewayName + " gateway error (simulated)");
+        }
+    }
+}
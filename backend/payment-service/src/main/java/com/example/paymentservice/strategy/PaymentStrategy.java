@@ -1,5 +1,9 @@
 package com.example.paymentservice.strategy;
 
+import com.example.paymentservice.entity.PaymentMethod;
+
 public interface PaymentStrategy {
+    PaymentMethod method();
+
     boolean processPayment(double amount);
 }
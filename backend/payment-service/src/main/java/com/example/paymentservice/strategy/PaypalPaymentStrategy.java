@@ -1,15 +1,36 @@
 package com.example.paymentservice.strategy;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.paymentservice.entity.PaymentMethod;
 
+@Component
 public class PaypalPaymentStrategy implements PaymentStrategy {
 
     private static final Logger logger = LoggerFactory.getLogger(PaypalPaymentStrategy.class);
 
+    private final GatewaySimulation simulation;
+
+    public PaypalPaymentStrategy(
+            @Value("${payment.gateway.paypal.simulated-latency:0s}") Duration simulatedLatency,
+            @Value("${payment.gateway.paypal.simulated-failure-rate:0}") double simulatedFailureRate) {
+        this.simulation = new GatewaySimulation("PayPal", simulatedLatency, simulatedFailureRate);
+    }
+
+    @Override
+    public PaymentMethod method() {
+        return PaymentMethod.PAYPAL;
+    }
+
     @Override
     public boolean processPayment(double amount) {
         logger.info("Processing PayPal payment of ${}", amount);
+        simulation.call();
         return amount > 0;
     }
-}
\ No newline at end of file
+}
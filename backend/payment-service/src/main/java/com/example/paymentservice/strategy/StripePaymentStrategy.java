@@ -1,15 +1,36 @@
 package com.example.paymentservice.strategy;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.paymentservice.entity.PaymentMethod;
 
+@Component
 public class StripePaymentStrategy implements PaymentStrategy {
 
     private static final Logger logger = LoggerFactory.getLogger(StripePaymentStrategy.class);
 
+    private final GatewaySimulation simulation;
+
+    public StripePaymentStrategy(
+            @Value("${payment.gateway.stripe.simulated-latency:0s}") Duration simulatedLatency,
+            @Value("${payment.gateway.stripe.simulated-failure-rate:0}") double simulatedFailureRate) {
+        this.simulation = new GatewaySimulation("Stripe", simulatedLatency, simulatedFailureRate);
+    }
+
+    @Override
+    public PaymentMethod method() {
+        return PaymentMethod.STRIPE;
+    }
+
     @Override
     public boolean processPayment(double amount) {
         logger.info("Processing Stripe payment of ${}", amount);
+        simulation.call();
         return amount > 0;
     }
-}
\ No newline at end of file
+}
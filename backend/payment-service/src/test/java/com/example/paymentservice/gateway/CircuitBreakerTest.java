@@ -0,0 +1,91 @@
+package com.example.paymentservice.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.paymentservice.gateway.CircuitBreaker.State;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 100, now::get);
+
+    @Test
+    void staysClosedBelowThreshold() {
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void opensAtThresholdAndRejectsCalls() {
+        tripOpen();
+
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    @Test
+    void letsOneTrialThroughAfterOpenDuration() {
+        tripOpen();
+        now.addAndGet(100);
+
+        assertTrue(breaker.isCallPermitted());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    @Test
+    void successfulTrialCloses() {
+        tripOpen();
+        now.addAndGet(100);
+        breaker.tryAcquire();
+
+        breaker.onSuccess();
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedTrialReopensForAnotherOpenDuration() {
+        tripOpen();
+        now.addAndGet(100);
+        breaker.tryAcquire();
+
+        breaker.onFailure();
+
+        assertEquals(State.OPEN, breaker.state());
+        now.addAndGet(99);
+        assertFalse(breaker.tryAcquire());
+        now.addAndGet(1);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+}
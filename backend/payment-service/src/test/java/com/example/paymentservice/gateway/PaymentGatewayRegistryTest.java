@@ -0,0 +1,79 @@
+package com.example.paymentservice.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.strategy.CreditCardPaymentStrategy;
+import com.example.paymentservice.strategy.PaymentStrategy;
+import com.example.paymentservice.strategy.PaypalPaymentStrategy;
+import com.example.paymentservice.strategy.StripePaymentStrategy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentGatewayRegistryTest {
+
+    private static final ThreadPoolTaskExecutor EXECUTOR = new ThreadPoolTaskExecutor();
+
+    private static final Map<PaymentMethod, ThreadPoolTaskExecutor> EXECUTORS = Map.of(
+            PaymentMethod.CREDIT_CARD, EXECUTOR,
+            PaymentMethod.PAYPAL, EXECUTOR,
+            PaymentMethod.STRIPE, EXECUTOR);
+    private static final Map<PaymentMethod, Duration> TIMEOUTS = Map.of(
+            PaymentMethod.CREDIT_CARD, Duration.ofSeconds(1),
+            PaymentMethod.PAYPAL, Duration.ofSeconds(2),
+            PaymentMethod.STRIPE, Duration.ofSeconds(3));
+
+    @Test
+    void holdsOneLongLivedGatewayPerMethod() {
+        PaymentGatewayRegistry registry = registry(List.of(
+                creditCard(), new PaypalPaymentStrategy(Duration.ZERO, 0), new StripePaymentStrategy(Duration.ZERO, 0)));
+
+        for (PaymentMethod method : PaymentMethod.values()) {
+            PaymentGateway gateway = registry.get(method);
+            assertEquals(method, gateway.method());
+            assertEquals(TIMEOUTS.get(method), gateway.timeout());
+            assertSame(gateway, registry.get(method));
+        }
+    }
+
+    @Test
+    void rejectsMissingGateway() {
+        List<PaymentStrategy> strategies = List.of(creditCard(), new PaypalPaymentStrategy(Duration.ZERO, 0));
+
+        assertThrows(IllegalStateException.class, () -> registry(strategies));
+    }
+
+    @Test
+    void rejectsTwoGatewaysForOneMethod() {
+        List<PaymentStrategy> strategies = List.of(creditCard(), creditCard(),
+                new PaypalPaymentStrategy(Duration.ZERO, 0), new StripePaymentStrategy(Duration.ZERO, 0));
+
+        assertThrows(IllegalStateException.class, () -> registry(strategies));
+    }
+
+    @Test
+    void rejectsNullMethod() {
+        PaymentGatewayRegistry registry = registry(List.of(
+                creditCard(), new PaypalPaymentStrategy(Duration.ZERO, 0), new StripePaymentStrategy(Duration.ZERO, 0)));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.get(null));
+    }
+
+    private static PaymentGatewayRegistry registry(List<PaymentStrategy> strategies) {
+        return new PaymentGatewayRegistry(strategies, new SimpleMeterRegistry(), EXECUTORS, TIMEOUTS, 5,
+                Duration.ofSeconds(30));
+    }
+
+    private static CreditCardPaymentStrategy creditCard() {
+        return new CreditCardPaymentStrategy(Duration.ZERO, 0);
+    }
+}
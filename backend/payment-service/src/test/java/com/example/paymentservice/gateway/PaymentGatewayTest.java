@@ -0,0 +1,201 @@
+package com.example.paymentservice.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.exception.GatewayBusyException;
+import com.example.paymentservice.exception.PaymentGatewayException;
+import com.example.paymentservice.gateway.CircuitBreaker.State;
+import com.example.paymentservice.strategy.PaymentStrategy;
+import com.example.paymentservice.strategy.PaypalPaymentStrategy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentGatewayTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(100);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor executor = executor(4, 10);
+    private final CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void countsAcceptedAndDeclinedCharges() {
+        PaymentGateway gateway = gateway(new StubGateway());
+
+        assertTrue(gateway.charge(10));
+        assertFalse(gateway.charge(0));
+
+        assertEquals(1, result("success"));
+        assertEquals(1, result("declined"));
+        assertEquals(2, meterRegistry.get("payment.gateway.calls").timer().count());
+        assertEquals(State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void failuresOpenTheCircuitAndLaterCallsSkipTheGateway() {
+        StubGateway stub = new StubGateway();
+        stub.failing = true;
+        PaymentGateway gateway = gateway(stub);
+
+        assertThrows(PaymentGatewayException.class, () -> gateway.charge(10));
+        assertThrows(PaymentGatewayException.class, () -> gateway.charge(10));
+        assertThrows(GatewayBusyException.class, () -> gateway.charge(10));
+        assertThrows(GatewayBusyException.class, gateway::checkAvailable);
+
+        assertEquals(2, stub.calls.get());
+        assertEquals(2, result("error"));
+        assertEquals(2, result("rejected"));
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void simulatedGatewayFailuresTripTheCircuit() {
+        PaymentGateway gateway = gateway(new PaypalPaymentStrategy(Duration.ZERO, 1.0));
+
+        assertThrows(PaymentGatewayException.class, () -> gateway.charge(10));
+        assertThrows(PaymentGatewayException.class, () -> gateway.charge(10));
+
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void slowSynchronousCallReturnsItsResultButCountsAsFailure() {
+        PaymentGateway gateway = gateway(new PaypalPaymentStrategy(Duration.ofMillis(150), 0));
+
+        assertTrue(gateway.charge(10));
+        assertTrue(gateway.charge(10));
+
+        assertEquals(2, result("timeout"));
+        assertEquals(2, result("success"));
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void timedOutCallsTripTheCircuitEvenWhenTheyLaterSucceed() throws Exception {
+        StubGateway stub = new StubGateway();
+        stub.release = new CountDownLatch(1);
+        PaymentGateway gateway = gateway(stub);
+
+        CompletableFuture<Boolean> first = gateway.chargeAsync(10);
+        CompletableFuture<Boolean> second = gateway.chargeAsync(10);
+        awaitState(State.OPEN);
+        stub.release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(State.OPEN, breaker.state());
+        assertEquals(2, result("timeout"));
+        assertEquals(2, result("success"));
+    }
+
+    @Test
+    void asyncCallWithinTimeoutClosesNothingItDidNotOpen() throws Exception {
+        PaymentGateway gateway = gateway(new StubGateway());
+        breaker.onFailure();
+
+        assertTrue(gateway.chargeAsync(10).get(5, TimeUnit.SECONDS));
+        breaker.onFailure();
+
+        // The success reset the count, so one more failure does not open it
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(0, result("timeout"));
+    }
+
+    @Test
+    void fullPoolIsReportedBusy() {
+        ThreadPoolTaskExecutor tiny = executor(1, 1);
+        try {
+            StubGateway stub = new StubGateway();
+            stub.release = new CountDownLatch(1);
+            PaymentGateway gateway = new PaymentGateway(stub, breaker, tiny, Duration.ofMinutes(1), meterRegistry);
+            gateway.chargeAsync(10);
+            gateway.chargeAsync(10);
+            awaitActive(tiny, 1);
+
+            assertThrows(GatewayBusyException.class, gateway::checkAvailable);
+            stub.release.countDown();
+        } finally {
+            tiny.shutdown();
+        }
+    }
+
+    private PaymentGateway gateway(PaymentStrategy strategy) {
+        return new PaymentGateway(strategy, breaker, executor, TIMEOUT, meterRegistry);
+    }
+
+    private double result(String outcome) {
+        return meterRegistry.get("payment.gateway.results").tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitState(State expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (breaker.state() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, breaker.state());
+    }
+
+    private static void awaitActive(ThreadPoolTaskExecutor executor, int threads) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (executor.getActiveCount() < threads && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor executor(int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Local stand-in for a gateway that can be made to fail or to block until released */
+    private static final class StubGateway implements PaymentStrategy {
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean failing;
+        volatile CountDownLatch release;
+
+        @Override
+        public PaymentMethod method() {
+            return PaymentMethod.PAYPAL;
+        }
+
+        @Override
+        public boolean processPayment(double amount) {
+            calls.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IllegalStateException("stub failure");
+            }
+            return amount > 0;
+        }
+    }
+}
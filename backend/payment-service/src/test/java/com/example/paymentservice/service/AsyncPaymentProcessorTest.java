@@ -0,0 +1,190 @@
+package com.example.paymentservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.entity.PaymentStatus;
+import com.example.paymentservice.event.PaymentAcceptedEvent;
+import com.example.paymentservice.exception.GatewayBusyException;
+import com.example.paymentservice.gateway.PaymentGatewayRegistry;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.example.paymentservice.strategy.CreditCardPaymentStrategy;
+import com.example.paymentservice.strategy.PaymentStrategy;
+import com.example.paymentservice.strategy.StripePaymentStrategy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the processor on real per-gateway pools with a PayPal stub that
+ * blocks until released; the payment service and repository are mocks.
+ */
+class AsyncPaymentProcessorTest {
+
+    private static final long USER_ID = 3L;
+    private static final long WAIT_MS = 5_000;
+
+    private final ThreadPoolTaskExecutor creditCardPool = pool(1, 1);
+    private final ThreadPoolTaskExecutor paypalPool = pool(1, 1);
+    private final ThreadPoolTaskExecutor stripePool = pool(2, 50);
+    private final BlockingPaypal paypal = new BlockingPaypal();
+    private PaymentService paymentService;
+    private PaymentRepository paymentRepository;
+    private AsyncPaymentProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = mock(PaymentService.class);
+        paymentRepository = mock(PaymentRepository.class);
+        when(paymentService.completeAcceptedPayment(anyLong(), anyBoolean()))
+                .thenAnswer(invocation -> Optional.of(payment(invocation.getArgument(0))));
+        PaymentGatewayRegistry registry = new PaymentGatewayRegistry(
+                List.of(new CreditCardPaymentStrategy(Duration.ZERO, 0), paypal,
+                        new StripePaymentStrategy(Duration.ZERO, 0)),
+                new SimpleMeterRegistry(), creditCardPool, paypalPool, stripePool,
+                Duration.ofSeconds(10), Duration.ofMillis(50), Duration.ofSeconds(10),
+                100, Duration.ofSeconds(30));
+        processor = new AsyncPaymentProcessor(paymentService, paymentRepository, registry, Runnable::run,
+                Duration.ofMinutes(15));
+    }
+
+    @AfterEach
+    void shutDown() {
+        paypal.release.countDown();
+        creditCardPool.shutdown();
+        paypalPool.shutdown();
+        stripePool.shutdown();
+    }
+
+    @Test
+    void stripePaymentsCompleteWhilePaypalIsBlocked() {
+        // One PayPal call running and one queued fill its pool
+        processor.onPaymentAccepted(accepted(1L, PaymentMethod.PAYPAL));
+        processor.onPaymentAccepted(accepted(2L, PaymentMethod.PAYPAL));
+        awaitActive(paypalPool);
+        assertThrows(GatewayBusyException.class, () -> processor.accept(9L, PaymentMethod.PAYPAL, 10));
+
+        for (long id = 10; id < 30; id++) {
+            processor.onPaymentAccepted(accepted(id, PaymentMethod.STRIPE));
+        }
+        for (long id = 10; id < 30; id++) {
+            verify(paymentService, timeout(WAIT_MS)).completeAcceptedPayment(id, true);
+        }
+        verify(paymentService, never()).completeAcceptedPayment(eq(1L), anyBoolean());
+        verify(paymentService, never()).completeAcceptedPayment(eq(2L), anyBoolean());
+
+        paypal.release.countDown();
+        verify(paymentService, timeout(WAIT_MS)).completeAcceptedPayment(1L, true);
+        verify(paymentService, timeout(WAIT_MS)).completeAcceptedPayment(2L, true);
+    }
+
+    @Test
+    void aCallPastItsTimeoutStillCompletesThePaymentWithItsResult() throws InterruptedException {
+        processor.onPaymentAccepted(accepted(1L, PaymentMethod.PAYPAL));
+        Thread.sleep(200);
+        verify(paymentService, never()).completeAcceptedPayment(anyLong(), anyBoolean());
+
+        paypal.release.countDown();
+        verify(paymentService, timeout(WAIT_MS)).completeAcceptedPayment(1L, true);
+        verify(paymentService, timeout(WAIT_MS)).announcePaymentOutcome(any(Payment.class), eq(USER_ID));
+    }
+
+    @Test
+    void aResultArrivingAfterTheSweepFailedThePaymentIsNotAnnounced() {
+        processor.onPaymentAccepted(accepted(1L, PaymentMethod.PAYPAL));
+        // The sweep got there first, so the call's result no longer completes anything
+        when(paymentService.completeAcceptedPayment(1L, true)).thenReturn(Optional.empty());
+
+        paypal.release.countDown();
+        verify(paymentService, timeout(WAIT_MS)).completeAcceptedPayment(1L, true);
+        verify(paymentService, never()).announcePaymentOutcome(any(), any());
+    }
+
+    @Test
+    void sweepKeepsInFlightPaymentsAliveAndFailsAbandonedOnes() {
+        processor.onPaymentAccepted(accepted(1L, PaymentMethod.PAYPAL));
+        awaitActive(paypalPool);
+        when(paymentRepository.findStalePending(any(), any())).thenReturn(List.of(payment(5L)));
+
+        processor.failStalePayments();
+
+        verify(paymentRepository).touchProcessing(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(paymentService).completeAcceptedPayment(5L, false);
+        verify(paymentService, never()).completeAcceptedPayment(eq(1L), anyBoolean());
+
+        // Once the call has returned its payment is no longer marked alive
+        paypal.release.countDown();
+        verify(paymentService, timeout(WAIT_MS)).completeAcceptedPayment(1L, true);
+        processor.failStalePayments();
+        verify(paymentRepository, times(1)).touchProcessing(any(), any());
+    }
+
+    private static PaymentAcceptedEvent accepted(long paymentId, PaymentMethod method) {
+        return new PaymentAcceptedEvent(paymentId, USER_ID, method, 10);
+    }
+
+    private static Payment payment(long id) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setStatus(PaymentStatus.SUCCESS);
+        payment.setTransactionDate(LocalDateTime.now().minusHours(1));
+        return payment;
+    }
+
+    private static void awaitActive(ThreadPoolTaskExecutor pool) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (pool.getActiveCount() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor pool(int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    /** PayPal stand-in whose calls block until released */
+    private static final class BlockingPaypal implements PaymentStrategy {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public PaymentMethod method() {
+            return PaymentMethod.PAYPAL;
+        }
+
+        @Override
+        public boolean processPayment(double amount) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+    }
+}
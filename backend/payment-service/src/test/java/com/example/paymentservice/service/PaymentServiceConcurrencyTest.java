@@ -0,0 +1,147 @@
+package com.example.paymentservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.paymentservice.cache.UserBookingIdsCache;
+import com.example.paymentservice.client.BookingClient;
+import com.example.paymentservice.client.NotificationClient;
+import com.example.paymentservice.dto.booking.BookingDTO;
+import com.example.paymentservice.entity.BookingBalance;
+import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.gateway.PaymentGatewayRegistry;
+import com.example.paymentservice.repository.BookingBalanceRepository;
+import com.example.paymentservice.repository.PaymentRepository;
+
+/**
+ * Pays one booking from two threads against an H2 database in MySQL mode,
+ * so the balance's version check is the real one. Each test commits, hence
+ * no test transaction around it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:payment;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentServiceConcurrencyTest {
+
+    private static final Long BOOKING_ID = 7L;
+    private static final double TOTAL_DUE = 100.0;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private BookingBalanceRepository balanceRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentService paymentService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        BookingClient bookingClient = mock(BookingClient.class);
+        when(bookingClient.getBookingById(BOOKING_ID)).thenReturn(Optional.of(booking()));
+        paymentService = new PaymentService(paymentRepository, balanceRepository, bookingClient,
+                mock(NotificationClient.class), mock(UserBookingIdsCache.class),
+                mock(ApplicationEventPublisher.class), mock(PaymentGatewayRegistry.class));
+        executor = Executors.newFixedThreadPool(2);
+        balanceRepository.save(new BookingBalance(BOOKING_ID, TOTAL_DUE, 0.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        paymentRepository.deleteAll();
+        balanceRepository.deleteAll();
+    }
+
+    @Test
+    void twoPartialPaymentsReadingTheSameBalanceCannotBothClaimIt() throws Exception {
+        // Each thread reads the balance before either writes, so both pass the remaining-amount check
+        CyclicBarrier bothRead = new CyclicBarrier(2);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Future<Payment>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> transaction.execute(status -> {
+                BookingBalance balance = balanceRepository.findById(BOOKING_ID).orElseThrow();
+                assertEquals(TOTAL_DUE, balance.getRemaining());
+                await(bothRead);
+                return paymentService.acceptPayment(BOOKING_ID, PaymentMethod.STRIPE, 60.0);
+            })));
+        }
+
+        int accepted = 0;
+        for (Future<Payment> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                accepted++;
+            } catch (ExecutionException e) {
+                IllegalStateException conflict = assertInstanceOf(IllegalStateException.class, e.getCause());
+                assertInstanceOf(OptimisticLockingFailureException.class, conflict.getCause());
+            }
+        }
+
+        assertEquals(1, accepted);
+        assertEquals(60.0, balanceRepository.findById(BOOKING_ID).orElseThrow().getTotalPaid());
+        assertEquals(1, paymentRepository.findByBookingId(BOOKING_ID).size());
+    }
+
+    @Test
+    void aPaymentAfterTheFirstCommitsSeesTheReducedBalance() {
+        paymentService.acceptPayment(BOOKING_ID, PaymentMethod.STRIPE, 60.0);
+
+        IllegalArgumentException tooMuch = assertThrows(IllegalArgumentException.class,
+                () -> paymentService.acceptPayment(BOOKING_ID, PaymentMethod.STRIPE, 60.0));
+
+        assertEquals("Payment exceeds remaining balance. Remaining amount: 40.0", tooMuch.getMessage());
+        assertEquals(60.0, balanceRepository.findById(BOOKING_ID).orElseThrow().getTotalPaid());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BookingDTO booking() {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(BOOKING_ID);
+        booking.setUserId(3L);
+        booking.setTotalAmount(TOTAL_DUE);
+        return booking;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.paymentservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.example.paymentservice.cache.UserBookingIdsCache;
+import com.example.paymentservice.client.BookingClient;
+import com.example.paymentservice.client.NotificationClient;
+import com.example.paymentservice.dto.booking.BookingDTO;
+import com.example.paymentservice.entity.BookingBalance;
+import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.entity.PaymentMethod;
+import com.example.paymentservice.entity.PaymentStatus;
+import com.example.paymentservice.gateway.PaymentGateway;
+import com.example.paymentservice.gateway.PaymentGatewayRegistry;
+import com.example.paymentservice.repository.BookingBalanceRepository;
+import com.example.paymentservice.repository.PaymentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    private static final long BOOKING_ID = 7L;
+    private static final long USER_ID = 3L;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private BookingBalanceRepository balanceRepository;
+    @Mock
+    private BookingClient bookingClient;
+    @Mock
+    private NotificationClient notificationClient;
+    @Mock
+    private UserBookingIdsCache userBookingIdsCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PaymentGatewayRegistry gatewayRegistry;
+    @Mock
+    private PaymentGateway gateway;
+
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentService(paymentRepository, balanceRepository, bookingClient,
+                notificationClient, userBookingIdsCache, eventPublisher, gatewayRegistry);
+        when(bookingClient.getBookingById(BOOKING_ID)).thenReturn(Optional.of(booking()));
+        when(gatewayRegistry.get(PaymentMethod.STRIPE)).thenReturn(gateway);
+        when(gateway.charge(anyDouble())).thenReturn(true);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            if (payment.getId() == null) {
+                payment.setId(11L);
+            }
+            return payment;
+        });
+        when(balanceRepository.saveAndFlush(any(BookingBalance.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createAndProcessPaymentLooksUpTheBookingOnce() {
+        when(balanceRepository.findById(BOOKING_ID)).thenReturn(Optional.empty());
+        when(paymentRepository.findTotalPaidAmountByBookingId(BOOKING_ID)).thenReturn(Optional.of(0.0));
+
+        Payment payment = paymentService.createAndProcessPayment(BOOKING_ID, PaymentMethod.STRIPE, 100.0);
+
+        assertEquals(PaymentStatus.SUCCESS, payment.getStatus());
+        verify(bookingClient, times(1)).getBookingById(anyLong());
+        verify(notificationClient).sendNotification(USER_ID, "Your payment of $100.0 was SUCCESS");
+        verify(bookingClient).updateBookingStatus(BOOKING_ID, "CONFIRMED");
+    }
+
+    private static BookingDTO booking() {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(BOOKING_ID);
+        booking.setUserId(USER_ID);
+        booking.setTotalAmount(100.0);
+        return booking;
+    }
+}
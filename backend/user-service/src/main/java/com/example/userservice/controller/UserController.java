@@ -134,6 +134,20 @@ public class UserController {
         }
     }
 
+    // ---------------- Get Users by IDs ----------------
+    @PostMapping("/batch")
+    public ResponseEntity<CustomResponse<List<UserResponseDTO>>> getUsersByIds(@RequestBody List<Long> ids) {
+        try {
+            List<UserResponseDTO> dtos = userService.getUsersByIds(ids).stream()
+                    .map(UserResponseDTO::fromEntity)
+                    .toList();
+            return ResponseEntity.ok(new CustomResponse<>("Users retrieved successfully", dtos));
+        } catch (InvalidUserException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(ex.getMessage(), null));
+        }
+    }
+
     // ---------------- Get User by Email ----------------
     @GetMapping("/by-email/{email}")
     public ResponseEntity<CustomResponse<UserResponseDTO>> getUserByEmail(@PathVariable String email) {
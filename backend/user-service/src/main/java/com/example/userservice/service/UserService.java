@@ -1,5 +1,6 @@
 package com.example.userservice.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,8 @@ import com.example.userservice.repository.UserRepository;
 @Service
 public class UserService {
 
+    private static final int MAX_BATCH_USERS = 500;
+
     private final UserRepository userRepository;
     private final String baseUrl;
     private final EmailClient emailClient;
@@ -133,6 +136,17 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID " + id));
     }
 
+    /** Users with the given IDs, in one query; unknown IDs are skipped */
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty())
+            return List.of();
+        if (ids.size() > MAX_BATCH_USERS)
+            throw new InvalidUserException("At most " + MAX_BATCH_USERS + " users can be fetched at once.");
+        if (ids.contains(null))
+            throw new InvalidUserException("User ID cannot be null.");
+        return userRepository.findAllById(ids);
+    }
+
     public User getUserByEmail(String email) {
         if (email == null || email.isBlank())
             throw new InvalidUserException("Email cannot be null or empty.");
@@ -13,7 +13,7 @@ const HotelDetailsPage = () => {
     ? Number(sessionStorage.getItem("userId"))
     : null;
 
-  const { loading, hotel, reviews, userInfo, setReviews, setUserInfo } = useHotelData(hotelId);
+  const { loading, hotel, reviews, ratingSummary, userInfo, setReviews, setUserInfo } = useHotelData(hotelId);
   const { isBookmarked, canBookmark, toggleBookmark } = useBookmark(currentUserId, hotel?.id || null);
 
   const {
@@ -44,6 +44,7 @@ const HotelDetailsPage = () => {
       <HotelDetails
         hotel={hotel}
         reviews={reviews}
+        ratingSummary={ratingSummary}
         userInfo={userInfo}
         formatToAMPM={formatToAMPM}
         renderStars={renderStars}
@@ -26,7 +26,7 @@ export const ImageUploader: React.FC<Props> = ({ imagePreview, onChange }) => {
       />
       {imagePreview && (
         <img
-          src={imagePreview.startsWith('data:') ? imagePreview : `data:image/jpeg;base64,${imagePreview}`}
+          src={imagePreview}
           alt="Preview"
           className="w-32 h-32 object-cover rounded-lg mt-2"
         />
@@ -2,6 +2,7 @@ import React, { useState } from "react";
 import { FaBookmark, FaRegBookmark } from "react-icons/fa";
 import { HotelData } from "../../types/Hotels";
 import { useBookmark } from "../../hooks";
+import { resolveHotelImageUrl } from "../../utils/hotelUtils";
 
 interface HotelCardProps {
   hotel: HotelData;
@@ -42,7 +43,7 @@ const HotelCard: React.FC<HotelCardProps> = ({ hotel, layout = "grid", hovered =
         }`}
       >
         <img
-          src={hotel.image ? `data:image/jpeg;base64,${hotel.image}` : defaultImage}
+          src={resolveHotelImageUrl(hotel.imageUrl, "card") ?? defaultImage}
           alt={hotel.name}
           className="w-full h-full object-cover transition-transform duration-500 group-hover:scale-110"
         />
@@ -2,13 +2,15 @@ import React from "react";
 import { FaBookmark, FaRegBookmark } from "react-icons/fa";
 import { useNavigate } from "react-router-dom";
 import { HotelData } from "../../types/Hotels";
-import { Review } from "../../types/Review";
+import { RatingSummary, Review } from "../../types/Review";
 import { formatPhoneNumber } from "../../utils/formatPhoneNumber";
+import { resolveHotelImageUrl } from "../../utils/hotelUtils";
 import { GradientButton } from "../Button";
 
 type HotelDetailsProps = {
   hotel: HotelData | null;
   reviews: Review[];
+  ratingSummary: RatingSummary | null;
   userInfo: { [key: string]: { firstName: string; lastName: string } };
   formatToAMPM: (timeString: string) => string;
   renderStars: (rating: number) => React.ReactNode;
@@ -23,6 +25,7 @@ type HotelDetailsProps = {
 const HotelDetails: React.FC<HotelDetailsProps> = ({
   hotel,
   reviews,
+  ratingSummary,
   userInfo,
   formatToAMPM,
   renderStars,
@@ -48,7 +51,7 @@ const HotelDetails: React.FC<HotelDetailsProps> = ({
       {/* Hero */}
       <div className="relative h-[450px] w-full rounded-b-2xl overflow-hidden">
         <img
-          src={hotel.image ? `data:image/jpeg;base64,${hotel.image}` : defaultImage}
+          src={resolveHotelImageUrl(hotel.imageUrl, "full") ?? defaultImage}
           alt={hotel.name}
           className="w-full h-full object-cover"
         />
@@ -115,7 +118,14 @@ const HotelDetails: React.FC<HotelDetailsProps> = ({
           {/* Reviews */}
           <div className="bg-white rounded-2xl shadow-sm p-6 hover:shadow-md transition">
             <div className="flex justify-between items-center mb-4">
-              <h2 className="text-2xl font-semibold">Reviews</h2>
+              <div className="flex items-center gap-3">
+                <h2 className="text-2xl font-semibold">Reviews</h2>
+                {ratingSummary && ratingSummary.reviewCount > 0 && (
+                  <span className="text-sm text-gray-600">
+                    {ratingSummary.averageRating.toFixed(1)} / 5 ({ratingSummary.reviewCount})
+                  </span>
+                )}
+              </div>
               {userId && (
                 <GradientButton
                   onClick={() => setIsReviewModalOpen(true)}
@@ -1,6 +1,7 @@
 import React from "react";
 import { MapContainer, TileLayer, Marker, Popup, Tooltip } from "react-leaflet";
 import { HotelData } from "../../types/Hotels";
+import { resolveHotelImageUrl } from "../../utils/hotelUtils";
 import L from "leaflet";
 import "leaflet/dist/leaflet.css";
 
@@ -61,9 +62,8 @@ const MapSection: React.FC<MapSectionProps> = ({ hotels, hoveredHotelId }) => {
                     <div className="relative h-28 rounded-xl overflow-hidden">
                       <img
                         src={
-                          hotel.image
-                            ? `data:image/jpeg;base64,${hotel.image}`
-                            : "https://archive.org/download/placeholder-image/placeholder-image.jpg"
+                          resolveHotelImageUrl(hotel.imageUrl, "thumbnail") ??
+                          "https://archive.org/download/placeholder-image/placeholder-image.jpg"
                         }
                         alt={hotel.name}
                         className="w-full h-full object-cover"
@@ -1,4 +1,5 @@
 import { HotelData } from "../../types/Hotels";
+import { resolveHotelImageUrl } from "../../utils/hotelUtils";
 
 interface HotelListPanelProps {
   hotels: HotelData[];
@@ -43,7 +44,7 @@ const HotelListPanel: React.FC<HotelListPanelProps> = ({
           >
             <div className="h-48 w-full overflow-hidden">
               <img
-                src={hotel.image ? `data:image/jpeg;base64,${hotel.image}` : defaultImage}
+                src={resolveHotelImageUrl(hotel.imageUrl, "card") ?? defaultImage}
                 alt={hotel.name}
                 className="w-full h-full object-cover group-hover:scale-105 transition duration-500"
               />
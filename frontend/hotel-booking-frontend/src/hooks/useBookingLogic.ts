@@ -5,11 +5,6 @@ import { roomApi } from "../services/Hotel";
 import { Booking } from "../types/Booking";
 import { Room } from "../types/Room";
 
-type BookingSearchResult = {
-  hotelId: number;
-  roomId: number;
-};
-
 const mapRoomResponse = (room: any): Room => ({
   room_type: room.room_type || room.roomType || "Unknown",
   id: { hotelId: room.hotelId ?? room.id?.hotelId, roomId: room.roomId ?? room.id?.roomId },
@@ -18,16 +13,6 @@ const mapRoomResponse = (room: any): Room => ({
   status: room.status ?? "AVAILABLE",
 });
 
-const getBookedRoomIdSet = (bookings: BookingSearchResult[], hotelId: number): Set<number> => {
-  const bookedRoomIds = new Set<number>();
-  for (const booking of bookings) {
-    if (booking.hotelId === hotelId) {
-      bookedRoomIds.add(booking.roomId);
-    }
-  }
-  return bookedRoomIds;
-};
-
 const getStayNights = (checkInDate: string, checkOutDate: string): number => {
   return Math.max(
     1,
@@ -128,12 +113,15 @@ export const useBookingLogic = (
       if (!checkInDate || !checkOutDate || allRooms.length === 0) return;
 
       try {
-        const bookings: BookingSearchResult[] = await bookingApi.searchBookingsByDate(
-          checkInDate,
-          checkOutDate
-        );
-        const bookedRoomIds = getBookedRoomIdSet(bookings, hotelId);
-        const available = allRooms.filter((room) => !bookedRoomIds.has(room.id.roomId));
+        const [result] = await bookingApi.checkAvailabilityBatch([
+          {
+            hotelId,
+            roomIds: allRooms.map((room) => room.id.roomId),
+            checkIn: checkInDate,
+            checkOut: checkOutDate,
+          },
+        ]);
+        const available = allRooms.filter((room) => result?.rooms[room.id.roomId] === true);
         setAvailableRooms(available);
       } catch {
         setAvailableRooms(allRooms);
@@ -19,11 +19,11 @@ export const useFeaturedHotels = (): UseFeaturedHotelsReturn => {
         setLoading(true);
         setError(null);
 
-        const allHotels = await hotelApi.fetchHotels();
-        const sortedHotels = [...allHotels].sort((a, b) => b.averageRating - a.averageRating);
-        const topHotels = sortedHotels.slice(0, 4);
+        const { items } = await hotelApi.fetchHotels({ sort: "rating", limit: 4, fields: "id" });
+        const topHotels = items.length > 0 ? await hotelApi.fetchHotelsByIds(items.map((hotel) => hotel.id)) : [];
+        const rank = new Map(items.map((hotel, index) => [hotel.id, index]));
 
-        setHotels(topHotels);
+        setHotels([...topHotels].sort((a, b) => (rank.get(a.id) ?? 0) - (rank.get(b.id) ?? 0)));
       } catch (err) {
         console.error(err);
         setError("Failed to load featured hotels");
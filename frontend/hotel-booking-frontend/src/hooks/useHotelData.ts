@@ -2,23 +2,28 @@ import { useEffect, useState } from "react";
 import { hotelApi, ratingApi } from "../services/Hotel";
 import { userApi } from "../services/User";
 import { HotelData } from "../types/Hotels";
-import { Review } from "../types/Review";
+import { RatingSummary, Review } from "../types/Review";
 
 export const useHotelData = (hotelId: number) => {
   const [loading, setLoading] = useState(true);
   const [hotel, setHotel] = useState<HotelData | null>(null);
   const [reviews, setReviews] = useState<Review[]>([]);
+  const [ratingSummary, setRatingSummary] = useState<RatingSummary | null>(null);
   const [userInfo, setUserInfo] = useState<Record<number, { firstName: string; lastName: string }>>({});
 
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [hotelData, reviewsData] = await Promise.all([
+        const [hotelData, summary] = await Promise.all([
           hotelApi.fetchHotelById(hotelId),
-          ratingApi.getReviewsForHotel(hotelId),
+          ratingApi.getRatingSummaryForHotel(hotelId),
         ]);
 
         setHotel(hotelData);
+        setRatingSummary(summary ?? null);
+
+        // The summary carries the average and count; the reviews are only needed to list them
+        const reviewsData = summary?.reviewCount ? await ratingApi.getReviewsForHotel(hotelId) : [];
         setReviews(reviewsData);
 
         // Fetch unique users only
@@ -49,6 +54,7 @@ export const useHotelData = (hotelId: number) => {
     loading,
     hotel,
     reviews,
+    ratingSummary,
     userInfo,
     setReviews,
     setUserInfo,
@@ -1,6 +1,7 @@
 import { useEffect, useRef, useState } from 'react';
 import { RoomRequestDTO } from '../types/Room';
 import { OPEN_CAGE_API_KEY } from '../constants/constants';
+import { resolveHotelImageUrl } from '../utils/hotelUtils';
 
 export const useHotelForm = (hotelId?: number, hotelData?: any) => {
   const [name, setName] = useState('');
@@ -86,7 +87,7 @@ export const useHotelForm = (hotelId?: number, hotelData?: any) => {
     setCountry(hotelData.country || '');
     setLatitude(hotelData.latitude || 0);
     setLongitude(hotelData.longitude || 0);
-    setImagePreview(hotelData.image || '');
+    setImagePreview(resolveHotelImageUrl(hotelData.imageUrl) ?? '');
     
     // Extract HH:mm from hh:mm:ss
     if (hotelData.checkIn) setCheckIn(hotelData.checkIn.slice(0,5));
@@ -1,22 +1,38 @@
 import { useEffect, useState } from "react";
 import { bookingApi } from "../services/Booking";
 import { hotelApi } from "../services/Hotel";
+import { AvailabilityResult } from "../types/Booking";
 import { Destination, HotelData } from "../types/Hotels";
 
-type BookingRoomRef = {
-  hotelId: number;
-  roomId: number;
-};
+// Matches the booking-service limit on queries per batch request
+const AVAILABILITY_BATCH_SIZE = 200;
+
+const fetchAvailability = async (
+  hotels: HotelData[],
+  checkIn: string,
+  checkOut: string
+): Promise<AvailabilityResult[]> => {
+  const queries = hotels
+    .filter((hotel) => hotel.rooms.length > 0)
+    .map((hotel) => ({
+      hotelId: hotel.id,
+      roomIds: hotel.rooms.map((room) => room.id.roomId),
+      checkIn,
+      checkOut,
+    }));
 
-const buildBookedRoomSet = (bookings: BookingRoomRef[]): Set<string> => {
-  return new Set(bookings.map((booking) => `${booking.hotelId}-${booking.roomId}`));
+  const batches: Promise<AvailabilityResult[]>[] = [];
+  for (let i = 0; i < queries.length; i += AVAILABILITY_BATCH_SIZE) {
+    batches.push(bookingApi.checkAvailabilityBatch(queries.slice(i, i + AVAILABILITY_BATCH_SIZE)));
+  }
+  return (await Promise.all(batches)).flat();
 };
 
-const filterHotelsByAvailability = (allHotels: HotelData[], bookedSet: Set<string>): HotelData[] => {
+const filterHotelsByAvailability = (allHotels: HotelData[], results: AvailabilityResult[]): HotelData[] => {
+  const roomsByHotel = new Map(results.map((result) => [result.hotelId, result.rooms]));
   const hotelsWithAvailableRooms = allHotels.map((hotel) => {
-    const availableRooms = hotel.rooms.filter(
-      (room) => !bookedSet.has(`${hotel.id}-${room.id.roomId}`)
-    );
+    const rooms = roomsByHotel.get(hotel.id);
+    const availableRooms = hotel.rooms.filter((room) => rooms?.[room.id.roomId] === true);
     return { ...hotel, rooms: availableRooms };
   });
 
@@ -32,9 +48,8 @@ const fetchHotelsForSearch = async (
   const allHotels = await hotelApi.searchHotelsByLocation(city, country);
   if (!checkIn || !checkOut) return allHotels;
 
-  const bookings: BookingRoomRef[] = await bookingApi.searchBookingsByDate(checkIn, checkOut);
-  const bookedSet = buildBookedRoomSet(bookings);
-  return filterHotelsByAvailability(allHotels, bookedSet);
+  const availability = await fetchAvailability(allHotels, checkIn, checkOut);
+  return filterHotelsByAvailability(allHotels, availability);
 };
 
 export const useSearchResults = (
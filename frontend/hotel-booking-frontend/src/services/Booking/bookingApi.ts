@@ -1,8 +1,26 @@
-import { Booking, DetailedBooking } from "../../types/Booking";
+import { AvailabilityQuery, AvailabilityResult, Booking, BookingPage, DetailedBooking } from "../../types/Booking";
 import { bookingApiClient } from "./bookingApiClient";
 import { handleApiError } from "../../utils/handleApiError";
 
 const BOOKING_BASE = "/bookings";
+// Largest page the booking listings serve
+const BOOKING_PAGE_SIZE = 200;
+
+/**
+ * Collect every page of a booking listing by following nextCursor
+ */
+const fetchAllPages = async (url: string, params: Record<string, string> = {}): Promise<DetailedBooking[]> => {
+  const bookings: DetailedBooking[] = [];
+  let cursor: string | null = null;
+  do {
+    const response: { data: BookingPage } = await bookingApiClient.get<BookingPage>(url, {
+      params: { ...params, limit: BOOKING_PAGE_SIZE, ...(cursor ? { cursor } : {}) },
+    });
+    bookings.push(...(response.data?.data ?? []));
+    cursor = response.data?.nextCursor ?? null;
+  } while (cursor);
+  return bookings;
+};
 
 const bookingApi = {
   /**
@@ -23,12 +41,11 @@ const bookingApi = {
   },
 
   /**
-   * Fetch all bookings
+   * Fetch all bookings, page by page
    */
   fetchBookings: async (): Promise<DetailedBooking[]> => {
     try {
-      const response = await bookingApiClient.get(BOOKING_BASE);
-      return response.data?.data ?? [];
+      return await fetchAllPages(BOOKING_BASE);
     } catch (err: any) {
       throw new Error(handleApiError(err));
     }
@@ -102,14 +119,11 @@ const bookingApi = {
   },
 
   /**
-   * Search bookings by date range
+   * Search bookings by date range, page by page
    */
   searchBookingsByDate: async (startDate: string, endDate: string): Promise<DetailedBooking[]> => {
     try {
-      const response = await bookingApiClient.get(`${BOOKING_BASE}/search/date`, {
-        params: { startDate, endDate },
-      });
-      return response.data?.data ?? [];
+      return await fetchAllPages(`${BOOKING_BASE}/search/date`, { startDate, endDate });
     } catch (err: any) {
       throw new Error(handleApiError(err));
     }
@@ -128,6 +142,18 @@ const bookingApi = {
       throw new Error(handleApiError(err));
     }
   },
+
+  /**
+   * Check availability of many rooms across hotels in one request
+   */
+  checkAvailabilityBatch: async (queries: AvailabilityQuery[]): Promise<AvailabilityResult[]> => {
+    try {
+      const response = await bookingApiClient.post(`${BOOKING_BASE}/availability/batch`, queries);
+      return response.data?.data ?? [];
+    } catch (err: any) {
+      throw new Error(handleApiError(err));
+    }
+  },
 };
 
 export default bookingApi;
\ No newline at end of file
@@ -1,4 +1,4 @@
-import { Destination, HotelData } from "../../types/Hotels";
+import { Destination, HotelData, HotelPage, HotelPageParams } from "../../types/Hotels";
 import { hotelApiClient } from "./hotelApiClient";
 import { handleApiError } from "../../utils/handleApiError";
 
@@ -25,12 +25,12 @@ const hotelApi = {
   },
 
   /**
-   * Fetch all hotels
+   * Fetch one page of hotels; pass the returned nextCursor to get the next page
    */
-  fetchHotels: async (): Promise<HotelData[]> => {
+  fetchHotels: async (params: HotelPageParams = {}): Promise<HotelPage> => {
     try {
-      const response = await hotelApiClient.get(HOTEL_BASE);
-      return response.data?.data ?? [];
+      const response = await hotelApiClient.get(HOTEL_BASE, { params });
+      return response.data?.data ?? { items: [], nextCursor: null };
     } catch (err: any) {
       throw new Error(handleApiError(err));
     }
@@ -1,4 +1,4 @@
-import { Review } from "../../types/Review";
+import { RatingSummary, Review } from "../../types/Review";
 import { hotelApiClient } from "./hotelApiClient";
 import { handleApiError } from "../../utils/handleApiError";
 
@@ -60,6 +60,15 @@ const ratingApi = {
       throw new Error(handleApiError(err));
     }
   },
+
+  getRatingSummaryForHotel: async (hotelId: number): Promise<RatingSummary> => {
+    try {
+      const response = await hotelApiClient.get(`${REVIEW_BASE}/hotel/${hotelId}/summary`);
+      return response.data?.data;
+    } catch (err: any) {
+      throw new Error(handleApiError(err));
+    }
+  },
 };
 
 export default ratingApi;
\ No newline at end of file
@@ -4,6 +4,8 @@ import { getDataOrDefault, getDataOrThrow } from "../_core/response";
 import { paymentApiClient } from "./paymentApiClient";
 
 const PAYMENT_BASE = "/payments";
+// Largest page the payment listings serve
+const PAYMENT_PAGE_SIZE = 500;
 
 const mapPayment = (p: any): Payment => ({
   id: p.paymentId,
@@ -67,16 +69,22 @@ const paymentApi = {
   },
 
   /**
-   * Get payments by user ID
+   * Get all payments of a user, following nextCursor through every page
    */
   getPaymentsByUserId: async (userId: number): Promise<Payment[]> => {
     try {
-      const response = await paymentApiClient.get(
-        `${PAYMENT_BASE}/user/${userId}`
-      );
+      const payments: Payment[] = [];
+      let cursor: string | null = null;
+      do {
+        const response: { data: { data?: any[]; nextCursor?: string | null } } = await paymentApiClient.get(
+          `${PAYMENT_BASE}/user/${userId}`,
+          { params: { limit: PAYMENT_PAGE_SIZE, ...(cursor ? { cursor } : {}) } }
+        );
 
-      const data = getDataOrDefault<any[]>(response.data, []);
-      return data.map(mapPayment);
+        payments.push(...getDataOrDefault<any[]>(response.data, []).map(mapPayment));
+        cursor = response.data?.nextCursor ?? null;
+      } while (cursor);
+      return payments;
     } catch (error) {
       throw toApiError(error);
     }
@@ -7,6 +7,20 @@ export interface Booking {
   totalAmount: number;
 }
 
+export interface AvailabilityQuery {
+  hotelId: number;
+  roomIds: number[];
+  checkIn: string;
+  checkOut: string;
+}
+
+export interface AvailabilityResult {
+  hotelId: number;
+  checkIn: string;
+  checkOut: string;
+  rooms: Record<number, boolean>;
+}
+
 export interface DetailedBooking {
     id: number;
     bookingId: number;
@@ -26,6 +40,12 @@ export interface DetailedBooking {
     hotelCheckOutTime: string;
 }
 
+// One page of the booking listings; nextCursor is null on the last page
+export interface BookingPage {
+  data: DetailedBooking[];
+  nextCursor: string | null;
+}
+
 export interface BookingCardData {
   bookingId: number;
   roomType: string;
@@ -24,7 +24,9 @@ export interface SearchFilters {
     description: string;
     contact: string;
     averageRating: number;
-    image?: string;
+    reviewCount?: number;
+    imageUrl?: string;
+    imageHash?: string;
     rooms: Room[];
     checkIn: string;
     checkOut: string;
@@ -34,9 +36,22 @@ export interface SearchFilters {
     maxPrice?: number;
 }
 
+// Listing items carry only the requested fields, and never description or rooms
+export interface HotelPage {
+  items: HotelData[];
+  nextCursor: string | null;
+}
+
+export interface HotelPageParams {
+  cursor?: string;
+  limit?: number;
+  sort?: "id" | "price" | "rating";
+  fields?: string;
+}
+
 export interface Destination {
   city: string;
   country: string;
   count: number;
-  imageBase64?: string;
+  imageUrl?: string;
 }
\ No newline at end of file
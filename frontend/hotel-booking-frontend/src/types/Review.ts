@@ -5,4 +5,11 @@ export interface Review {
     comment: string;
     created: string;
     rating: number;
-  }
\ No newline at end of file
+  }
+
+export interface RatingSummary {
+    hotelId: number;
+    averageRating: number;
+    reviewCount: number;
+    histogram: Record<number, number>;
+  }
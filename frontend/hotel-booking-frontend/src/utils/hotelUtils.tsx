@@ -1,4 +1,14 @@
 import { FaStar } from "react-icons/fa";
+import { HOTEL_BASE_URL } from "../constants/constants";
+
+export type ImageSize = "thumbnail" | "card" | "full" | "original";
+
+export const resolveHotelImageUrl = (imageUrl?: string, size: ImageSize = "original") => {
+  if (!imageUrl) return undefined;
+  if (size === "original") return `${HOTEL_BASE_URL}${imageUrl}`;
+  const separator = imageUrl.includes("?") ? "&" : "?";
+  return `${HOTEL_BASE_URL}${imageUrl}${separator}size=${size}`;
+};
 
 export const formatToAMPM = (time: string) => {
   const [h, m] = time.split(":").map(Number);